@@ -3,6 +3,7 @@ package saf.cgmaig.conceptmanagement;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.cloud.openfeign.EnableFeignClients;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 /**
  * Concept Management Service - Aplicación principal
@@ -20,6 +21,7 @@ import org.springframework.cloud.openfeign.EnableFeignClients;
  */
 @SpringBootApplication
 @EnableFeignClients
+@EnableScheduling
 public class ConceptManagementApplication {
 
     public static void main(String[] args) {
@@ -0,0 +1,35 @@
+package saf.cgmaig.conceptmanagement.actuator;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.stereotype.Component;
+import saf.cgmaig.conceptmanagement.service.ConceptStatisticsService;
+
+import java.util.Map;
+
+/**
+ * Endpoint actuator /actuator/concept-stats
+ *
+ * Expone los contadores de conceptos por área y estado.
+ */
+@Component
+@Endpoint(id = "concept-stats")
+public class ConceptStatsEndpoint {
+
+    private final ConceptStatisticsService conceptStatisticsService;
+
+    public ConceptStatsEndpoint(ConceptStatisticsService conceptStatisticsService) {
+        this.conceptStatisticsService = conceptStatisticsService;
+    }
+
+    @ReadOperation
+    public Map<String, Map<String, Long>> statusCounts() {
+        return conceptStatisticsService.getStatusCounts();
+    }
+
+    @ReadOperation
+    public Map<String, Long> statusCountsByArea(@Selector String area) {
+        return conceptStatisticsService.getStatusCountsByArea(area);
+    }
+}
@@ -12,7 +12,7 @@ import java.util.List;
  * Permite consultar conceptos técnicos base que servirán como
  * punto de partida para crear conceptos específicos por áreas.
  */
-@FeignClient(name = "technical-concept-service")
+@FeignClient(name = "technical-concept-service", configuration = TechnicalConceptClientConfig.class)
 public interface TechnicalConceptClient {
 
     /**
@@ -46,6 +46,33 @@ public interface TechnicalConceptClient {
     @GetMapping("/api/concepts/base")
     List<TechnicalConceptDto> getAllBaseConcepts();
 
+    /**
+     * Feed de cambios de conceptos técnicos a partir de un cursor
+     * (null para comenzar desde el inicio)
+     */
+    @GetMapping("/internal/concepts/changes")
+    ConceptChangePage getConceptChanges(@RequestParam(value = "since", required = false) String since,
+                                        @RequestParam("limit") int limit);
+
+    /**
+     * Página del feed de cambios
+     */
+    record ConceptChangePage(
+        List<ConceptChange> changes,
+        String nextCursor,
+        boolean hasMore
+    ) {}
+
+    /**
+     * Cambio de un concepto técnico (CREATED, UPDATED, INACTIVATED, REACTIVATED)
+     */
+    record ConceptChange(
+        Long id,
+        String name,
+        String changeType,
+        String status
+    ) {}
+
     /**
      * DTO para información resumida de concepto técnico
      */
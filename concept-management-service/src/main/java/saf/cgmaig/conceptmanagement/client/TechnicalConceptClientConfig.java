@@ -0,0 +1,32 @@
+package saf.cgmaig.conceptmanagement.client;
+
+import feign.RequestInterceptor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+import saf.cgmaig.conceptmanagement.security.ServiceTokenProvider;
+
+/**
+ * Configuración Feign del cliente de Technical Concept Service
+ *
+ * Propaga el JWT del usuario que originó la petición; la API de conceptos
+ * ya no es anónima. Sin usuario (tareas programadas) se usa el token de
+ * servicio. Sin @Configuration para que solo aplique a este cliente.
+ */
+public class TechnicalConceptClientConfig {
+
+    @Bean
+    public RequestInterceptor technicalConceptAuthorizationInterceptor(ServiceTokenProvider serviceTokenProvider) {
+        return template -> {
+            Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+            String token = authentication instanceof JwtAuthenticationToken jwtAuthentication
+                    ? jwtAuthentication.getToken().getTokenValue()
+                    : serviceTokenProvider.getAccessToken();
+            if (token != null) {
+                template.header(HttpHeaders.AUTHORIZATION, "Bearer " + token);
+            }
+        };
+    }
+}
@@ -1,6 +1,7 @@
 package saf.cgmaig.conceptmanagement.client;
 
 import org.springframework.cloud.openfeign.FeignClient;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import saf.cgmaig.conceptmanagement.client.dto.ValidationRequest;
 import saf.cgmaig.conceptmanagement.client.dto.ValidationResult;
@@ -31,6 +32,17 @@ public interface ValidationServiceClient {
     @GetMapping("/api/templates/{chapterKey}/structure")
     TemplateStructure getTemplateStructure(@PathVariable("chapterKey") String chapterKey);
 
+    /**
+     * Obtener estructura de template con revalidación condicional
+     *
+     * Si el ETag enviado sigue vigente el servicio responde 304 sin cuerpo,
+     * que Feign reporta como FeignException con status 304.
+     */
+    @GetMapping("/api/templates/{chapterKey}/structure")
+    ResponseEntity<TemplateStructure> getTemplateStructureIfChanged(
+            @PathVariable("chapterKey") String chapterKey,
+            @RequestHeader(value = "If-None-Match", required = false) String ifNoneMatch);
+
     /**
      * Obtener todos los templates disponibles
      */
@@ -1,24 +1,40 @@
 package saf.cgmaig.conceptmanagement.controller;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
 import org.springframework.web.bind.annotation.*;
 import saf.cgmaig.conceptmanagement.client.dto.TechnicalConceptDto;
 import saf.cgmaig.conceptmanagement.client.dto.TemplateStructure;
 import saf.cgmaig.conceptmanagement.model.AreaConcept;
+import saf.cgmaig.conceptmanagement.model.ConceptStatus;
 import saf.cgmaig.conceptmanagement.service.AreaConceptCreationRequest;
 import saf.cgmaig.conceptmanagement.service.AreaConceptService;
 import saf.cgmaig.conceptmanagement.service.AreaConceptUpdateRequest;
+import saf.cgmaig.conceptmanagement.service.BulkReviewRequest;
+import saf.cgmaig.conceptmanagement.service.BulkReviewResponse;
+import saf.cgmaig.conceptmanagement.service.ConceptHistoryService;
+import saf.cgmaig.conceptmanagement.service.ConceptStatisticsService;
+import saf.cgmaig.conceptmanagement.service.IdempotencyService;
+import saf.cgmaig.conceptmanagement.service.ReviewQueueService;
 
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 /**
  * Controller para gestión de conceptos específicos por áreas
@@ -34,11 +50,25 @@ import java.util.Map;
 @RequestMapping("/api/area-concepts")
 public class AreaConceptController {
 
+    private static final String VALIDATOR_ROLE_PREFIX = "ROLE_VALIDADOR_TECNICO_";
+
     private final AreaConceptService areaConceptService;
+    private final ReviewQueueService reviewQueueService;
+    private final ConceptStatisticsService conceptStatisticsService;
+    private final ConceptHistoryService conceptHistoryService;
+    private final IdempotencyService idempotencyService;
 
     @Autowired
-    public AreaConceptController(AreaConceptService areaConceptService) {
+    public AreaConceptController(AreaConceptService areaConceptService,
+                                 ReviewQueueService reviewQueueService,
+                                 ConceptStatisticsService conceptStatisticsService,
+                                 ConceptHistoryService conceptHistoryService,
+                                 IdempotencyService idempotencyService) {
         this.areaConceptService = areaConceptService;
+        this.reviewQueueService = reviewQueueService;
+        this.conceptStatisticsService = conceptStatisticsService;
+        this.conceptHistoryService = conceptHistoryService;
+        this.idempotencyService = idempotencyService;
     }
 
     /**
@@ -70,11 +100,14 @@ public class AreaConceptController {
     @PreAuthorize("hasRole('USER_' + #request.area)")
     public ResponseEntity<AreaConcept> createAreaConcept(
             @Valid @RequestBody AreaConceptCreationRequest request,
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey,
             Authentication authentication) {
         
         String createdBy = authentication.getName();
-        AreaConcept createdConcept = areaConceptService.createAreaConcept(request, createdBy);
-        return ResponseEntity.status(HttpStatus.CREATED).body(createdConcept);
+        return idempotencyService.execute(idempotencyKey, "create:" + createdBy, request, () -> {
+            AreaConcept createdConcept = areaConceptService.createAreaConcept(request, createdBy);
+            return ResponseEntity.status(HttpStatus.CREATED).body(createdConcept);
+        });
     }
 
     /**
@@ -86,11 +119,31 @@ public class AreaConceptController {
     public ResponseEntity<AreaConcept> updateAreaConcept(
             @PathVariable Long conceptId,
             @Valid @RequestBody AreaConceptUpdateRequest request,
+            @RequestHeader(value = "If-Match", required = false) String ifMatch,
             Authentication authentication) {
         
         String updatedBy = authentication.getName();
-        AreaConcept updatedConcept = areaConceptService.updateAreaConcept(conceptId, request, updatedBy);
-        return ResponseEntity.ok(updatedConcept);
+        AreaConcept updatedConcept = areaConceptService.updateAreaConcept(conceptId, request, updatedBy,
+                parseVersion(ifMatch));
+        return withVersion(updatedConcept);
+    }
+
+    /**
+     * Actualización parcial de concepto específico (JSON Merge Patch)
+     * Acceso: Solo el usuario que lo creó o usuarios del área
+     */
+    @PatchMapping(value = "/{conceptId}", consumes = {"application/merge-patch+json", MediaType.APPLICATION_JSON_VALUE})
+    @PreAuthorize("@areaConceptSecurityService.canEditConcept(#conceptId, authentication)")
+    public ResponseEntity<AreaConcept> patchAreaConcept(
+            @PathVariable Long conceptId,
+            @RequestBody JsonNode patch,
+            @RequestHeader(value = "If-Match", required = false) String ifMatch,
+            Authentication authentication) {
+
+        String updatedBy = authentication.getName();
+        AreaConcept patchedConcept = areaConceptService.patchAreaConcept(conceptId, patch, updatedBy,
+                parseVersion(ifMatch));
+        return withVersion(patchedConcept);
     }
 
     /**
@@ -98,10 +151,32 @@ public class AreaConceptController {
      * Acceso: Usuarios del área o validadores técnicos
      */
     @GetMapping("/{conceptId}")
-    @PreAuthorize("@areaConceptSecurityService.canViewConcept(#conceptId, authentication)")
+    @PreAuthorize("@areaConceptSecurityService.canViewConceptDetail(#conceptId, authentication)")
     public ResponseEntity<AreaConcept> getAreaConcept(@PathVariable Long conceptId) {
-        // Se implementará con findById en el servicio
-        return ResponseEntity.ok().build(); // TODO: Implementar
+        return withVersion(areaConceptService.getAreaConcept(conceptId));
+    }
+
+    /**
+     * Historial de versiones de los campos de template
+     * Acceso: Usuarios del área o validadores técnicos
+     */
+    @GetMapping("/{conceptId}/history")
+    @PreAuthorize("@areaConceptSecurityService.canViewConcept(#conceptId, authentication)")
+    public ResponseEntity<List<ConceptHistoryService.ConceptVersionSummary>> getConceptHistory(
+            @PathVariable Long conceptId) {
+        return ResponseEntity.ok(conceptHistoryService.getHistory(conceptId));
+    }
+
+    /**
+     * Campos de template reconstruidos en una versión específica
+     * Acceso: Usuarios del área o validadores técnicos
+     */
+    @GetMapping("/{conceptId}/history/{version}")
+    @PreAuthorize("@areaConceptSecurityService.canViewConcept(#conceptId, authentication)")
+    public ResponseEntity<ConceptHistoryService.ConceptVersion> getConceptVersion(
+            @PathVariable Long conceptId,
+            @PathVariable Long version) {
+        return ResponseEntity.ok(conceptHistoryService.getVersion(conceptId, version));
     }
 
     /**
@@ -112,14 +187,20 @@ public class AreaConceptController {
     @PreAuthorize("@areaConceptSecurityService.canSubmitConcept(#conceptId, authentication)")
     public ResponseEntity<AreaConcept> submitForValidation(
             @PathVariable Long conceptId,
-            @RequestHeader("Authorization") String authorizationHeader) {
+            @RequestHeader("Authorization") String authorizationHeader,
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey,
+            Authentication authentication) {
         
-        AreaConcept submittedConcept = areaConceptService.submitForValidation(conceptId, authorizationHeader);
-        return ResponseEntity.ok(submittedConcept);
+        String scope = "submit:" + conceptId + ":" + authentication.getName();
+        return idempotencyService.execute(idempotencyKey, scope, null, () -> {
+            AreaConcept submittedConcept = areaConceptService.submitForValidation(conceptId, authorizationHeader);
+            return ResponseEntity.ok(submittedConcept);
+        });
     }
 
     /**
      * Obtener conceptos por área
+     * No incluye los conceptos cerrados ya archivados (consultables por ID)
      * Acceso: Usuarios del área o validadores técnicos
      */
     @GetMapping("/area/{area}")
@@ -156,17 +237,36 @@ public class AreaConceptController {
     }
 
     /**
-     * Buscar conceptos por texto
+     * Buscar conceptos por texto (resultados ordenados por relevancia)
+     * Con prefix=true el último término se trata como prefijo (typeahead)
+     * No incluye los conceptos cerrados ya archivados (consultables por ID)
      * Acceso: Usuarios del área o validadores técnicos
      */
     @GetMapping("/area/{area}/search")
     @PreAuthorize("hasAnyRole('USER_' + #area, 'VALIDADOR_TECNICO_' + #area)")
     public ResponseEntity<List<AreaConcept>> searchConcepts(
             @PathVariable String area,
-            @RequestParam String q) {
+            @RequestParam String q,
+            @RequestParam(defaultValue = "false") boolean prefix,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
         
-        List<AreaConcept> concepts = areaConceptService.searchConcepts(area, q);
-        return ResponseEntity.ok(concepts);
+        Pageable pageable = PageRequest.of(page, size);
+        Page<AreaConcept> conceptsPage = areaConceptService.searchConcepts(area, q, prefix, pageable);
+        return ResponseEntity.ok()
+                .header("X-Total-Elements", String.valueOf(conceptsPage.getTotalElements()))
+                .header("X-Total-Pages", String.valueOf(conceptsPage.getTotalPages()))
+                .body(conceptsPage.getContent());
+    }
+
+    /**
+     * Obtener conteo de conceptos por estado en el área
+     * Acceso: Usuarios del área o validadores técnicos
+     */
+    @GetMapping("/area/{area}/statistics")
+    @PreAuthorize("hasAnyRole('USER_' + #area, 'VALIDADOR_TECNICO_' + #area)")
+    public ResponseEntity<Map<String, Long>> getStatisticsByArea(@PathVariable String area) {
+        return ResponseEntity.ok(conceptStatisticsService.getStatusCountsByArea(area));
     }
 
     // ==================== ENDPOINTS PARA VALIDADORES TÉCNICOS ====================
@@ -180,13 +280,15 @@ public class AreaConceptController {
     public ResponseEntity<AreaConcept> approveConcept(
             @PathVariable Long conceptId,
             @RequestBody(required = false) Map<String, String> requestBody,
+            @RequestHeader(value = "If-Match", required = false) String ifMatch,
             Authentication authentication) {
         
         String validatedBy = authentication.getName();
         String comments = requestBody != null ? requestBody.getOrDefault("comments", "") : "";
         
-        AreaConcept approvedConcept = areaConceptService.approveConcept(conceptId, validatedBy, comments);
-        return ResponseEntity.ok(approvedConcept);
+        AreaConcept approvedConcept = areaConceptService.approveConcept(conceptId, validatedBy, comments,
+                parseVersion(ifMatch));
+        return withVersion(approvedConcept);
     }
 
     /**
@@ -198,6 +300,7 @@ public class AreaConceptController {
     public ResponseEntity<AreaConcept> rejectConcept(
             @PathVariable Long conceptId,
             @RequestBody Map<String, String> requestBody,
+            @RequestHeader(value = "If-Match", required = false) String ifMatch,
             Authentication authentication) {
         
         String validatedBy = authentication.getName();
@@ -207,28 +310,145 @@ public class AreaConceptController {
             return ResponseEntity.badRequest().build(); // Comentarios obligatorios para rechazo
         }
         
-        AreaConcept rejectedConcept = areaConceptService.rejectConcept(conceptId, validatedBy, comments);
-        return ResponseEntity.ok(rejectedConcept);
+        AreaConcept rejectedConcept = areaConceptService.rejectConcept(conceptId, validatedBy, comments,
+                parseVersion(ifMatch));
+        return withVersion(rejectedConcept);
     }
 
     /**
-     * Obtener todos los conceptos pendientes de validación
+     * Obtener conceptos pendientes de validación de las áreas del validador
+     * limit es por área (los más antiguos primero), acotado a [1, max-claim-size]
      * Acceso: Solo validadores técnicos de cualquier área
      */
     @GetMapping("/pending-validation")
     @PreAuthorize("hasAnyRole('VALIDADOR_TECNICO_CGRM', 'VALIDADOR_TECNICO_CGSG', 'VALIDADOR_TECNICO_CGMAIG', 'VALIDADOR_TECNICO_PATRIMONIO')")
-    public ResponseEntity<Map<String, List<AreaConcept>>> getAllPendingValidation() {
-        // Obtener conceptos pendientes agrupados por área
-        Map<String, List<AreaConcept>> pendingByArea = Map.of(
-            "CGRM", areaConceptService.getPendingValidationByArea("CGRM"),
-            "CGSG", areaConceptService.getPendingValidationByArea("CGSG"), 
-            "CGMAIG", areaConceptService.getPendingValidationByArea("CGMAIG"),
-            "PATRIMONIO", areaConceptService.getPendingValidationByArea("PATRIMONIO")
-        );
-        
+    public ResponseEntity<Map<String, List<AreaConcept>>> getAllPendingValidation(
+            @RequestParam(defaultValue = "50") int limit,
+            Authentication authentication) {
+
+        // Una sola consulta para todas las áreas del validador, agrupada por área
+        Set<String> areas = validatorAreas(authentication);
+
+        Map<String, List<AreaConcept>> pendingByArea = new LinkedHashMap<>();
+        areas.forEach(area -> pendingByArea.put(area, new ArrayList<>()));
+        areaConceptService.getPendingValidationByAreas(areas, limit)
+                .forEach(concept -> pendingByArea.computeIfAbsent(concept.getArea(), key -> new ArrayList<>()).add(concept));
+
         return ResponseEntity.ok(pendingByArea);
     }
 
+    /**
+     * Aprobar varios conceptos en un solo lote
+     * Acceso: Validadores técnicos; cada concepto se autoriza contra su área
+     */
+    @PutMapping("/bulk/approve")
+    @PreAuthorize("hasAnyRole('VALIDADOR_TECNICO_CGRM', 'VALIDADOR_TECNICO_CGSG', 'VALIDADOR_TECNICO_CGMAIG', 'VALIDADOR_TECNICO_PATRIMONIO')")
+    public ResponseEntity<BulkReviewResponse> approveConcepts(
+            @Valid @RequestBody BulkReviewRequest request,
+            Authentication authentication) {
+
+        BulkReviewResponse response = areaConceptService.reviewConcepts(request, ConceptStatus.APPROVED,
+                authentication.getName(), validatorAreas(authentication));
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Rechazar varios conceptos en un solo lote (comentarios obligatorios por concepto)
+     * Acceso: Validadores técnicos; cada concepto se autoriza contra su área
+     */
+    @PutMapping("/bulk/reject")
+    @PreAuthorize("hasAnyRole('VALIDADOR_TECNICO_CGRM', 'VALIDADOR_TECNICO_CGSG', 'VALIDADOR_TECNICO_CGMAIG', 'VALIDADOR_TECNICO_PATRIMONIO')")
+    public ResponseEntity<BulkReviewResponse> rejectConcepts(
+            @Valid @RequestBody BulkReviewRequest request,
+            Authentication authentication) {
+
+        BulkReviewResponse response = areaConceptService.reviewConcepts(request, ConceptStatus.REJECTED,
+                authentication.getName(), validatorAreas(authentication));
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Reclamar los siguientes conceptos enviados del área para revisión
+     * Los conceptos pasan a IN_REVIEW con una reserva temporal
+     * Acceso: Solo validadores técnicos del área
+     */
+    @PostMapping("/area/{area}/review-queue/claim")
+    @PreAuthorize("hasRole('VALIDADOR_TECNICO_' + #area)")
+    public ResponseEntity<List<AreaConcept>> claimReviewQueue(
+            @PathVariable String area,
+            @RequestParam(defaultValue = "10") int limit,
+            Authentication authentication) {
+
+        List<AreaConcept> claimed = reviewQueueService.claimNext(area, limit, authentication.getName());
+        return ResponseEntity.ok(claimed);
+    }
+
+    /**
+     * Devolver a la cola un concepto reclamado
+     * Acceso: Solo validadores técnicos del área correspondiente
+     */
+    @PutMapping("/{conceptId}/release")
+    @PreAuthorize("@areaConceptSecurityService.canValidateConcept(#conceptId, authentication)")
+    public ResponseEntity<Void> releaseConcept(
+            @PathVariable Long conceptId,
+            Authentication authentication) {
+
+        reviewQueueService.release(conceptId, authentication.getName());
+        return ResponseEntity.noContent().build();
+    }
+
+    /**
+     * Áreas en las que el usuario tiene rol de validador técnico
+     */
+    private Set<String> validatorAreas(Authentication authentication) {
+        return authentication.getAuthorities().stream()
+                .map(GrantedAuthority::getAuthority)
+                .filter(authority -> authority.startsWith(VALIDATOR_ROLE_PREFIX))
+                .map(authority -> authority.substring(VALIDATOR_ROLE_PREFIX.length()))
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+    }
+
+    /**
+     * Respuesta con la versión del concepto como ETag para el siguiente If-Match
+     */
+    private ResponseEntity<AreaConcept> withVersion(AreaConcept concept) {
+        return ResponseEntity.ok()
+                .eTag("\"" + concept.getVersion() + "\"")
+                .body(concept);
+    }
+
+    /**
+     * Obtener la versión esperada desde el encabezado If-Match ("3", W/"3" o 3)
+     */
+    private Long parseVersion(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        String version = ifMatch.trim();
+        if (version.startsWith("W/")) {
+            version = version.substring(2);
+        }
+        version = version.replace("\"", "");
+        try {
+            return Long.valueOf(version);
+        } catch (NumberFormatException e) {
+            throw new AreaConceptService.ServiceException("Encabezado If-Match inválido: " + ifMatch);
+        }
+    }
+
+    /**
+     * Manejo de excepciones
+     */
+    @ExceptionHandler({AreaConceptService.ConflictException.class, ObjectOptimisticLockingFailureException.class})
+    public ResponseEntity<String> handleConflict(RuntimeException e) {
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(e.getMessage());
+    }
+
+    @ExceptionHandler(AreaConceptService.ServiceException.class)
+    public ResponseEntity<String> handleServiceException(AreaConceptService.ServiceException e) {
+        return ResponseEntity.badRequest().body(e.getMessage());
+    }
+
     /**
      * Endpoint de salud del servicio
      */
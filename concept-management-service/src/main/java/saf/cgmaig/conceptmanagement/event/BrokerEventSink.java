@@ -0,0 +1,49 @@
+package saf.cgmaig.conceptmanagement.event;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.List;
+
+/**
+ * Publica los eventos a través de un ConceptEventBroker
+ */
+public class BrokerEventSink implements ConceptEventSink {
+
+    private final ConceptEventBroker broker;
+    private final String topic;
+
+    public BrokerEventSink(ConceptEventBroker broker, String topic) {
+        this.broker = broker;
+        this.topic = topic;
+    }
+
+    @Override
+    public void publish(List<ConceptLifecycleEvent> events) {
+        broker.send(topic, events);
+    }
+
+    /**
+     * Registro del sink de broker; usa el broker local si no hay otro adaptador
+     */
+    @Configuration
+    @ConditionalOnProperty(name = "cubs.concept-management.outbox.sink", havingValue = "broker")
+    static class BrokerSinkConfiguration {
+
+        @Bean
+        @ConditionalOnMissingBean(ConceptEventBroker.class)
+        ConceptEventBroker localConceptEventBroker(
+                @Value("${cubs.concept-management.outbox.broker.local-capacity:1000}") int capacity) {
+            return new LocalConceptEventBroker(capacity);
+        }
+
+        @Bean
+        ConceptEventSink brokerEventSink(ConceptEventBroker broker,
+                                         @Value("${cubs.concept-management.outbox.broker.topic:cubs.area-concepts}") String topic) {
+            return new BrokerEventSink(broker, topic);
+        }
+    }
+}
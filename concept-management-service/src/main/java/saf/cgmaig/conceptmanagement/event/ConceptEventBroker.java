@@ -0,0 +1,14 @@
+package saf.cgmaig.conceptmanagement.event;
+
+import java.util.List;
+
+/**
+ * Adaptador hacia un broker de mensajes (Kafka, RabbitMQ, etc.)
+ *
+ * La clave de partición es el ID del concepto para conservar el orden
+ * por concepto en el broker.
+ */
+public interface ConceptEventBroker {
+
+    void send(String topic, List<ConceptLifecycleEvent> events);
+}
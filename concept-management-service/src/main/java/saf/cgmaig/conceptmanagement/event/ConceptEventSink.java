@@ -0,0 +1,18 @@
+package saf.cgmaig.conceptmanagement.event;
+
+import java.util.List;
+
+/**
+ * Destino de publicación de eventos de ciclo de vida
+ *
+ * Se selecciona con cubs.concept-management.outbox.sink
+ * (in-process, webhook o broker). Una excepción indica que el lote
+ * no se entregó y debe reintentarse.
+ */
+public interface ConceptEventSink {
+
+    /**
+     * Publicar un lote de eventos ya ordenado por concepto
+     */
+    void publish(List<ConceptLifecycleEvent> events);
+}
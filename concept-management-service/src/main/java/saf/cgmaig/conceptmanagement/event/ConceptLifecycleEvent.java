@@ -0,0 +1,36 @@
+package saf.cgmaig.conceptmanagement.event;
+
+import saf.cgmaig.conceptmanagement.model.ConceptOutboxEvent;
+
+import java.time.LocalDateTime;
+
+/**
+ * Evento publicado cuando un concepto cambia de estado
+ *
+ * eventId es el ID del outbox: los consumidores lo usan para descartar
+ * duplicados, ya que la entrega es al menos una vez.
+ */
+public record ConceptLifecycleEvent(
+    Long eventId,
+    Long conceptId,
+    String area,
+    String previousStatus,
+    String newStatus,
+    String actor,
+    String comments,
+    LocalDateTime occurredAt
+) {
+
+    public static ConceptLifecycleEvent from(ConceptOutboxEvent outboxEvent) {
+        return new ConceptLifecycleEvent(
+            outboxEvent.getId(),
+            outboxEvent.getConceptId(),
+            outboxEvent.getArea(),
+            outboxEvent.getPreviousStatus(),
+            outboxEvent.getNewStatus(),
+            outboxEvent.getActor(),
+            outboxEvent.getComments(),
+            outboxEvent.getOccurredAt()
+        );
+    }
+}
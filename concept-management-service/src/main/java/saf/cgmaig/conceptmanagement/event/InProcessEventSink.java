@@ -0,0 +1,26 @@
+package saf.cgmaig.conceptmanagement.event;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Publica los eventos a listeners del mismo proceso (@EventListener)
+ */
+@Component
+@ConditionalOnProperty(name = "cubs.concept-management.outbox.sink", havingValue = "in-process", matchIfMissing = true)
+public class InProcessEventSink implements ConceptEventSink {
+
+    private final ApplicationEventPublisher applicationEventPublisher;
+
+    public InProcessEventSink(ApplicationEventPublisher applicationEventPublisher) {
+        this.applicationEventPublisher = applicationEventPublisher;
+    }
+
+    @Override
+    public void publish(List<ConceptLifecycleEvent> events) {
+        events.forEach(applicationEventPublisher::publishEvent);
+    }
+}
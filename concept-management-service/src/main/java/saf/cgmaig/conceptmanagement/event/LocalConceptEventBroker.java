@@ -0,0 +1,58 @@
+package saf.cgmaig.conceptmanagement.event;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Sustituto local del broker para desarrollo
+ *
+ * Conserva en memoria los últimos eventos enviados y los registra en el log.
+ * Se usa cuando no hay otro ConceptEventBroker en el contexto.
+ */
+public class LocalConceptEventBroker implements ConceptEventBroker {
+
+    private static final Logger logger = LoggerFactory.getLogger(LocalConceptEventBroker.class);
+
+    private final int capacity;
+    private final Deque<ConceptLifecycleEvent> recentEvents = new ArrayDeque<>();
+    // ReentrantLock en lugar de synchronized: no fija hilos virtuales a su portador
+    private final ReentrantLock lock = new ReentrantLock();
+
+    public LocalConceptEventBroker(int capacity) {
+        this.capacity = capacity;
+    }
+
+    @Override
+    public void send(String topic, List<ConceptLifecycleEvent> events) {
+        lock.lock();
+        try {
+            for (ConceptLifecycleEvent event : events) {
+                if (recentEvents.size() == capacity) {
+                    recentEvents.removeFirst();
+                }
+                recentEvents.addLast(event);
+            }
+        } finally {
+            lock.unlock();
+        }
+        for (ConceptLifecycleEvent event : events) {
+            logger.debug("[{}] concepto {}: {} -> {}", topic, event.conceptId(),
+                    event.previousStatus(), event.newStatus());
+        }
+    }
+
+    public List<ConceptLifecycleEvent> getRecentEvents() {
+        lock.lock();
+        try {
+            return new ArrayList<>(recentEvents);
+        } finally {
+            lock.unlock();
+        }
+    }
+}
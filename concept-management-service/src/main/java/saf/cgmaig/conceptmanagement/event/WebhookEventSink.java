@@ -0,0 +1,38 @@
+package saf.cgmaig.conceptmanagement.event;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClient;
+
+import java.util.List;
+
+/**
+ * Publica cada lote como un POST JSON a los webhooks configurados
+ */
+@Component
+@ConditionalOnProperty(name = "cubs.concept-management.outbox.sink", havingValue = "webhook")
+public class WebhookEventSink implements ConceptEventSink {
+
+    private final RestClient restClient;
+    private final List<String> webhookUrls;
+
+    public WebhookEventSink(RestClient.Builder restClientBuilder,
+                            @Value("${cubs.concept-management.outbox.webhook.urls}") List<String> webhookUrls) {
+        this.restClient = restClientBuilder.build();
+        this.webhookUrls = webhookUrls;
+    }
+
+    @Override
+    public void publish(List<ConceptLifecycleEvent> events) {
+        for (String url : webhookUrls) {
+            restClient.post()
+                    .uri(url)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .body(events)
+                    .retrieve()
+                    .toBodilessEntity();
+        }
+    }
+}
@@ -4,6 +4,7 @@ import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
+import org.hibernate.annotations.DynamicUpdate;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -16,6 +17,7 @@ import java.time.LocalDateTime;
  */
 @Entity
 @Table(name = "area_concepts")
+@DynamicUpdate
 public class AreaConcept {
 
     @Id
@@ -120,6 +122,18 @@ public class AreaConcept {
     @Column(name = "validation_comments", columnDefinition = "TEXT")
     private String validationComments;
 
+    // Reserva de revisión (cola de trabajo de validadores)
+    @Column(name = "claimed_by")
+    private String claimedBy;
+
+    @Column(name = "lease_expires_at")
+    private LocalDateTime leaseExpiresAt;
+
+    // Control de concurrencia optimista
+    @Version
+    @Column(name = "version", nullable = false, columnDefinition = "bigint default 0")
+    private Long version;
+
     // Constructor por defecto
     public AreaConcept() {
         this.createdAt = LocalDateTime.now();
@@ -359,6 +373,41 @@ public class AreaConcept {
         this.validationComments = validationComments;
     }
 
+    public String getClaimedBy() {
+        return claimedBy;
+    }
+
+    public void setClaimedBy(String claimedBy) {
+        this.claimedBy = claimedBy;
+    }
+
+    public LocalDateTime getLeaseExpiresAt() {
+        return leaseExpiresAt;
+    }
+
+    public void setLeaseExpiresAt(LocalDateTime leaseExpiresAt) {
+        this.leaseExpiresAt = leaseExpiresAt;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
+    /**
+     * Verifica si otro validador tiene una reserva vigente sobre el concepto
+     */
+    public boolean isClaimedByOther(String validator, LocalDateTime now) {
+        return status == ConceptStatus.IN_REVIEW
+                && claimedBy != null
+                && !claimedBy.equals(validator)
+                && leaseExpiresAt != null
+                && leaseExpiresAt.isAfter(now);
+    }
+
     @PreUpdate
     protected void onUpdate() {
         this.updatedAt = LocalDateTime.now();
@@ -372,6 +421,16 @@ public class AreaConcept {
         this.submittedAt = LocalDateTime.now();
     }
 
+    /**
+     * Método de utilidad para regresar a borrador al editar (limpia la validación previa)
+     */
+    public void returnToDraft() {
+        this.status = ConceptStatus.DRAFT;
+        this.validatedBy = null;
+        this.validatedAt = null;
+        this.validationComments = null;
+    }
+
     /**
      * Método de utilidad para aprobar concepto
      */
@@ -380,6 +439,8 @@ public class AreaConcept {
         this.validatedBy = validatedBy;
         this.validatedAt = LocalDateTime.now();
         this.validationComments = comments;
+        this.claimedBy = null;
+        this.leaseExpiresAt = null;
     }
 
     /**
@@ -390,6 +451,8 @@ public class AreaConcept {
         this.validatedBy = validatedBy;
         this.validatedAt = LocalDateTime.now();
         this.validationComments = comments;
+        this.claimedBy = null;
+        this.leaseExpiresAt = null;
     }
 
     @Override
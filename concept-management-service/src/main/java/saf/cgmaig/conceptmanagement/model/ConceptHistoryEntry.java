@@ -0,0 +1,85 @@
+package saf.cgmaig.conceptmanagement.model;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Versión registrada de los campos de template de un concepto (solo inserción)
+ *
+ * El campo delta contiene, comprimidos, únicamente los campos que cambiaron
+ * respecto a la versión registrada anterior. Las entradas snapshot contienen
+ * todos los campos y sirven de punto de partida para reconstruir versiones.
+ */
+@Entity
+@Table(name = "area_concept_history",
+       uniqueConstraints = @UniqueConstraint(name = "uk_area_concept_history_version",
+                                             columnNames = {"concept_id", "version"}))
+public class ConceptHistoryEntry {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "area_concept_history_seq")
+    @SequenceGenerator(name = "area_concept_history_seq", sequenceName = "area_concept_history_seq",
+                       allocationSize = 50)
+    private Long id;
+
+    @Column(name = "concept_id", nullable = false)
+    private Long conceptId;
+
+    @Column(name = "version", nullable = false)
+    private Long version;
+
+    @Column(name = "changed_by")
+    private String changedBy;
+
+    @Column(name = "changed_at", nullable = false)
+    private LocalDateTime changedAt;
+
+    @Column(name = "snapshot", nullable = false)
+    private boolean snapshot;
+
+    @Column(name = "delta", nullable = false)
+    private byte[] delta;
+
+    // Constructor por defecto
+    public ConceptHistoryEntry() {}
+
+    public ConceptHistoryEntry(Long conceptId, Long version, String changedBy, LocalDateTime changedAt,
+                               boolean snapshot, byte[] delta) {
+        this.conceptId = conceptId;
+        this.version = version;
+        this.changedBy = changedBy;
+        this.changedAt = changedAt;
+        this.snapshot = snapshot;
+        this.delta = delta;
+    }
+
+    // Getters
+    public Long getId() {
+        return id;
+    }
+
+    public Long getConceptId() {
+        return conceptId;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public String getChangedBy() {
+        return changedBy;
+    }
+
+    public LocalDateTime getChangedAt() {
+        return changedAt;
+    }
+
+    public boolean isSnapshot() {
+        return snapshot;
+    }
+
+    public byte[] getDelta() {
+        return delta;
+    }
+}
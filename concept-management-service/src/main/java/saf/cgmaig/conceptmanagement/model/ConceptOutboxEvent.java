@@ -0,0 +1,125 @@
+package saf.cgmaig.conceptmanagement.model;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Evento de ciclo de vida pendiente de publicar (outbox transaccional)
+ *
+ * Las filas se insertan por trigger (indexes.sql) en la misma transacción
+ * que el cambio de estado del concepto; OutboxRelayService las publica.
+ * Un evento que falla se reintenta a partir de next_attempt_at (backoff) y,
+ * agotados los intentos, queda en dead_lettered_at para revisión manual.
+ */
+@Entity
+@Table(name = "concept_outbox")
+public class ConceptOutboxEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "concept_id", nullable = false)
+    private Long conceptId;
+
+    @Column(name = "area", nullable = false)
+    private String area;
+
+    @Column(name = "previous_status")
+    private String previousStatus;
+
+    @Column(name = "new_status", nullable = false)
+    private String newStatus;
+
+    @Column(name = "actor")
+    private String actor;
+
+    @Column(name = "comments", columnDefinition = "TEXT")
+    private String comments;
+
+    @Column(name = "occurred_at", nullable = false)
+    private LocalDateTime occurredAt;
+
+    @Column(name = "published_at")
+    private LocalDateTime publishedAt;
+
+    @Column(name = "attempts", nullable = false, columnDefinition = "integer default 0")
+    private int attempts;
+
+    @Column(name = "last_error", columnDefinition = "TEXT")
+    private String lastError;
+
+    // Siguiente intento (backoff) o fin de la reserva del relay que lo publica
+    @Column(name = "next_attempt_at")
+    private LocalDateTime nextAttemptAt;
+
+    @Column(name = "dead_lettered_at")
+    private LocalDateTime deadLetteredAt;
+
+    // Constructor por defecto
+    public ConceptOutboxEvent() {}
+
+    // Getters y Setters
+    public Long getId() {
+        return id;
+    }
+
+    public Long getConceptId() {
+        return conceptId;
+    }
+
+    public String getArea() {
+        return area;
+    }
+
+    public String getPreviousStatus() {
+        return previousStatus;
+    }
+
+    public String getNewStatus() {
+        return newStatus;
+    }
+
+    public String getActor() {
+        return actor;
+    }
+
+    public String getComments() {
+        return comments;
+    }
+
+    public LocalDateTime getOccurredAt() {
+        return occurredAt;
+    }
+
+    public LocalDateTime getPublishedAt() {
+        return publishedAt;
+    }
+
+    public int getAttempts() {
+        return attempts;
+    }
+
+    public String getLastError() {
+        return lastError;
+    }
+
+    public LocalDateTime getNextAttemptAt() {
+        return nextAttemptAt;
+    }
+
+    public LocalDateTime getDeadLetteredAt() {
+        return deadLetteredAt;
+    }
+
+    @Override
+    public String toString() {
+        return "ConceptOutboxEvent{" +
+                "id=" + id +
+                ", conceptId=" + conceptId +
+                ", previousStatus='" + previousStatus + '\'' +
+                ", newStatus='" + newStatus + '\'' +
+                '}';
+    }
+}
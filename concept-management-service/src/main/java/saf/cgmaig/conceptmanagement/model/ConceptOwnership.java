@@ -0,0 +1,14 @@
+package saf.cgmaig.conceptmanagement.model;
+
+/**
+ * Proyección compacta de un concepto para decisiones de autorización
+ *
+ * Solo contiene lo necesario para decidir permisos (área, creador y estado)
+ * sin cargar los campos TEXT del template.
+ */
+public record ConceptOwnership(
+    Long id,
+    String area,
+    String createdBy,
+    ConceptStatus status
+) {}
@@ -0,0 +1,51 @@
+package saf.cgmaig.conceptmanagement.model;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Posición de lectura de un feed de cambios externo
+ *
+ * Permite reanudar la sincronización desde el último cursor procesado
+ * después de un reinicio.
+ */
+@Entity
+@Table(name = "feed_cursors")
+public class FeedCursor {
+
+    @Id
+    @Column(name = "feed_name", length = 100)
+    private String feedName;
+
+    @Column(name = "cursor_value", length = 500)
+    private String cursorValue;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    // Constructor por defecto
+    public FeedCursor() {}
+
+    public FeedCursor(String feedName) {
+        this.feedName = feedName;
+    }
+
+    // Getters y Setters
+    public String getFeedName() {
+        return feedName;
+    }
+
+    public String getCursorValue() {
+        return cursorValue;
+    }
+
+    public void advance(String cursorValue) {
+        this.cursorValue = cursorValue;
+        this.updatedAt = LocalDateTime.now();
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+}
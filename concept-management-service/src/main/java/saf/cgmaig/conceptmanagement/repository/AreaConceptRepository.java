@@ -3,12 +3,18 @@ package saf.cgmaig.conceptmanagement.repository;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 import saf.cgmaig.conceptmanagement.model.AreaConcept;
+import saf.cgmaig.conceptmanagement.model.ConceptOwnership;
 import saf.cgmaig.conceptmanagement.model.ConceptStatus;
+import saf.cgmaig.conceptmanagement.service.AreaConceptUpdateRequest;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -18,6 +24,28 @@ import java.util.Optional;
 @Repository
 public interface AreaConceptRepository extends JpaRepository<AreaConcept, Long> {
 
+    /**
+     * Obtener proyección de propiedad (id, área, creador, estado) para autorización
+     */
+    @Query("SELECT new saf.cgmaig.conceptmanagement.model.ConceptOwnership(c.id, c.area, c.createdBy, c.status) " +
+           "FROM AreaConcept c WHERE c.id = :id")
+    Optional<ConceptOwnership> findOwnershipById(@Param("id") Long id);
+
+    /**
+     * Buscar concepto en el archivo de conceptos cerrados (solo lectura)
+     */
+    @Query(value = "SELECT * FROM area_concepts_archive WHERE id = :id", nativeQuery = true)
+    Optional<AreaConcept> findArchivedById(@Param("id") Long id);
+
+    /**
+     * Mover un lote de conceptos cerrados antes de cutoff al archivo
+     *
+     * Cada lote corre en su propia transacción; devuelve las filas movidas.
+     */
+    @Transactional
+    @Query(value = "SELECT archive_closed_area_concepts(:cutoff, :batchSize)", nativeQuery = true)
+    int archiveClosedChunk(@Param("cutoff") LocalDateTime cutoff, @Param("batchSize") int batchSize);
+
     /**
      * Buscar conceptos por área
      */
@@ -48,6 +76,25 @@ public interface AreaConceptRepository extends JpaRepository<AreaConcept, Long>
      */
     List<AreaConcept> findByBaseConceptId(Long baseConceptId);
 
+    /**
+     * Propagar el nombre de un concepto base a un bloque de conceptos de área
+     *
+     * Idempotente: solo toca filas con nombre distinto. Se ejecuta en bloques
+     * de chunkSize filas (cada uno en su propia transacción) para no mantener
+     * bloqueos largos cuando el concepto base tiene miles de derivados.
+     */
+    @Transactional
+    @Modifying
+    @Query(value = "UPDATE area_concepts SET base_concept_name = :name " +
+                   "WHERE id IN (SELECT c.id FROM area_concepts c " +
+                   "             WHERE c.base_concept_id = :baseConceptId " +
+                   "             AND c.base_concept_name IS DISTINCT FROM :name " +
+                   "             LIMIT :chunkSize)",
+           nativeQuery = true)
+    int renameBaseConceptChunk(@Param("baseConceptId") Long baseConceptId,
+                               @Param("name") String name,
+                               @Param("chunkSize") int chunkSize);
+
     /**
      * Buscar conceptos por template de capítulo
      */
@@ -60,13 +107,24 @@ public interface AreaConceptRepository extends JpaRepository<AreaConcept, Long>
 
     /**
      * Verificar si existe concepto con nombre específico en área
+     * (incluye los conceptos archivados)
      */
-    boolean existsBySpecificNameAndArea(String specificName, String area);
+    @Query(value = "SELECT EXISTS (" +
+                   "SELECT 1 FROM area_concepts WHERE specific_name = :name AND area = :area " +
+                   "UNION ALL " +
+                   "SELECT 1 FROM area_concepts_archive WHERE specific_name = :name AND area = :area)",
+           nativeQuery = true)
+    boolean existsBySpecificNameAndArea(@Param("name") String specificName, @Param("area") String area);
 
     /**
      * Verificar si existe concepto con nombre específico en área excluyendo uno específico
+     * (incluye los conceptos archivados)
      */
-    @Query("SELECT COUNT(c) > 0 FROM AreaConcept c WHERE c.specificName = :name AND c.area = :area AND c.id != :excludeId")
+    @Query(value = "SELECT EXISTS (" +
+                   "SELECT 1 FROM area_concepts WHERE specific_name = :name AND area = :area AND id <> :excludeId " +
+                   "UNION ALL " +
+                   "SELECT 1 FROM area_concepts_archive WHERE specific_name = :name AND area = :area AND id <> :excludeId)",
+           nativeQuery = true)
     boolean existsBySpecificNameAndAreaExcludingId(@Param("name") String specificName, 
                                                    @Param("area") String area, 
                                                    @Param("excludeId") Long excludeId);
@@ -77,12 +135,210 @@ public interface AreaConceptRepository extends JpaRepository<AreaConcept, Long>
     @Query("SELECT c FROM AreaConcept c WHERE c.area = :area AND c.status IN ('SUBMITTED', 'IN_REVIEW') ORDER BY c.submittedAt ASC")
     List<AreaConcept> findPendingValidationByArea(@Param("area") String area);
 
+    /**
+     * Obtener conceptos pendientes de validación de varias áreas en una sola consulta
+     *
+     * Hasta perAreaLimit conceptos por área (los más antiguos), con un recorrido
+     * del índice parcial por área (LATERAL ... LIMIT).
+     */
+    @Query(value = "SELECT c.* FROM unnest(CAST(:areas AS text[])) AS a(area) " +
+                   "CROSS JOIN LATERAL (SELECT p.* FROM area_concepts p " +
+                   "                    WHERE p.area = a.area AND p.status IN ('SUBMITTED', 'IN_REVIEW') " +
+                   "                    ORDER BY p.submitted_at, p.id LIMIT :perAreaLimit) c " +
+                   "ORDER BY c.area, c.submitted_at, c.id",
+           nativeQuery = true)
+    List<AreaConcept> findPendingValidationByAreas(@Param("areas") String[] areas,
+                                                   @Param("perAreaLimit") int perAreaLimit);
+
+    /**
+     * Bloquear los siguientes conceptos enviados de un área para la cola de revisión
+     *
+     * SKIP LOCKED permite que varios validadores reclamen en paralelo sin
+     * esperar entre sí ni obtener los mismos conceptos.
+     */
+    @Query(value = "SELECT c.id FROM area_concepts c " +
+                   "WHERE c.area = :area AND c.status = 'SUBMITTED' " +
+                   "ORDER BY c.submitted_at ASC, c.id ASC " +
+                   "LIMIT :limit FOR UPDATE SKIP LOCKED",
+           nativeQuery = true)
+    List<Long> lockNextSubmittedIds(@Param("area") String area, @Param("limit") int limit);
+
+    /**
+     * Marcar conceptos bloqueados como en revisión con reserva temporal
+     *
+     * Reservar y liberar incrementan la versión: un PATCH o una resolución con
+     * la versión leída antes del cambio de estado debe fallar como obsoleta.
+     */
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE AreaConcept c SET c.status = :status, c.claimedBy = :validator, " +
+           "c.leaseExpiresAt = :leaseExpiresAt, c.updatedAt = :now, c.version = c.version + 1 " +
+           "WHERE c.id IN :ids")
+    int claimConcepts(@Param("ids") Collection<Long> ids,
+                      @Param("status") ConceptStatus status,
+                      @Param("validator") String validator,
+                      @Param("leaseExpiresAt") LocalDateTime leaseExpiresAt,
+                      @Param("now") LocalDateTime now);
+
+    /**
+     * Liberar la reserva de un concepto por el validador que la tiene
+     */
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE AreaConcept c SET c.status = :queuedStatus, c.claimedBy = null, c.leaseExpiresAt = null, " +
+           "c.updatedAt = :now, c.version = c.version + 1 " +
+           "WHERE c.id = :id AND c.status = :claimedStatus AND c.claimedBy = :validator")
+    int releaseClaim(@Param("id") Long id,
+                     @Param("validator") String validator,
+                     @Param("claimedStatus") ConceptStatus claimedStatus,
+                     @Param("queuedStatus") ConceptStatus queuedStatus,
+                     @Param("now") LocalDateTime now);
+
+    /**
+     * Regresar a la cola los conceptos cuya reserva expiró
+     */
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE AreaConcept c SET c.status = :queuedStatus, c.claimedBy = null, c.leaseExpiresAt = null, " +
+           "c.updatedAt = :now, c.version = c.version + 1 " +
+           "WHERE c.status = :claimedStatus AND c.leaseExpiresAt < :now")
+    int releaseExpiredClaims(@Param("now") LocalDateTime now,
+                             @Param("claimedStatus") ConceptStatus claimedStatus,
+                             @Param("queuedStatus") ConceptStatus queuedStatus);
+
+    /**
+     * Resolver un concepto en revisión (aprobar o rechazar) en una sola sentencia
+     *
+     * Solo actualiza si el concepto sigue en SUBMITTED/IN_REVIEW, si no está
+     * reservado por otro validador y, cuando expectedVersion >= 0, si la versión
+     * coincide. Devuelve la fila actualizada o vacío si alguna condición falló.
+     */
+    @Query(value = "UPDATE area_concepts c SET status = :targetStatus, validated_by = :validatedBy, " +
+                   "validated_at = :now, validation_comments = :comments, claimed_by = NULL, " +
+                   "lease_expires_at = NULL, updated_at = :now, version = c.version + 1 " +
+                   "WHERE c.id = :id AND c.status IN ('SUBMITTED', 'IN_REVIEW') " +
+                   "AND (:expectedVersion < 0 OR c.version = :expectedVersion) " +
+                   "AND (c.claimed_by IS NULL OR c.claimed_by = :validatedBy " +
+                   "     OR c.lease_expires_at IS NULL OR c.lease_expires_at <= :now) " +
+                   "RETURNING *",
+           nativeQuery = true)
+    Optional<AreaConcept> completeReview(@Param("id") Long id,
+                                         @Param("targetStatus") String targetStatus,
+                                         @Param("validatedBy") String validatedBy,
+                                         @Param("comments") String comments,
+                                         @Param("now") LocalDateTime now,
+                                         @Param("expectedVersion") long expectedVersion);
+
+    /**
+     * Obtener área y estado de revisión de varios conceptos en una sola consulta
+     * Devuelve filas (id, area, status, claimedBy, leaseExpiresAt)
+     */
+    @Query("SELECT c.id, c.area, c.status, c.claimedBy, c.leaseExpiresAt FROM AreaConcept c WHERE c.id IN :ids")
+    List<Object[]> findReviewStateByIds(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Resolver varios conceptos en revisión con una sola sentencia
+     *
+     * Cada concepto recibe su propio comentario (arreglos paralelos ids/comments).
+     * Devuelve los IDs efectivamente actualizados.
+     */
+    @Query(value = "UPDATE area_concepts c SET status = :targetStatus, validated_by = :validatedBy, " +
+                   "validated_at = :now, validation_comments = v.comments, claimed_by = NULL, " +
+                   "lease_expires_at = NULL, updated_at = :now, version = c.version + 1 " +
+                   "FROM unnest(CAST(:ids AS bigint[]), CAST(:comments AS text[])) AS v(id, comments) " +
+                   "WHERE c.id = v.id AND c.status IN ('SUBMITTED', 'IN_REVIEW') " +
+                   "AND (c.claimed_by IS NULL OR c.claimed_by = :validatedBy " +
+                   "     OR c.lease_expires_at IS NULL OR c.lease_expires_at <= :now) " +
+                   "RETURNING c.id",
+           nativeQuery = true)
+    List<Long> completeReviews(@Param("ids") Long[] ids,
+                               @Param("comments") String[] comments,
+                               @Param("targetStatus") String targetStatus,
+                               @Param("validatedBy") String validatedBy,
+                               @Param("now") LocalDateTime now);
+
+    /**
+     * Pasar a SUBMITTED un concepto que superó la validación automática
+     *
+     * Condicionada a la versión leída antes de validar: si el concepto cambió
+     * mientras se validaba no se actualiza ninguna fila.
+     */
+    @Query(value = "UPDATE area_concepts c SET status = 'SUBMITTED', submitted_at = :now, " +
+                   "updated_at = :now, version = c.version + 1 " +
+                   "WHERE c.id = :id AND c.status IN ('DRAFT', 'REJECTED') AND c.version = :version " +
+                   "RETURNING *",
+           nativeQuery = true)
+    Optional<AreaConcept> markSubmitted(@Param("id") Long id,
+                                        @Param("version") long version,
+                                        @Param("now") LocalDateTime now);
+
+    /**
+     * Rechazar un concepto por errores de la validación automática (misma condición que markSubmitted)
+     */
+    @Query(value = "UPDATE area_concepts c SET status = 'REJECTED', validated_by = :validatedBy, " +
+                   "validated_at = :now, validation_comments = :comments, claimed_by = NULL, " +
+                   "lease_expires_at = NULL, updated_at = :now, version = c.version + 1 " +
+                   "WHERE c.id = :id AND c.status IN ('DRAFT', 'REJECTED') AND c.version = :version " +
+                   "RETURNING *",
+           nativeQuery = true)
+    Optional<AreaConcept> rejectOnSubmit(@Param("id") Long id,
+                                         @Param("version") long version,
+                                         @Param("validatedBy") String validatedBy,
+                                         @Param("comments") String comments,
+                                         @Param("now") LocalDateTime now);
+
+    /**
+     * Actualizar un concepto editable (DRAFT o REJECTED) en una sola sentencia
+     *
+     * El concepto queda en DRAFT y se limpia la validación previa. La unicidad
+     * del nombre en el área (incluidos los archivados) se verifica dentro de la
+     * misma sentencia.
+     */
+    @Query(value = "UPDATE area_concepts c SET specific_name = :#{#fields.specificName}, " +
+                   "unit_measure = :#{#fields.unitMeasure}, estimated_value = :#{#fields.estimatedValue}, " +
+                   "general_field = :#{#fields.general}, especifica_field = :#{#fields.especifica}, " +
+                   "presentacion_producto = :#{#fields.presentacionProducto}, " +
+                   "composicion_materiales = :#{#fields.composicionMateriales}, " +
+                   "descripcion_tecnica = :#{#fields.descripcionTecnica}, " +
+                   "componentes_servicio = :#{#fields.componentesServicio}, " +
+                   "accesorios_servicio = :#{#fields.accesoriosServicio}, " +
+                   "caracteristica_funcionalidad = :#{#fields.caracteristicaFuncionalidad}, " +
+                   "caracteristicas_fisicas = :#{#fields.caracteristicasFisicas}, " +
+                   "color = :#{#fields.color}, mayores_especificaciones = :#{#fields.mayoresEspecificaciones}, " +
+                   "status = 'DRAFT', validated_by = NULL, validated_at = NULL, validation_comments = NULL, " +
+                   "updated_by = :updatedBy, updated_at = :now, version = c.version + 1 " +
+                   "WHERE c.id = :id AND c.status IN ('DRAFT', 'REJECTED') " +
+                   "AND (:expectedVersion < 0 OR c.version = :expectedVersion) " +
+                   "AND NOT EXISTS (SELECT 1 FROM area_concepts o WHERE o.area = c.area " +
+                   "                AND o.specific_name = :#{#fields.specificName} AND o.id <> c.id) " +
+                   "AND NOT EXISTS (SELECT 1 FROM area_concepts_archive a WHERE a.area = c.area " +
+                   "                AND a.specific_name = :#{#fields.specificName} AND a.id <> c.id) " +
+                   "RETURNING *",
+           nativeQuery = true)
+    Optional<AreaConcept> updateEditableConcept(@Param("id") Long id,
+                                                @Param("fields") AreaConceptUpdateRequest fields,
+                                                @Param("updatedBy") String updatedBy,
+                                                @Param("now") LocalDateTime now,
+                                                @Param("expectedVersion") long expectedVersion);
+
+    /**
+     * Buscar conceptos por IDs en orden de envío
+     */
+    List<AreaConcept> findByIdInOrderBySubmittedAtAscIdAsc(Collection<Long> ids);
+
     /**
      * Obtener estadísticas por área
+     *
+     * Lee los contadores mantenidos por triggers (indexes.sql) en lugar de
+     * agrupar area_concepts; devuelve a lo más una fila por estado.
      */
-    @Query("SELECT c.status, COUNT(c) FROM AreaConcept c WHERE c.area = :area GROUP BY c.status")
+    @Query(value = "SELECT s.status, s.total FROM area_concept_status_counts s WHERE s.area = :area",
+           nativeQuery = true)
     List<Object[]> getStatusStatisticsByArea(@Param("area") String area);
 
+    /**
+     * Obtener contadores de estado de todas las áreas
+     */
+    @Query(value = "SELECT s.area, s.status, s.total FROM area_concept_status_counts s", nativeQuery = true)
+    List<Object[]> getStatusStatistics();
+
     /**
      * Buscar conceptos por validador técnico
      */
@@ -95,10 +351,26 @@ public interface AreaConceptRepository extends JpaRepository<AreaConcept, Long>
     List<AreaConcept> findActiveConceptsByArea(@Param("area") String area);
 
     /**
-     * Buscar conceptos por texto en nombre o descripción general
+     * Buscar conceptos por texto con ranking (texto completo + trigramas)
+     *
+     * Usa la columna generada search_vector y el índice de trigramas sobre
+     * specific_name definidos en indexes.sql. El tsQuery ya viene
+     * normalizado desde el servicio (términos unidos con '&', prefijo ':*').
      */
-    @Query("SELECT c FROM AreaConcept c WHERE c.area = :area AND " +
-           "(LOWER(c.specificName) LIKE LOWER(CONCAT('%', :searchText, '%')) OR " +
-           "LOWER(c.general) LIKE LOWER(CONCAT('%', :searchText, '%')))")
-    List<AreaConcept> searchConceptsByText(@Param("area") String area, @Param("searchText") String searchText);
+    @Query(value = "SELECT c.* FROM area_concepts c " +
+                   "WHERE c.area = :area AND (" +
+                   "  c.search_vector @@ to_tsquery('spanish', cubs_unaccent(:tsQuery)) OR " +
+                   "  cubs_unaccent(lower(c.specific_name)) % cubs_unaccent(lower(:searchText))) " +
+                   "ORDER BY ts_rank_cd(c.search_vector, to_tsquery('spanish', cubs_unaccent(:tsQuery))) + " +
+                   "         similarity(cubs_unaccent(lower(c.specific_name)), cubs_unaccent(lower(:searchText))) DESC, " +
+                   "         c.id ASC",
+           countQuery = "SELECT COUNT(*) FROM area_concepts c " +
+                        "WHERE c.area = :area AND (" +
+                        "  c.search_vector @@ to_tsquery('spanish', cubs_unaccent(:tsQuery)) OR " +
+                        "  cubs_unaccent(lower(c.specific_name)) % cubs_unaccent(lower(:searchText)))",
+           nativeQuery = true)
+    Page<AreaConcept> searchConceptsByText(@Param("area") String area,
+                                           @Param("searchText") String searchText,
+                                           @Param("tsQuery") String tsQuery,
+                                           Pageable pageable);
 }
\ No newline at end of file
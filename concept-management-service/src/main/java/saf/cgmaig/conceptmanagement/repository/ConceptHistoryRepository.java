@@ -0,0 +1,25 @@
+package saf.cgmaig.conceptmanagement.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+import saf.cgmaig.conceptmanagement.model.ConceptHistoryEntry;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Repositorio del historial de campos de template
+ */
+@Repository
+public interface ConceptHistoryRepository extends JpaRepository<ConceptHistoryEntry, Long> {
+
+    /**
+     * Historial completo de un concepto en orden de versión
+     */
+    List<ConceptHistoryEntry> findByConceptIdOrderByVersionAsc(Long conceptId);
+
+    /**
+     * Historial de varios conceptos (escritura por lotes)
+     */
+    List<ConceptHistoryEntry> findByConceptIdInOrderByConceptIdAscVersionAsc(Collection<Long> conceptIds);
+}
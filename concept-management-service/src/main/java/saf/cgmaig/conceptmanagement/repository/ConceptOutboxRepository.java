@@ -0,0 +1,84 @@
+package saf.cgmaig.conceptmanagement.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import saf.cgmaig.conceptmanagement.model.ConceptOutboxEvent;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Repositorio del outbox de eventos de conceptos
+ */
+@Repository
+public interface ConceptOutboxRepository extends JpaRepository<ConceptOutboxEvent, Long> {
+
+    /**
+     * Lock de asesoría de transacción: un solo relay reserva lotes a la vez,
+     * así dos instancias nunca toman el mismo evento
+     */
+    @Query(value = "SELECT pg_try_advisory_xact_lock(:key)", nativeQuery = true)
+    boolean tryRelayLock(@Param("key") long key);
+
+    /**
+     * Siguiente lote de eventos publicables en orden de inserción
+     *
+     * Omite los eventos en dead letter y los que esperan su backoff o están
+     * reservados por otro relay (next_attempt_at futuro). Un evento tampoco
+     * se toma mientras un evento anterior del mismo concepto siga esperando,
+     * para no romper el orden por concepto.
+     */
+    @Query(value = "SELECT e.* FROM concept_outbox e " +
+           "WHERE e.published_at IS NULL AND e.dead_lettered_at IS NULL " +
+           "AND (e.next_attempt_at IS NULL OR e.next_attempt_at <= :now) " +
+           "AND NOT EXISTS (SELECT 1 FROM concept_outbox p WHERE p.concept_id = e.concept_id AND p.id < e.id " +
+           "                AND p.published_at IS NULL AND p.dead_lettered_at IS NULL " +
+           "                AND p.next_attempt_at > :now) " +
+           "ORDER BY e.id LIMIT :limit", nativeQuery = true)
+    List<ConceptOutboxEvent> findPending(@Param("now") LocalDateTime now, @Param("limit") int limit);
+
+    /**
+     * Reservar eventos para el relay actual hasta leaseUntil; si el relay cae
+     * antes de marcarlos, vuelven a quedar disponibles al vencer la reserva
+     */
+    @Modifying
+    @Query("UPDATE ConceptOutboxEvent e SET e.nextAttemptAt = :leaseUntil WHERE e.id IN :ids")
+    int claim(@Param("ids") Collection<Long> ids, @Param("leaseUntil") LocalDateTime leaseUntil);
+
+    /**
+     * Marcar eventos como publicados
+     */
+    @Modifying
+    @Query("UPDATE ConceptOutboxEvent e SET e.publishedAt = :now, e.nextAttemptAt = NULL, e.lastError = NULL " +
+           "WHERE e.id IN :ids")
+    int markPublished(@Param("ids") Collection<Long> ids, @Param("now") LocalDateTime now);
+
+    /**
+     * Registrar un intento fallido con su siguiente intento o su paso a dead letter
+     */
+    @Modifying
+    @Query("UPDATE ConceptOutboxEvent e SET e.attempts = e.attempts + 1, e.lastError = :error, " +
+           "e.nextAttemptAt = :nextAttemptAt, e.deadLetteredAt = :deadLetteredAt WHERE e.id = :id")
+    int markFailed(@Param("id") Long id,
+                   @Param("error") String error,
+                   @Param("nextAttemptAt") LocalDateTime nextAttemptAt,
+                   @Param("deadLetteredAt") LocalDateTime deadLetteredAt);
+
+    /**
+     * Liberar la reserva de eventos que no se intentaron publicar
+     */
+    @Modifying
+    @Query("UPDATE ConceptOutboxEvent e SET e.nextAttemptAt = NULL WHERE e.id IN :ids")
+    int release(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Eliminar eventos publicados anteriores a la fecha de retención
+     */
+    @Modifying
+    @Query("DELETE FROM ConceptOutboxEvent e WHERE e.publishedAt < :cutoff")
+    int deletePublishedBefore(@Param("cutoff") LocalDateTime cutoff);
+}
@@ -0,0 +1,12 @@
+package saf.cgmaig.conceptmanagement.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+import saf.cgmaig.conceptmanagement.model.FeedCursor;
+
+/**
+ * Repositorio de cursores de feeds de cambios
+ */
+@Repository
+public interface FeedCursorRepository extends JpaRepository<FeedCursor, String> {
+}
@@ -0,0 +1,100 @@
+package saf.cgmaig.conceptmanagement.security;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.stereotype.Service;
+import saf.cgmaig.conceptmanagement.model.ConceptOwnership;
+
+import java.util.Optional;
+
+/**
+ * Reglas de autorización sobre conceptos específicos
+ *
+ * Usado desde @PreAuthorize como @areaConceptSecurityService. Las reglas
+ * dependen del área y creador del concepto, que se obtienen de la
+ * proyección compacta cacheada por request.
+ */
+@Service("areaConceptSecurityService")
+public class AreaConceptSecurityService {
+
+    private static final Logger logger = LoggerFactory.getLogger(AreaConceptSecurityService.class);
+
+    private final ConceptOwnershipLookup ownershipLookup;
+
+    @Autowired
+    public AreaConceptSecurityService(ConceptOwnershipLookup ownershipLookup) {
+        this.ownershipLookup = ownershipLookup;
+    }
+
+    /**
+     * Consultar: usuarios del área o validadores técnicos del área
+     */
+    public boolean canViewConcept(Long conceptId, Authentication authentication) {
+        return ownershipLookup.find(conceptId)
+                .map(concept -> hasRole(authentication, "USER_" + concept.area())
+                        || hasRole(authentication, "VALIDADOR_TECNICO_" + concept.area()))
+                .orElse(false);
+    }
+
+    /**
+     * Consultar el detalle: mismas reglas que canViewConcept, pero lee la fila
+     * completa, que el servicio reutiliza del cache del request
+     */
+    public boolean canViewConceptDetail(Long conceptId, Authentication authentication) {
+        return ownershipLookup.findConcept(conceptId)
+                .map(concept -> hasRole(authentication, "USER_" + concept.getArea())
+                        || hasRole(authentication, "VALIDADOR_TECNICO_" + concept.getArea()))
+                .orElse(false);
+    }
+
+    /**
+     * Editar: el usuario que lo creó o usuarios del área
+     */
+    public boolean canEditConcept(Long conceptId, Authentication authentication) {
+        return isOwnerOrAreaUser(ownershipLookup.find(conceptId), authentication);
+    }
+
+    /**
+     * Enviar a validación: el usuario que lo creó o usuarios del área
+     *
+     * Lee la fila completa, que el servicio reutiliza para armar la validación.
+     */
+    public boolean canSubmitConcept(Long conceptId, Authentication authentication) {
+        ownershipLookup.findConcept(conceptId);
+        return isOwnerOrAreaUser(ownershipLookup.find(conceptId), authentication);
+    }
+
+    /**
+     * Aprobar/rechazar: validadores técnicos del área del concepto
+     */
+    public boolean canValidateConcept(Long conceptId, Authentication authentication) {
+        boolean allowed = ownershipLookup.find(conceptId)
+                .map(concept -> hasRole(authentication, "VALIDADOR_TECNICO_" + concept.area()))
+                .orElse(false);
+        if (!allowed) {
+            logger.debug("Usuario {} sin permiso de validación sobre concepto ID: {}",
+                    authentication.getName(), conceptId);
+        }
+        return allowed;
+    }
+
+    private boolean isOwnerOrAreaUser(Optional<ConceptOwnership> ownership, Authentication authentication) {
+        return ownership
+                .map(concept -> authentication.getName().equals(concept.createdBy())
+                        || hasRole(authentication, "USER_" + concept.area()))
+                .orElse(false);
+    }
+
+    private boolean hasRole(Authentication authentication, String role) {
+        String authority = "ROLE_" + role.toUpperCase();
+        for (GrantedAuthority granted : authentication.getAuthorities()) {
+            if (authority.equals(granted.getAuthority())) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
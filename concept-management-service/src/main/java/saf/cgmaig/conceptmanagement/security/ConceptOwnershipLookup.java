@@ -0,0 +1,107 @@
+package saf.cgmaig.conceptmanagement.security;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import saf.cgmaig.conceptmanagement.model.AreaConcept;
+import saf.cgmaig.conceptmanagement.model.ConceptOwnership;
+import saf.cgmaig.conceptmanagement.repository.AreaConceptRepository;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Consulta de propiedad de conceptos con cache por request
+ *
+ * La verificación de @PreAuthorize y el método de servicio del mismo request
+ * comparten la fila (id, area, createdBy, status), de modo que cada endpoint
+ * protegido la lee una sola vez. Los endpoints cuyo servicio necesita el
+ * concepto completo (consulta y envío a validación) cachean la fila completa
+ * con findConcept y la proyección se deriva de ella. Fuera de un request HTTP
+ * consulta directo.
+ */
+@Component
+public class ConceptOwnershipLookup {
+
+    private static final String CACHE_ATTRIBUTE = ConceptOwnershipLookup.class.getName() + ".CACHE";
+    private static final String CONCEPT_CACHE_ATTRIBUTE = ConceptOwnershipLookup.class.getName() + ".CONCEPT_CACHE";
+
+    private final AreaConceptRepository areaConceptRepository;
+
+    @Autowired
+    public ConceptOwnershipLookup(AreaConceptRepository areaConceptRepository) {
+        this.areaConceptRepository = areaConceptRepository;
+    }
+
+    /**
+     * Obtener área, creador y estado de un concepto
+     */
+    public Optional<ConceptOwnership> find(Long conceptId) {
+        Map<Long, Optional<ConceptOwnership>> cache = requestCache(CACHE_ATTRIBUTE);
+        if (cache == null) {
+            return load(conceptId);
+        }
+        Map<Long, Optional<AreaConcept>> concepts = requestCache(CONCEPT_CACHE_ATTRIBUTE);
+        Optional<AreaConcept> concept = concepts.get(conceptId);
+        if (concept != null) {
+            return concept.map(ConceptOwnershipLookup::toOwnership);
+        }
+        return cache.computeIfAbsent(conceptId, this::load);
+    }
+
+    /**
+     * Obtener el concepto completo (desacoplado del contexto de persistencia)
+     */
+    public Optional<AreaConcept> findConcept(Long conceptId) {
+        Map<Long, Optional<AreaConcept>> cache = requestCache(CONCEPT_CACHE_ATTRIBUTE);
+        if (cache == null) {
+            return loadConcept(conceptId);
+        }
+        return cache.computeIfAbsent(conceptId, this::loadConcept);
+    }
+
+    /**
+     * Descartar la fila cacheada tras modificar el concepto en el request
+     */
+    public void evict(Long conceptId) {
+        Map<Long, Optional<ConceptOwnership>> cache = requestCache(CACHE_ATTRIBUTE);
+        if (cache != null) {
+            cache.remove(conceptId);
+            requestCache(CONCEPT_CACHE_ATTRIBUTE).remove(conceptId);
+        }
+    }
+
+    /**
+     * Tabla activa primero; los conceptos archivados conservan su área y creador
+     */
+    private Optional<ConceptOwnership> load(Long conceptId) {
+        return areaConceptRepository.findOwnershipById(conceptId)
+                .or(() -> areaConceptRepository.findArchivedById(conceptId)
+                        .map(ConceptOwnershipLookup::toOwnership));
+    }
+
+    private Optional<AreaConcept> loadConcept(Long conceptId) {
+        return areaConceptRepository.findById(conceptId)
+                .or(() -> areaConceptRepository.findArchivedById(conceptId));
+    }
+
+    private static ConceptOwnership toOwnership(AreaConcept concept) {
+        return new ConceptOwnership(concept.getId(), concept.getArea(), concept.getCreatedBy(), concept.getStatus());
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> Map<Long, Optional<T>> requestCache(String attribute) {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes == null) {
+            return null;
+        }
+        Object cache = attributes.getAttribute(attribute, RequestAttributes.SCOPE_REQUEST);
+        if (cache == null) {
+            cache = new HashMap<Long, Optional<T>>();
+            attributes.setAttribute(attribute, cache, RequestAttributes.SCOPE_REQUEST);
+        }
+        return (Map<Long, Optional<T>>) cache;
+    }
+}
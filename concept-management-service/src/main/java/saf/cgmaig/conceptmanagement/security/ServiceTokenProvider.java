@@ -0,0 +1,56 @@
+package saf.cgmaig.conceptmanagement.security;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.oauth2.client.AuthorizedClientServiceOAuth2AuthorizedClientManager;
+import org.springframework.security.oauth2.client.OAuth2AuthorizeRequest;
+import org.springframework.security.oauth2.client.OAuth2AuthorizedClient;
+import org.springframework.security.oauth2.client.OAuth2AuthorizedClientService;
+import org.springframework.security.oauth2.client.registration.ClientRegistrationRepository;
+import org.springframework.stereotype.Component;
+
+/**
+ * Token de servicio (client credentials) de concept-management
+ *
+ * Se usa en las llamadas Feign que no tienen un usuario detrás, como el
+ * consumo programado del feed de cambios. El token se conserva en el
+ * OAuth2AuthorizedClientService y se renueva solo al vencer.
+ */
+@Component
+public class ServiceTokenProvider {
+
+    private static final Logger logger = LoggerFactory.getLogger(ServiceTokenProvider.class);
+
+    private static final String PRINCIPAL = "concept-management-service";
+
+    private final AuthorizedClientServiceOAuth2AuthorizedClientManager clientManager;
+
+    @Value("${cubs.concept-management.service-client.registration-id:cubs-service}")
+    private String registrationId;
+
+    @Autowired
+    public ServiceTokenProvider(ObjectProvider<ClientRegistrationRepository> clientRegistrations,
+                                ObjectProvider<OAuth2AuthorizedClientService> authorizedClients) {
+        ClientRegistrationRepository registrations = clientRegistrations.getIfAvailable();
+        OAuth2AuthorizedClientService clientService = authorizedClients.getIfAvailable();
+        this.clientManager = registrations != null && clientService != null
+                ? new AuthorizedClientServiceOAuth2AuthorizedClientManager(registrations, clientService)
+                : null;
+    }
+
+    /**
+     * Obtener el token de acceso del servicio (null si no hay cliente configurado)
+     */
+    public String getAccessToken() {
+        if (clientManager == null) {
+            logger.warn("No hay cliente OAuth2 configurado; la llamada se envía sin token de servicio");
+            return null;
+        }
+        OAuth2AuthorizedClient client = clientManager.authorize(
+                OAuth2AuthorizeRequest.withClientRegistrationId(registrationId).principal(PRINCIPAL).build());
+        return client != null ? client.getAccessToken().getTokenValue() : null;
+    }
+}
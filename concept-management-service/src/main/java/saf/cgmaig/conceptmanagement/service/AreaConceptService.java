@@ -1,8 +1,14 @@
 package saf.cgmaig.conceptmanagement.service;
 
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
@@ -14,12 +20,23 @@ import saf.cgmaig.conceptmanagement.client.dto.TemplateStructure;
 import saf.cgmaig.conceptmanagement.client.dto.ValidationRequest;
 import saf.cgmaig.conceptmanagement.client.dto.ValidationResult;
 import saf.cgmaig.conceptmanagement.model.AreaConcept;
+import saf.cgmaig.conceptmanagement.model.ConceptOwnership;
 import saf.cgmaig.conceptmanagement.model.ConceptStatus;
 import saf.cgmaig.conceptmanagement.repository.AreaConceptRepository;
+import saf.cgmaig.conceptmanagement.security.ConceptOwnershipLookup;
 
+import java.io.IOException;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 /**
  * Servicio de negocio para gestión de conceptos específicos por áreas
@@ -32,17 +49,43 @@ public class AreaConceptService {
 
     private static final Logger logger = LoggerFactory.getLogger(AreaConceptService.class);
 
+    /**
+     * Valor para omitir la verificación de versión en sentencias condicionales
+     */
+    private static final long ANY_VERSION = -1L;
+
     private final AreaConceptRepository areaConceptRepository;
     private final TechnicalConceptClient technicalConceptClient;
     private final ValidationServiceClient validationServiceClient;
+    private final ConceptOwnershipLookup ownershipLookup;
+    private final TemplateStructureCache templateStructureCache;
+    private final ConceptHistoryWriter historyWriter;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+
+    @Value("${cubs.concept-management.bulk-review.max-items:500}")
+    private int maxBulkReviewItems;
+
+    @Value("${cubs.concept-management.work-queue.max-claim-size:50}")
+    private int maxPendingPerArea;
 
     @Autowired
     public AreaConceptService(AreaConceptRepository areaConceptRepository,
                              TechnicalConceptClient technicalConceptClient,
-                             ValidationServiceClient validationServiceClient) {
+                             ValidationServiceClient validationServiceClient,
+                             ConceptOwnershipLookup ownershipLookup,
+                             TemplateStructureCache templateStructureCache,
+                             ConceptHistoryWriter historyWriter,
+                             ObjectMapper objectMapper,
+                             Validator validator) {
         this.areaConceptRepository = areaConceptRepository;
         this.technicalConceptClient = technicalConceptClient;
         this.validationServiceClient = validationServiceClient;
+        this.ownershipLookup = ownershipLookup;
+        this.templateStructureCache = templateStructureCache;
+        this.historyWriter = historyWriter;
+        this.objectMapper = objectMapper;
+        this.validator = validator;
     }
 
     /**
@@ -68,7 +111,7 @@ public class AreaConceptService {
         logger.debug("Obteniendo template para capítulo: {}", chapterKey);
         
         try {
-            TemplateStructure template = validationServiceClient.getTemplateStructure(chapterKey);
+            TemplateStructure template = templateStructureCache.get(chapterKey);
             logger.debug("Template obtenido: {} con {} campos", template.getName(), template.getRequiredFieldsCount());
             return template;
         } catch (Exception e) {
@@ -114,113 +157,164 @@ public class AreaConceptService {
 
         AreaConcept savedConcept = areaConceptRepository.save(areaConcept);
         logger.info("Concepto específico creado con ID: {}", savedConcept.getId());
+        historyWriter.record(savedConcept, createdBy);
 
         return savedConcept;
     }
 
     /**
      * Actualizar concepto específico (solo en estado DRAFT o REJECTED)
+     *
+     * La actualización es una sola sentencia condicionada al estado editable,
+     * a la unicidad del nombre y, si se indica, a la versión esperada.
+     *
+     * @param expectedVersion versión conocida por el cliente o null para omitir la verificación
      */
     @Transactional
-    public AreaConcept updateAreaConcept(Long conceptId, AreaConceptUpdateRequest request, String updatedBy) {
+    public AreaConcept updateAreaConcept(Long conceptId, AreaConceptUpdateRequest request, String updatedBy,
+                                         Long expectedVersion) {
         logger.info("Actualizando concepto específico ID: {} por usuario: {}", conceptId, updatedBy);
 
-        AreaConcept existingConcept = areaConceptRepository.findById(conceptId)
-                .orElseThrow(() -> new ServiceException("Concepto no encontrado"));
+        AreaConcept updatedConcept = areaConceptRepository.updateEditableConcept(
+                        conceptId, request, updatedBy, LocalDateTime.now(), versionOrAny(expectedVersion))
+                .orElseThrow(() -> explainFailedUpdate(conceptId, request, expectedVersion));
+
+        ownershipLookup.evict(conceptId);
+        historyWriter.record(updatedConcept, updatedBy);
+        logger.info("Concepto específico actualizado: {}", updatedConcept.getId());
+        return updatedConcept;
+    }
+
+    /**
+     * Actualización parcial de concepto específico (JSON Merge Patch, RFC 7396)
+     *
+     * Solo cambian las propiedades presentes en el patch (null borra el valor).
+     * Con @DynamicUpdate el UPDATE incluye únicamente las columnas modificadas,
+     * y un patch sin cambios efectivos no escribe la fila. Si hay cambios, el
+     * concepto vuelve a DRAFT y se limpia la validación previa, igual que en PUT.
+     *
+     * @param expectedVersion versión conocida por el cliente o null para omitir la verificación
+     */
+    @Transactional
+    public AreaConcept patchAreaConcept(Long conceptId, JsonNode patch, String updatedBy, Long expectedVersion) {
+        logger.debug("Aplicando patch a concepto específico ID: {} por usuario: {}", conceptId, updatedBy);
 
-        if (!existingConcept.getStatus().isEditable()) {
-            throw new ServiceException("El concepto no puede ser editado en su estado actual: " + 
-                                     existingConcept.getStatus().getDisplayName());
+        if (patch == null || !patch.isObject()) {
+            throw new ServiceException("El patch debe ser un objeto JSON");
         }
 
-        // Verificar unicidad si cambió el nombre
-        if (!existingConcept.getSpecificName().equals(request.getSpecificName())) {
-            if (areaConceptRepository.existsBySpecificNameAndAreaExcludingId(
-                    request.getSpecificName(), existingConcept.getArea(), conceptId)) {
-                throw new ServiceException("Ya existe un concepto con ese nombre en el área");
-            }
+        AreaConcept concept = areaConceptRepository.findById(conceptId)
+                .orElseThrow(() -> ownershipLookup.find(conceptId).isPresent()
+                        ? archivedConflict() : new ServiceException("Concepto no encontrado"));
+        if (!concept.getStatus().isEditable()) {
+            throw new ConflictException("El concepto no puede ser editado en su estado actual: " +
+                                        concept.getStatus().getDisplayName());
+        }
+        if (expectedVersion != null && !expectedVersion.equals(concept.getVersion())) {
+            throw versionConflict(concept, expectedVersion);
         }
 
-        // Actualizar campos
-        existingConcept.setSpecificName(request.getSpecificName());
-        existingConcept.setUnitMeasure(request.getUnitMeasure());
-        existingConcept.setEstimatedValue(request.getEstimatedValue());
-        existingConcept.setUpdatedBy(updatedBy);
+        AreaConceptUpdateRequest current = AreaConceptUpdateRequest.from(concept);
+        AreaConceptUpdateRequest merged = AreaConceptUpdateRequest.from(concept);
+        try {
+            objectMapper.readerForUpdating(merged)
+                    .with(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+                    .readValue(patch);
+        } catch (IOException e) {
+            throw new ServiceException("Patch inválido: " + e.getMessage());
+        }
 
-        // Actualizar campos específicos del template
-        setTemplateFields(existingConcept, request);
+        Set<ConstraintViolation<AreaConceptUpdateRequest>> violations = validator.validate(merged);
+        if (!violations.isEmpty()) {
+            throw new ServiceException(violations.stream()
+                    .map(ConstraintViolation::getMessage)
+                    .collect(Collectors.joining("; ")));
+        }
 
-        // Si había sido rechazado, volver a DRAFT
-        if (existingConcept.getStatus() == ConceptStatus.REJECTED) {
-            existingConcept.setStatus(ConceptStatus.DRAFT);
-            existingConcept.setValidatedBy(null);
-            existingConcept.setValidatedAt(null);
-            existingConcept.setValidationComments(null);
+        if (merged.hasSameValuesAs(current)) {
+            logger.debug("Patch sin cambios efectivos para concepto ID: {}", conceptId);
+            return concept;
         }
 
-        AreaConcept updatedConcept = areaConceptRepository.save(existingConcept);
-        logger.info("Concepto específico actualizado: {}", updatedConcept.getId());
+        if (!merged.getSpecificName().equals(concept.getSpecificName()) &&
+            areaConceptRepository.existsBySpecificNameAndAreaExcludingId(
+                    merged.getSpecificName(), concept.getArea(), conceptId)) {
+            throw new ServiceException("Ya existe un concepto con ese nombre en el área");
+        }
 
-        return updatedConcept;
+        // Hibernate solo marca sucias las propiedades cuyo valor realmente cambió
+        concept.setSpecificName(merged.getSpecificName());
+        concept.setUnitMeasure(merged.getUnitMeasure());
+        concept.setEstimatedValue(merged.getEstimatedValue());
+        setTemplateFields(concept, merged);
+        concept.returnToDraft();
+        concept.setUpdatedBy(updatedBy);
+
+        AreaConcept patchedConcept = areaConceptRepository.saveAndFlush(concept);
+        ownershipLookup.evict(conceptId);
+        historyWriter.record(patchedConcept, updatedBy);
+        return patchedConcept;
     }
 
     /**
      * Enviar concepto para validación
+     *
+     * Usa la fila completa leída por la verificación de autorización del
+     * request (una sola lectura) y registra el resultado con una sentencia
+     * condicionada a la versión leída.
      */
     @Transactional
     public AreaConcept submitForValidation(Long conceptId, String authorizationHeader) {
         logger.info("Enviando concepto ID: {} para validación", conceptId);
 
-        AreaConcept concept = areaConceptRepository.findById(conceptId)
+        AreaConcept concept = ownershipLookup.findConcept(conceptId)
                 .orElseThrow(() -> new ServiceException("Concepto no encontrado"));
-
+        ownershipLookup.evict(conceptId);
         if (!concept.getStatus().canBeSubmitted()) {
             throw new ServiceException("El concepto no puede ser enviado para validación en su estado actual");
         }
+        if (!areaConceptRepository.existsById(conceptId)) {
+            throw archivedConflict();
+        }
 
         // Crear request de validación
         ValidationRequest validationRequest = createValidationRequest(concept);
 
+        ValidationResult validationResult;
         try {
             // Validar concepto
-            ValidationResult validationResult = validationServiceClient.validateConcept(
-                    validationRequest, authorizationHeader);
-
-            if (validationResult.hasErrors()) {
-                // Si hay errores de validación, rechazar automáticamente
-                concept.reject("SYSTEM_VALIDATION", 
-                              "Errores de validación: " + validationResult.getErrors().toString());
-                logger.warn("Concepto ID: {} rechazado automáticamente por errores de validación", conceptId);
-            } else {
-                // Enviar para revisión manual
-                concept.submitForValidation();
-                logger.info("Concepto ID: {} enviado exitosamente para validación", conceptId);
-            }
-
+            validationResult = validationServiceClient.validateConcept(validationRequest, authorizationHeader);
         } catch (Exception e) {
             logger.error("Error durante validación de concepto ID: {}", conceptId, e);
             throw new ServiceException("Error durante validación: " + e.getMessage());
         }
 
-        return areaConceptRepository.save(concept);
+        Optional<AreaConcept> result;
+        if (validationResult.hasErrors()) {
+            // Si hay errores de validación, rechazar automáticamente
+            result = areaConceptRepository.rejectOnSubmit(conceptId, concept.getVersion(), "SYSTEM_VALIDATION",
+                    "Errores de validación: " + validationResult.getErrors().toString(), LocalDateTime.now());
+            logger.warn("Concepto ID: {} rechazado automáticamente por errores de validación", conceptId);
+        } else {
+            // Enviar para revisión manual
+            result = areaConceptRepository.markSubmitted(conceptId, concept.getVersion(), LocalDateTime.now());
+            logger.info("Concepto ID: {} enviado exitosamente para validación", conceptId);
+        }
+        return result.orElseThrow(() -> new ConflictException(
+                "El concepto fue modificado o archivado mientras se validaba (versión leída: " + concept.getVersion() + ")"));
     }
 
     /**
      * Aprobar concepto (solo validadores técnicos)
+     *
+     * @param expectedVersion versión conocida por el cliente o null para omitir la verificación
      */
     @Transactional
-    public AreaConcept approveConcept(Long conceptId, String validatedBy, String comments) {
+    public AreaConcept approveConcept(Long conceptId, String validatedBy, String comments, Long expectedVersion) {
         logger.info("Aprobando concepto ID: {} por validador: {}", conceptId, validatedBy);
 
-        AreaConcept concept = areaConceptRepository.findById(conceptId)
-                .orElseThrow(() -> new ServiceException("Concepto no encontrado"));
-
-        if (concept.getStatus() != ConceptStatus.SUBMITTED && concept.getStatus() != ConceptStatus.IN_REVIEW) {
-            throw new ServiceException("El concepto no está en estado de validación");
-        }
-
-        concept.approve(validatedBy, comments);
-        AreaConcept approvedConcept = areaConceptRepository.save(concept);
+        AreaConcept approvedConcept = completeReview(conceptId, ConceptStatus.APPROVED, validatedBy, comments,
+                expectedVersion);
 
         logger.info("Concepto ID: {} aprobado exitosamente", conceptId);
         return approvedConcept;
@@ -228,23 +322,171 @@ public class AreaConceptService {
 
     /**
      * Rechazar concepto (solo validadores técnicos)
+     *
+     * @param expectedVersion versión conocida por el cliente o null para omitir la verificación
      */
     @Transactional
-    public AreaConcept rejectConcept(Long conceptId, String validatedBy, String comments) {
+    public AreaConcept rejectConcept(Long conceptId, String validatedBy, String comments, Long expectedVersion) {
         logger.info("Rechazando concepto ID: {} por validador: {}", conceptId, validatedBy);
 
-        AreaConcept concept = areaConceptRepository.findById(conceptId)
-                .orElseThrow(() -> new ServiceException("Concepto no encontrado"));
+        AreaConcept rejectedConcept = completeReview(conceptId, ConceptStatus.REJECTED, validatedBy, comments,
+                expectedVersion);
+
+        logger.info("Concepto ID: {} rechazado", conceptId);
+        return rejectedConcept;
+    }
+
+    /**
+     * Aprobar o rechazar varios conceptos en un solo lote
+     *
+     * La autorización de todo el lote se resuelve con una sola consulta
+     * (área y estado por ID) y la transición con un solo UPDATE. Los conceptos
+     * que no cumplen se reportan individualmente sin afectar al resto.
+     *
+     * @param validatorAreas áreas en las que el usuario es validador técnico
+     */
+    @Transactional
+    public BulkReviewResponse reviewConcepts(BulkReviewRequest request, ConceptStatus targetStatus,
+                                             String validatedBy, Set<String> validatorAreas) {
+        if (request.getConceptIds().size() > maxBulkReviewItems) {
+            throw new ServiceException("El lote excede el máximo de " + maxBulkReviewItems + " conceptos");
+        }
+        logger.info("Revisión masiva ({}) de {} conceptos por validador: {}",
+                targetStatus, request.getConceptIds().size(), validatedBy);
+
+        Set<Long> conceptIds = new LinkedHashSet<>(request.getConceptIds());
+        Map<Long, Object[]> states = new HashMap<>();
+        for (Object[] row : areaConceptRepository.findReviewStateByIds(conceptIds)) {
+            states.put((Long) row[0], row);
+        }
+
+        BulkReviewResponse response = new BulkReviewResponse();
+        List<Long> eligibleIds = new ArrayList<>();
+        List<String> eligibleComments = new ArrayList<>();
+        for (Long conceptId : conceptIds) {
+            Object[] state = states.get(conceptId);
+            String comments = request.commentsFor(conceptId);
+            if (state == null) {
+                response.add(conceptId, BulkReviewResponse.Outcome.NOT_FOUND, "Concepto no encontrado");
+            } else if (!validatorAreas.contains((String) state[1])) {
+                response.add(conceptId, BulkReviewResponse.Outcome.FORBIDDEN,
+                        "Sin permisos de validación en el área " + state[1]);
+            } else if (targetStatus == ConceptStatus.REJECTED && (comments == null || comments.isBlank())) {
+                response.add(conceptId, BulkReviewResponse.Outcome.INVALID,
+                        "Los comentarios son obligatorios para rechazar");
+            } else {
+                eligibleIds.add(conceptId);
+                eligibleComments.add(comments != null ? comments : "");
+            }
+        }
+
+        Set<Long> updatedIds = eligibleIds.isEmpty() ? Set.of() : new HashSet<>(
+                areaConceptRepository.completeReviews(eligibleIds.toArray(new Long[0]),
+                        eligibleComments.toArray(new String[0]), targetStatus.name(), validatedBy,
+                        LocalDateTime.now()));
 
+        BulkReviewResponse.Outcome success = targetStatus == ConceptStatus.APPROVED
+                ? BulkReviewResponse.Outcome.APPROVED : BulkReviewResponse.Outcome.REJECTED;
+        for (Long conceptId : eligibleIds) {
+            if (updatedIds.contains(conceptId)) {
+                response.add(conceptId, success, null);
+            } else {
+                ConceptStatus status = (ConceptStatus) states.get(conceptId)[2];
+                String message = status == ConceptStatus.SUBMITTED || status == ConceptStatus.IN_REVIEW
+                        ? "El concepto está reservado por otro validador"
+                        : "El concepto no está en estado de validación";
+                response.add(conceptId, BulkReviewResponse.Outcome.CONFLICT, message);
+            }
+        }
+
+        logger.info("Revisión masiva completada: {} exitosos, {} con error",
+                response.getSucceeded(), response.getFailed());
+        return response;
+    }
+
+    /**
+     * Aplicar la resolución de revisión en una sola sentencia condicional
+     */
+    private AreaConcept completeReview(Long conceptId, ConceptStatus targetStatus, String validatedBy,
+                                       String comments, Long expectedVersion) {
+        AreaConcept concept = areaConceptRepository.completeReview(conceptId, targetStatus.name(), validatedBy,
+                        comments, LocalDateTime.now(), versionOrAny(expectedVersion))
+                .orElseThrow(() -> explainFailedReview(conceptId, validatedBy, expectedVersion));
+        ownershipLookup.evict(conceptId);
+        return concept;
+    }
+
+    /**
+     * Determinar por qué una resolución de revisión no actualizó ninguna fila
+     *
+     * Solo se ejecuta en el camino de error; el camino feliz es una sola sentencia.
+     */
+    private ServiceException explainFailedReview(Long conceptId, String validatedBy, Long expectedVersion) {
+        AreaConcept concept = areaConceptRepository.findById(conceptId).orElse(null);
+        if (concept == null) {
+            return new ServiceException("Concepto no encontrado");
+        }
         if (concept.getStatus() != ConceptStatus.SUBMITTED && concept.getStatus() != ConceptStatus.IN_REVIEW) {
-            throw new ServiceException("El concepto no está en estado de validación");
+            return new ConflictException("El concepto no está en estado de validación");
+        }
+        if (concept.isClaimedByOther(validatedBy, LocalDateTime.now())) {
+            return new ConflictException("El concepto está reservado por otro validador");
         }
+        return versionConflict(concept, expectedVersion);
+    }
+
+    /**
+     * Determinar por qué una actualización no modificó ninguna fila
+     */
+    private ServiceException explainFailedUpdate(Long conceptId, AreaConceptUpdateRequest request,
+                                                 Long expectedVersion) {
+        // La fila cacheada por la autorización puede estar desactualizada: se vuelve a leer
+        ownershipLookup.evict(conceptId);
+        ConceptOwnership concept = ownershipLookup.find(conceptId).orElse(null);
+        if (concept == null) {
+            return new ServiceException("Concepto no encontrado");
+        }
+        if (!concept.status().isEditable()) {
+            return new ConflictException("El concepto no puede ser editado en su estado actual: " +
+                                         concept.status().getDisplayName());
+        }
+        if (!areaConceptRepository.existsById(conceptId)) {
+            return archivedConflict();
+        }
+        if (areaConceptRepository.existsBySpecificNameAndAreaExcludingId(
+                request.getSpecificName(), concept.area(), conceptId)) {
+            return new ServiceException("Ya existe un concepto con ese nombre en el área");
+        }
+        if (expectedVersion == null) {
+            // Sin verificación de versión: las condiciones cambiaron entre la sentencia y el diagnóstico
+            return new ConflictException("El concepto cambió durante la actualización; reintente la operación");
+        }
+        return new ConflictException("El concepto fue modificado por otro usuario (versión esperada: " +
+                                     expectedVersion + ")");
+    }
 
-        concept.reject(validatedBy, comments);
-        AreaConcept rejectedConcept = areaConceptRepository.save(concept);
+    // Rechazados archivados antes de limitar el archivo a los aprobados: solo lectura
+    private ConflictException archivedConflict() {
+        return new ConflictException("El concepto está archivado y ya no puede modificarse");
+    }
 
-        logger.info("Concepto ID: {} rechazado", conceptId);
-        return rejectedConcept;
+    private ConflictException versionConflict(AreaConcept concept, Long expectedVersion) {
+        return new ConflictException("El concepto fue modificado por otro usuario (versión esperada: " +
+                                     expectedVersion + ", actual: " + concept.getVersion() + ")");
+    }
+
+    private long versionOrAny(Long expectedVersion) {
+        return expectedVersion != null ? expectedVersion : ANY_VERSION;
+    }
+
+    /**
+     * Obtener concepto específico por ID
+     * Si ya no está en la tabla activa se busca en el archivo de conceptos cerrados
+     */
+    public AreaConcept getAreaConcept(Long conceptId) {
+        // Fila ya leída por la verificación de autorización del request
+        return ownershipLookup.findConcept(conceptId)
+                .orElseThrow(() -> new ServiceException("Concepto no encontrado"));
     }
 
     /**
@@ -269,10 +511,56 @@ public class AreaConceptService {
     }
 
     /**
-     * Buscar conceptos por texto
+     * Obtener conceptos pendientes de validación de varias áreas en una sola consulta
+     *
+     * @param limit máximo por área; se acota a [1, max-claim-size] como en la cola de trabajo
+     */
+    public List<AreaConcept> getPendingValidationByAreas(Collection<String> areas, int limit) {
+        if (areas.isEmpty()) {
+            return List.of();
+        }
+        int perAreaLimit = Math.max(1, Math.min(limit, maxPendingPerArea));
+        return areaConceptRepository.findPendingValidationByAreas(areas.toArray(new String[0]), perAreaLimit);
+    }
+
+    /**
+     * Buscar conceptos por texto con ranking y paginación
+     *
+     * @param prefix si es true el último término se busca como prefijo (typeahead)
      */
-    public List<AreaConcept> searchConcepts(String area, String searchText) {
-        return areaConceptRepository.searchConceptsByText(area, searchText);
+    public Page<AreaConcept> searchConcepts(String area, String searchText, boolean prefix, Pageable pageable) {
+        String tsQuery = buildTsQuery(searchText, prefix);
+        if (tsQuery.isEmpty()) {
+            return Page.empty(pageable);
+        }
+        return areaConceptRepository.searchConceptsByText(area, searchText.trim(), tsQuery, pageable);
+    }
+
+    /**
+     * Construir expresión tsquery a partir del texto libre del usuario
+     *
+     * Solo conserva letras y dígitos de cada término para que la entrada
+     * nunca produzca una sintaxis tsquery inválida.
+     */
+    private String buildTsQuery(String searchText, boolean prefix) {
+        if (searchText == null) {
+            return "";
+        }
+        List<String> terms = new ArrayList<>();
+        for (String term : searchText.trim().split("\\s+")) {
+            String cleaned = term.replaceAll("[^\\p{L}\\p{N}]", "");
+            if (!cleaned.isEmpty()) {
+                terms.add(cleaned);
+            }
+        }
+        if (terms.isEmpty()) {
+            return "";
+        }
+        if (prefix) {
+            int last = terms.size() - 1;
+            terms.set(last, terms.get(last) + ":*");
+        }
+        return String.join(" & ", terms);
     }
 
     /**
@@ -348,4 +636,13 @@ public class AreaConceptService {
             super(message);
         }
     }
+
+    /**
+     * Excepción para conflictos de estado o de versión concurrente
+     */
+    public static class ConflictException extends ServiceException {
+        public ConflictException(String message) {
+            super(message);
+        }
+    }
 }
\ No newline at end of file
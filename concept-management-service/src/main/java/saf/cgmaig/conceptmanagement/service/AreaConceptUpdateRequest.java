@@ -3,8 +3,10 @@ package saf.cgmaig.conceptmanagement.service;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
 import jakarta.validation.constraints.DecimalMin;
+import saf.cgmaig.conceptmanagement.model.AreaConcept;
 
 import java.math.BigDecimal;
+import java.util.Objects;
 
 /**
  * Request para actualización de conceptos específicos por áreas
@@ -41,6 +43,28 @@ public class AreaConceptUpdateRequest implements AreaConceptService.TemplateFiel
     // Constructor por defecto
     public AreaConceptUpdateRequest() {}
 
+    /**
+     * Crea el request con los valores actuales del concepto (base para aplicar un patch)
+     */
+    public static AreaConceptUpdateRequest from(AreaConcept concept) {
+        AreaConceptUpdateRequest request = new AreaConceptUpdateRequest();
+        request.setSpecificName(concept.getSpecificName());
+        request.setUnitMeasure(concept.getUnitMeasure());
+        request.setEstimatedValue(concept.getEstimatedValue());
+        request.setGeneral(concept.getGeneral());
+        request.setEspecifica(concept.getEspecifica());
+        request.setPresentacionProducto(concept.getPresentacionProducto());
+        request.setComposicionMateriales(concept.getComposicionMateriales());
+        request.setDescripcionTecnica(concept.getDescripcionTecnica());
+        request.setComponentesServicio(concept.getComponentesServicio());
+        request.setAccesoriosServicio(concept.getAccesoriosServicio());
+        request.setCaracteristicaFuncionalidad(concept.getCaracteristicaFuncionalidad());
+        request.setCaracteristicasFisicas(concept.getCaracteristicasFisicas());
+        request.setColor(concept.getColor());
+        request.setMayoresEspecificaciones(concept.getMayoresEspecificaciones());
+        return request;
+    }
+
     // Getters y Setters
     public String getSpecificName() {
         return specificName;
@@ -166,6 +190,29 @@ public class AreaConceptUpdateRequest implements AreaConceptService.TemplateFiel
         this.mayoresEspecificaciones = mayoresEspecificaciones;
     }
 
+    /**
+     * Indica si ambos requests tienen los mismos valores (el importe se compara sin escala)
+     */
+    public boolean hasSameValuesAs(AreaConceptUpdateRequest other) {
+        boolean sameEstimatedValue = estimatedValue == null || other.estimatedValue == null
+                ? estimatedValue == other.estimatedValue
+                : estimatedValue.compareTo(other.estimatedValue) == 0;
+        return sameEstimatedValue
+                && Objects.equals(specificName, other.specificName)
+                && Objects.equals(unitMeasure, other.unitMeasure)
+                && Objects.equals(general, other.general)
+                && Objects.equals(especifica, other.especifica)
+                && Objects.equals(presentacionProducto, other.presentacionProducto)
+                && Objects.equals(composicionMateriales, other.composicionMateriales)
+                && Objects.equals(descripcionTecnica, other.descripcionTecnica)
+                && Objects.equals(componentesServicio, other.componentesServicio)
+                && Objects.equals(accesoriosServicio, other.accesoriosServicio)
+                && Objects.equals(caracteristicaFuncionalidad, other.caracteristicaFuncionalidad)
+                && Objects.equals(caracteristicasFisicas, other.caracteristicasFisicas)
+                && Objects.equals(color, other.color)
+                && Objects.equals(mayoresEspecificaciones, other.mayoresEspecificaciones);
+    }
+
     @Override
     public String toString() {
         return "AreaConceptUpdateRequest{" +
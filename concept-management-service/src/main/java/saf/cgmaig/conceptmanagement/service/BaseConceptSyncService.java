@@ -0,0 +1,122 @@
+package saf.cgmaig.conceptmanagement.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import saf.cgmaig.conceptmanagement.client.TechnicalConceptClient;
+import saf.cgmaig.conceptmanagement.client.TechnicalConceptClient.ConceptChange;
+import saf.cgmaig.conceptmanagement.client.TechnicalConceptClient.ConceptChangePage;
+import saf.cgmaig.conceptmanagement.model.FeedCursor;
+import saf.cgmaig.conceptmanagement.repository.AreaConceptRepository;
+import saf.cgmaig.conceptmanagement.repository.FeedCursorRepository;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Sincronización del nombre cacheado de conceptos base (baseConceptName)
+ *
+ * Consume el feed de cambios de technical-concept-service y propaga cada
+ * nombre con UPDATE por bloques, sin cargar entidades. El cursor se
+ * persiste después de aplicar cada página; reprocesar una página es
+ * seguro porque la actualización es idempotente.
+ */
+@Service
+public class BaseConceptSyncService {
+
+    private static final Logger logger = LoggerFactory.getLogger(BaseConceptSyncService.class);
+
+    private static final String FEED_NAME = "technical-concepts";
+
+    private final TechnicalConceptClient technicalConceptClient;
+    private final AreaConceptRepository areaConceptRepository;
+    private final FeedCursorRepository feedCursorRepository;
+
+    @Value("${cubs.concept-management.base-concept-sync.enabled:false}")
+    private boolean enabled;
+
+    @Value("${cubs.concept-management.base-concept-sync.page-size:200}")
+    private int pageSize;
+
+    @Value("${cubs.concept-management.base-concept-sync.chunk-size:500}")
+    private int chunkSize;
+
+    @Value("${cubs.concept-management.base-concept-sync.pause-between-chunks-ms:50}")
+    private long pauseBetweenChunksMs;
+
+    @Autowired
+    public BaseConceptSyncService(TechnicalConceptClient technicalConceptClient,
+                                  AreaConceptRepository areaConceptRepository,
+                                  FeedCursorRepository feedCursorRepository) {
+        this.technicalConceptClient = technicalConceptClient;
+        this.areaConceptRepository = areaConceptRepository;
+        this.feedCursorRepository = feedCursorRepository;
+    }
+
+    /**
+     * Consumir el feed hasta alcanzar el final
+     */
+    @Scheduled(fixedDelayString = "${cubs.concept-management.base-concept-sync.poll-interval-ms:60000}")
+    public void syncBaseConceptNames() {
+        if (!enabled) {
+            return;
+        }
+
+        FeedCursor cursor = feedCursorRepository.findById(FEED_NAME).orElseGet(() -> new FeedCursor(FEED_NAME));
+        try {
+            ConceptChangePage page;
+            do {
+                page = technicalConceptClient.getConceptChanges(cursor.getCursorValue(), pageSize);
+                applyRenames(page);
+                if (page.nextCursor() != null) {
+                    cursor.advance(page.nextCursor());
+                    cursor = feedCursorRepository.save(cursor);
+                }
+            } while (page.hasMore() && !Thread.currentThread().isInterrupted());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            logger.warn("No se pudo consumir el feed de conceptos técnicos: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Aplicar el último nombre de cada concepto base de la página
+     */
+    private void applyRenames(ConceptChangePage page) throws InterruptedException {
+        // Un concepto puede aparecer varias veces; solo importa su nombre más reciente
+        Map<Long, String> latestNames = new LinkedHashMap<>();
+        for (ConceptChange change : page.changes()) {
+            if (change.id() != null && change.name() != null) {
+                latestNames.put(change.id(), change.name());
+            }
+        }
+
+        for (Map.Entry<Long, String> entry : latestNames.entrySet()) {
+            int renamed = renameBaseConcept(entry.getKey(), entry.getValue());
+            if (renamed > 0) {
+                logger.info("Nombre de concepto base {} propagado a {} conceptos de área",
+                        entry.getKey(), renamed);
+            }
+        }
+    }
+
+    /**
+     * Propagar un nombre en bloques, con pausa entre bloques
+     */
+    private int renameBaseConcept(Long baseConceptId, String name) throws InterruptedException {
+        int total = 0;
+        int updated;
+        do {
+            updated = areaConceptRepository.renameBaseConceptChunk(baseConceptId, name, chunkSize);
+            total += updated;
+            if (updated == chunkSize && pauseBetweenChunksMs > 0) {
+                Thread.sleep(pauseBetweenChunksMs);
+            }
+        } while (updated == chunkSize);
+        return total;
+    }
+}
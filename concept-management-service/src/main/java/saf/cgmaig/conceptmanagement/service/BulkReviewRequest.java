@@ -0,0 +1,68 @@
+package saf.cgmaig.conceptmanagement.service;
+
+import jakarta.validation.constraints.NotEmpty;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Request para aprobación o rechazo masivo de conceptos
+ *
+ * Los comentarios compartidos aplican a todos los conceptos; los
+ * comentarios por concepto (itemComments) tienen prioridad.
+ */
+public class BulkReviewRequest {
+
+    @NotEmpty(message = "Debe indicar al menos un concepto")
+    private List<Long> conceptIds;
+
+    private String comments;
+
+    private Map<Long, String> itemComments = new HashMap<>();
+
+    // Constructor por defecto
+    public BulkReviewRequest() {}
+
+    // Getters y Setters
+    public List<Long> getConceptIds() {
+        return conceptIds;
+    }
+
+    public void setConceptIds(List<Long> conceptIds) {
+        this.conceptIds = conceptIds;
+    }
+
+    public String getComments() {
+        return comments;
+    }
+
+    public void setComments(String comments) {
+        this.comments = comments;
+    }
+
+    public Map<Long, String> getItemComments() {
+        return itemComments;
+    }
+
+    public void setItemComments(Map<Long, String> itemComments) {
+        this.itemComments = itemComments != null ? itemComments : new HashMap<>();
+    }
+
+    /**
+     * Comentario efectivo para un concepto
+     */
+    public String commentsFor(Long conceptId) {
+        String itemComment = itemComments.get(conceptId);
+        return itemComment != null ? itemComment : comments;
+    }
+
+    @Override
+    public String toString() {
+        return "BulkReviewRequest{" +
+                "conceptIds=" + conceptIds +
+                ", comments='" + comments + '\'' +
+                ", itemComments=" + itemComments.size() +
+                '}';
+    }
+}
@@ -0,0 +1,74 @@
+package saf.cgmaig.conceptmanagement.service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Resultado de una aprobación o rechazo masivo, con el desenlace por concepto
+ */
+public class BulkReviewResponse {
+
+    /**
+     * Desenlace de cada concepto del lote
+     */
+    public enum Outcome {
+        APPROVED,
+        REJECTED,
+        NOT_FOUND,
+        FORBIDDEN,
+        CONFLICT,
+        INVALID
+    }
+
+    private final List<ItemResult> results = new ArrayList<>();
+    private int succeeded;
+    private int failed;
+
+    public void add(Long conceptId, Outcome outcome, String message) {
+        results.add(new ItemResult(conceptId, outcome, message));
+        if (outcome == Outcome.APPROVED || outcome == Outcome.REJECTED) {
+            succeeded++;
+        } else {
+            failed++;
+        }
+    }
+
+    public List<ItemResult> getResults() {
+        return results;
+    }
+
+    public int getSucceeded() {
+        return succeeded;
+    }
+
+    public int getFailed() {
+        return failed;
+    }
+
+    /**
+     * Resultado individual de un concepto
+     */
+    public static class ItemResult {
+        private final Long conceptId;
+        private final Outcome outcome;
+        private final String message;
+
+        public ItemResult(Long conceptId, Outcome outcome, String message) {
+            this.conceptId = conceptId;
+            this.outcome = outcome;
+            this.message = message;
+        }
+
+        public Long getConceptId() {
+            return conceptId;
+        }
+
+        public Outcome getOutcome() {
+            return outcome;
+        }
+
+        public String getMessage() {
+            return message;
+        }
+    }
+}
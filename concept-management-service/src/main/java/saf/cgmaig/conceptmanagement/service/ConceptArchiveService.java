@@ -0,0 +1,77 @@
+package saf.cgmaig.conceptmanagement.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import saf.cgmaig.conceptmanagement.repository.AreaConceptRepository;
+
+import java.time.LocalDateTime;
+
+/**
+ * Archivo de conceptos cerrados
+ *
+ * Mueve los conceptos aprobados con más de min-age-days desde su validación
+ * a area_concepts_archive, en lotes con pausa entre ellos. Los rechazados se
+ * quedan en la tabla activa porque todavía pueden editarse y reenviarse.
+ * Cada lote es una transacción independiente, por lo que una ejecución
+ * interrumpida se reanuda en el siguiente ciclo sin trabajo duplicado.
+ * Los contadores de estado conservan los conceptos archivados.
+ */
+@Service
+public class ConceptArchiveService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ConceptArchiveService.class);
+
+    private final AreaConceptRepository areaConceptRepository;
+
+    @Value("${cubs.concept-management.archive.enabled:false}")
+    private boolean enabled;
+
+    @Value("${cubs.concept-management.archive.min-age-days:180}")
+    private long minAgeDays;
+
+    @Value("${cubs.concept-management.archive.batch-size:500}")
+    private int batchSize;
+
+    @Value("${cubs.concept-management.archive.pause-between-batches-ms:100}")
+    private long pauseBetweenBatchesMs;
+
+    @Autowired
+    public ConceptArchiveService(AreaConceptRepository areaConceptRepository) {
+        this.areaConceptRepository = areaConceptRepository;
+    }
+
+    /**
+     * Archivar conceptos cerrados hasta agotar los elegibles
+     */
+    @Scheduled(cron = "${cubs.concept-management.archive.cron:0 30 2 * * *}")
+    public void archiveClosedConcepts() {
+        if (!enabled) {
+            return;
+        }
+
+        LocalDateTime cutoff = LocalDateTime.now().minusDays(minAgeDays);
+        int total = 0;
+        try {
+            int moved;
+            do {
+                moved = areaConceptRepository.archiveClosedChunk(cutoff, batchSize);
+                total += moved;
+                if (moved == batchSize && pauseBetweenBatchesMs > 0) {
+                    Thread.sleep(pauseBetweenBatchesMs);
+                }
+            } while (moved == batchSize);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            logger.warn("Archivo de conceptos cerrados interrumpido tras {} conceptos: {}", total, e.getMessage());
+        }
+
+        if (total > 0) {
+            logger.info("Archivados {} conceptos cerrados antes de {}", total, cutoff);
+        }
+    }
+}
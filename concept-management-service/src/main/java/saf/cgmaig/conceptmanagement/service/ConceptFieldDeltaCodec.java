@@ -0,0 +1,153 @@
+package saf.cgmaig.conceptmanagement.service;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.stereotype.Component;
+import saf.cgmaig.conceptmanagement.model.AreaConcept;
+import saf.cgmaig.conceptmanagement.model.ConceptHistoryEntry;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Codificación de los campos de template como deltas comprimidos
+ *
+ * Un delta es un objeto JSON {campo: valor} con solo los campos que cambiaron
+ * (null indica valor borrado), comprimido con deflate sin encabezado.
+ */
+@Component
+public class ConceptFieldDeltaCodec {
+
+    private static final Map<String, Function<AreaConcept, String>> TRACKED_FIELDS = new LinkedHashMap<>();
+
+    static {
+        TRACKED_FIELDS.put("general", AreaConcept::getGeneral);
+        TRACKED_FIELDS.put("especifica", AreaConcept::getEspecifica);
+        TRACKED_FIELDS.put("presentacionProducto", AreaConcept::getPresentacionProducto);
+        TRACKED_FIELDS.put("composicionMateriales", AreaConcept::getComposicionMateriales);
+        TRACKED_FIELDS.put("descripcionTecnica", AreaConcept::getDescripcionTecnica);
+        TRACKED_FIELDS.put("componentesServicio", AreaConcept::getComponentesServicio);
+        TRACKED_FIELDS.put("accesoriosServicio", AreaConcept::getAccesoriosServicio);
+        TRACKED_FIELDS.put("caracteristicaFuncionalidad", AreaConcept::getCaracteristicaFuncionalidad);
+        TRACKED_FIELDS.put("caracteristicasFisicas", AreaConcept::getCaracteristicasFisicas);
+        TRACKED_FIELDS.put("color", AreaConcept::getColor);
+        TRACKED_FIELDS.put("mayoresEspecificaciones", AreaConcept::getMayoresEspecificaciones);
+    }
+
+    private static final TypeReference<LinkedHashMap<String, String>> FIELDS_TYPE = new TypeReference<>() {};
+
+    // Mapper propio: los valores null del delta deben serializarse siempre
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    /**
+     * Valores actuales de los campos de template del concepto
+     */
+    public Map<String, String> fieldsOf(AreaConcept concept) {
+        Map<String, String> fields = new LinkedHashMap<>();
+        TRACKED_FIELDS.forEach((name, getter) -> fields.put(name, getter.apply(concept)));
+        return fields;
+    }
+
+    /**
+     * Campos de current que difieren de previous
+     */
+    public Map<String, String> diff(Map<String, String> previous, Map<String, String> current) {
+        Map<String, String> changes = new LinkedHashMap<>();
+        current.forEach((name, value) -> {
+            if (!Objects.equals(previous.get(name), value)) {
+                changes.put(name, value);
+            }
+        });
+        return changes;
+    }
+
+    /**
+     * Campos con valor (contenido de una entrada snapshot)
+     */
+    public Map<String, String> nonNull(Map<String, String> fields) {
+        Map<String, String> values = new LinkedHashMap<>();
+        fields.forEach((name, value) -> {
+            if (value != null) {
+                values.put(name, value);
+            }
+        });
+        return values;
+    }
+
+    /**
+     * Estado de los campos en la versión indicada
+     *
+     * Parte de la última entrada snapshot con versión <= upToVersion y aplica
+     * los deltas siguientes en orden.
+     *
+     * @param entries historial del concepto ordenado por versión
+     */
+    public Map<String, String> reconstruct(List<ConceptHistoryEntry> entries, long upToVersion) {
+        int start = -1;
+        for (int i = 0; i < entries.size() && entries.get(i).getVersion() <= upToVersion; i++) {
+            if (entries.get(i).isSnapshot()) {
+                start = i;
+            }
+        }
+
+        Map<String, String> fields = new LinkedHashMap<>();
+        TRACKED_FIELDS.keySet().forEach(name -> fields.put(name, null));
+        if (start < 0) {
+            return fields;
+        }
+        for (int i = start; i < entries.size() && entries.get(i).getVersion() <= upToVersion; i++) {
+            fields.putAll(decode(entries.get(i).getDelta()));
+        }
+        return fields;
+    }
+
+    public byte[] encode(Map<String, String> delta) {
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(delta);
+            Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION, true);
+            try {
+                deflater.setInput(json);
+                deflater.finish();
+                ByteArrayOutputStream out = new ByteArrayOutputStream(json.length / 2 + 16);
+                byte[] buffer = new byte[1024];
+                while (!deflater.finished()) {
+                    out.write(buffer, 0, deflater.deflate(buffer));
+                }
+                return out.toByteArray();
+            } finally {
+                deflater.end();
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("No se pudo codificar el delta de campos", e);
+        }
+    }
+
+    public Map<String, String> decode(byte[] delta) {
+        Inflater inflater = new Inflater(true);
+        try {
+            inflater.setInput(delta);
+            ByteArrayOutputStream out = new ByteArrayOutputStream(delta.length * 4);
+            byte[] buffer = new byte[1024];
+            while (!inflater.finished()) {
+                int length = inflater.inflate(buffer);
+                if (length == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    break;
+                }
+                out.write(buffer, 0, length);
+            }
+            return objectMapper.readValue(out.toByteArray(), FIELDS_TYPE);
+        } catch (DataFormatException | IOException e) {
+            throw new IllegalStateException("Delta de campos corrupto", e);
+        } finally {
+            inflater.end();
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package saf.cgmaig.conceptmanagement.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import saf.cgmaig.conceptmanagement.model.ConceptHistoryEntry;
+import saf.cgmaig.conceptmanagement.repository.ConceptHistoryRepository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Consulta del historial de campos de template
+ *
+ * Las versiones se reconstruyen bajo demanda a partir del snapshot previo
+ * más cercano y los deltas siguientes.
+ */
+@Service
+public class ConceptHistoryService {
+
+    private final ConceptHistoryRepository historyRepository;
+    private final ConceptFieldDeltaCodec codec;
+
+    @Autowired
+    public ConceptHistoryService(ConceptHistoryRepository historyRepository, ConceptFieldDeltaCodec codec) {
+        this.historyRepository = historyRepository;
+        this.codec = codec;
+    }
+
+    /**
+     * Versiones registradas del concepto con los campos modificados en cada una
+     */
+    public List<ConceptVersionSummary> getHistory(Long conceptId) {
+        return historyRepository.findByConceptIdOrderByVersionAsc(conceptId).stream()
+                .map(entry -> new ConceptVersionSummary(entry.getVersion(), entry.getChangedBy(),
+                        entry.getChangedAt(), entry.isSnapshot(), codec.decode(entry.getDelta()).keySet()))
+                .toList();
+    }
+
+    /**
+     * Campos de template del concepto tal como estaban en la versión indicada
+     */
+    public ConceptVersion getVersion(Long conceptId, Long version) {
+        List<ConceptHistoryEntry> entries = historyRepository.findByConceptIdOrderByVersionAsc(conceptId);
+        ConceptHistoryEntry recorded = entries.stream()
+                .filter(entry -> entry.getVersion() <= version)
+                .reduce((first, second) -> second)
+                .orElseThrow(() -> new AreaConceptService.ServiceException(
+                        "No hay historial registrado para la versión " + version));
+
+        return new ConceptVersion(conceptId, version, recorded.getChangedBy(), recorded.getChangedAt(),
+                codec.reconstruct(entries, version));
+    }
+
+    /**
+     * Resumen de una versión registrada
+     */
+    public record ConceptVersionSummary(Long version, String changedBy, LocalDateTime changedAt,
+                                        boolean snapshot, Set<String> changedFields) {}
+
+    /**
+     * Campos de template reconstruidos en una versión
+     */
+    public record ConceptVersion(Long conceptId, Long version, String changedBy, LocalDateTime changedAt,
+                                 Map<String, String> fields) {}
+}
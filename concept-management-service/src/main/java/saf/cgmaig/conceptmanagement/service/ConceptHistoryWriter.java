@@ -0,0 +1,264 @@
+package saf.cgmaig.conceptmanagement.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import saf.cgmaig.conceptmanagement.model.AreaConcept;
+import saf.cgmaig.conceptmanagement.model.ConceptHistoryEntry;
+import saf.cgmaig.conceptmanagement.repository.ConceptHistoryRepository;
+
+import jakarta.annotation.PreDestroy;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Collectors;
+
+/**
+ * Escritor asíncrono del historial de campos de template
+ *
+ * Los cambios se encolan al confirmarse la transacción que los produjo y se
+ * escriben por lotes fuera del request. Cada versión se guarda como delta
+ * contra el estado reconstruido de la última versión registrada; solo la
+ * primera entrada y cada snapshot-interval entradas son snapshots completos,
+ * para acotar la reconstrucción. Las transiciones de flujo (envío, revisión)
+ * incrementan la versión sin tocar campos de template ni registrar entrada,
+ * por lo que un salto de versión no requiere snapshot.
+ *
+ * Ningún cambio confirmado se descarta: un lote que falla se reintenta en el
+ * siguiente ciclo (tras max-attempts se escribe cambio por cambio); con la
+ * cola llena el request espera hasta enqueue-timeout-ms y después escribe su
+ * cambio de forma síncrona; al detener el servicio se vacía la cola. Las
+ * escrituras se serializan con un lock para no calcular deltas en paralelo.
+ */
+@Component
+public class ConceptHistoryWriter {
+
+    private static final Logger logger = LoggerFactory.getLogger(ConceptHistoryWriter.class);
+
+    private final ConceptHistoryRepository historyRepository;
+    private final ConceptFieldDeltaCodec codec;
+    private final BlockingQueue<PendingChange> queue;
+    private final TransactionTemplate transactionTemplate;
+    // ReentrantLock en lugar de synchronized: no fija hilos virtuales a su portador
+    private final ReentrantLock writeLock = new ReentrantLock();
+
+    // Lote cuya escritura falló; se reintenta antes de tomar cambios nuevos (protegido por writeLock)
+    private volatile List<PendingChange> retryBatch = List.of();
+    private int retryAttempts;
+
+    @Value("${cubs.concept-management.audit.track-all-changes:false}")
+    private boolean enabled;
+
+    @Value("${cubs.concept-management.audit.batch-size:200}")
+    private int batchSize;
+
+    @Value("${cubs.concept-management.audit.snapshot-interval:20}")
+    private int snapshotInterval;
+
+    @Value("${cubs.concept-management.audit.enqueue-timeout-ms:200}")
+    private long enqueueTimeoutMs;
+
+    @Value("${cubs.concept-management.audit.max-attempts:5}")
+    private int maxAttempts;
+
+    @Autowired
+    public ConceptHistoryWriter(ConceptHistoryRepository historyRepository,
+                                ConceptFieldDeltaCodec codec,
+                                PlatformTransactionManager transactionManager,
+                                @Value("${cubs.concept-management.audit.queue-capacity:10000}") int queueCapacity) {
+        this.historyRepository = historyRepository;
+        this.codec = codec;
+        this.queue = new LinkedBlockingQueue<>(queueCapacity);
+        // Transacción propia: también se escribe desde afterCommit de la transacción del request
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * Registrar la versión actual del concepto (tras el commit, si hay transacción)
+     */
+    public void record(AreaConcept concept, String changedBy) {
+        if (!enabled || concept.getId() == null || concept.getVersion() == null) {
+            return;
+        }
+
+        PendingChange change = new PendingChange(concept.getId(), concept.getVersion(), changedBy,
+                LocalDateTime.now(), codec.fieldsOf(concept));
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    enqueue(change);
+                }
+            });
+        } else {
+            enqueue(change);
+        }
+    }
+
+    /**
+     * Escribir el siguiente lote de cambios pendientes (o reintentar el lote fallido)
+     */
+    @Scheduled(fixedDelayString = "${cubs.concept-management.audit.flush-interval-ms:1000}")
+    public void flush() {
+        flushNextBatch();
+    }
+
+    /**
+     * Vaciar la cola al detener el servicio
+     */
+    @PreDestroy
+    public void drain() {
+        int pending = queue.size() + retryBatch.size();
+        if (pending == 0) {
+            return;
+        }
+        logger.info("Escribiendo {} cambios de historial pendientes antes de detener el servicio", pending);
+        // Termina: cada lote se escribe o, tras max-attempts, se aísla cambio por cambio
+        while (!queue.isEmpty() || !retryBatch.isEmpty()) {
+            flushNextBatch();
+        }
+    }
+
+    private void flushNextBatch() {
+        writeLock.lock();
+        try {
+            List<PendingChange> batch = retryBatch;
+            if (batch.isEmpty()) {
+                batch = new ArrayList<>();
+                queue.drainTo(batch, batchSize);
+                if (batch.isEmpty()) {
+                    return;
+                }
+            }
+
+            try {
+                writeBatch(batch);
+                retryBatch = List.of();
+                retryAttempts = 0;
+            } catch (RuntimeException e) {
+                retryAttempts++;
+                if (retryAttempts < maxAttempts) {
+                    logger.warn("No se pudo escribir el historial ({} cambios, intento {}), se reintentará: {}",
+                            batch.size(), retryAttempts, e.getMessage());
+                    retryBatch = batch;
+                    return;
+                }
+                // Aislar el cambio que impide escribir el lote; el resto se registra
+                writeIndividually(batch);
+                retryBatch = List.of();
+                retryAttempts = 0;
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private void writeBatch(List<PendingChange> batch) {
+        transactionTemplate.executeWithoutResult(status -> write(batch));
+    }
+
+    private void writeIndividually(List<PendingChange> batch) {
+        for (PendingChange change : batch) {
+            try {
+                writeBatch(List.of(change));
+            } catch (RuntimeException e) {
+                logger.error("No se pudo registrar la versión {} del concepto {} en el historial: {}",
+                        change.version(), change.conceptId(), e.getMessage(), e);
+            }
+        }
+    }
+
+    private void write(List<PendingChange> changes) {
+        List<PendingChange> batch = new ArrayList<>(changes);
+        batch.sort(Comparator.comparing(PendingChange::conceptId).thenComparing(PendingChange::version));
+
+        Map<Long, List<ConceptHistoryEntry>> history = historyRepository
+                .findByConceptIdInOrderByConceptIdAscVersionAsc(
+                        batch.stream().map(PendingChange::conceptId).collect(Collectors.toSet()))
+                .stream()
+                .collect(Collectors.groupingBy(ConceptHistoryEntry::getConceptId,
+                        Collectors.toCollection(ArrayList::new)));
+
+        List<ConceptHistoryEntry> entries = new ArrayList<>();
+        for (PendingChange change : batch) {
+            List<ConceptHistoryEntry> conceptHistory = history.computeIfAbsent(change.conceptId(),
+                    id -> new ArrayList<>());
+            ConceptHistoryEntry entry = toEntry(change, conceptHistory);
+            if (entry != null) {
+                conceptHistory.add(entry);
+                entries.add(entry);
+            }
+        }
+
+        historyRepository.saveAll(entries);
+        logger.debug("Historial: {} versiones registradas de {} cambios", entries.size(), batch.size());
+    }
+
+    private ConceptHistoryEntry toEntry(PendingChange change, List<ConceptHistoryEntry> conceptHistory) {
+        ConceptHistoryEntry last = conceptHistory.isEmpty() ? null : conceptHistory.get(conceptHistory.size() - 1);
+        if (last != null && change.version() <= last.getVersion()) {
+            // Versión ya registrada o fuera de orden
+            return null;
+        }
+
+        boolean snapshot = last == null || deltasSinceSnapshot(conceptHistory) >= snapshotInterval;
+
+        // Un delta vacío (solo cambiaron campos no rastreados) se registra igual
+        // para no romper la continuidad de versiones
+        Map<String, String> content = snapshot
+                ? codec.nonNull(change.fields())
+                : codec.diff(codec.reconstruct(conceptHistory, last.getVersion()), change.fields());
+
+        return new ConceptHistoryEntry(change.conceptId(), change.version(), change.changedBy(),
+                change.changedAt(), snapshot, codec.encode(content));
+    }
+
+    private int deltasSinceSnapshot(List<ConceptHistoryEntry> conceptHistory) {
+        int count = 0;
+        for (int i = conceptHistory.size() - 1; i >= 0 && !conceptHistory.get(i).isSnapshot(); i--) {
+            count++;
+        }
+        return count;
+    }
+
+    private void enqueue(PendingChange change) {
+        try {
+            if (queue.offer(change, enqueueTimeoutMs, TimeUnit.MILLISECONDS)) {
+                return;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        // Cola llena: el request escribe su propio cambio en lugar de descartarlo
+        logger.warn("Cola de historial llena, se escribe de forma síncrona la versión {} del concepto {}",
+                change.version(), change.conceptId());
+        writeLock.lock();
+        try {
+            writeBatch(List.of(change));
+        } catch (RuntimeException e) {
+            logger.error("No se pudo registrar la versión {} del concepto {} en el historial: {}",
+                    change.version(), change.conceptId(), e.getMessage(), e);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private record PendingChange(Long conceptId, Long version, String changedBy, LocalDateTime changedAt,
+                                 Map<String, String> fields) {}
+}
@@ -0,0 +1,63 @@
+package saf.cgmaig.conceptmanagement.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import saf.cgmaig.conceptmanagement.model.ConceptStatus;
+import saf.cgmaig.conceptmanagement.repository.AreaConceptRepository;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Estadísticas de conceptos por área y estado
+ *
+ * Los contadores se mantienen de forma incremental en la base de datos
+ * (tabla area_concept_status_counts), por lo que cada consulta lee a lo
+ * más una fila por área y estado sin recorrer area_concepts.
+ */
+@Service
+@Transactional(readOnly = true)
+public class ConceptStatisticsService {
+
+    private final AreaConceptRepository areaConceptRepository;
+
+    @Autowired
+    public ConceptStatisticsService(AreaConceptRepository areaConceptRepository) {
+        this.areaConceptRepository = areaConceptRepository;
+    }
+
+    /**
+     * Obtener conteo por estado de un área (incluye estados en cero)
+     */
+    public Map<String, Long> getStatusCountsByArea(String area) {
+        Map<String, Long> counts = emptyCounts();
+        for (Object[] row : areaConceptRepository.getStatusStatisticsByArea(area)) {
+            counts.put((String) row[0], ((Number) row[1]).longValue());
+        }
+        return counts;
+    }
+
+    /**
+     * Obtener conteo por estado de todas las áreas
+     */
+    public Map<String, Map<String, Long>> getStatusCounts() {
+        Map<String, Map<String, Long>> countsByArea = new TreeMap<>();
+        List<Object[]> rows = areaConceptRepository.getStatusStatistics();
+        for (Object[] row : rows) {
+            countsByArea.computeIfAbsent((String) row[0], area -> emptyCounts())
+                    .put((String) row[1], ((Number) row[2]).longValue());
+        }
+        return countsByArea;
+    }
+
+    private Map<String, Long> emptyCounts() {
+        Map<String, Long> counts = new LinkedHashMap<>();
+        for (ConceptStatus status : ConceptStatus.values()) {
+            counts.put(status.name(), 0L);
+        }
+        return counts;
+    }
+}
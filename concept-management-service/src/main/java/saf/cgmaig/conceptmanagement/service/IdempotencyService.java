@@ -0,0 +1,190 @@
+package saf.cgmaig.conceptmanagement.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Soporte de encabezado Idempotency-Key para operaciones costosas
+ *
+ * La primera solicitud con una clave ejecuta la operación y guarda su
+ * respuesta; las repeticiones reciben esa misma respuesta. Un duplicado
+ * concurrente espera a que termine la original en lugar de ejecutarla otra
+ * vez. Si la operación falla la clave se libera para permitir reintentos.
+ *
+ * El almacén es local a la instancia, acotado en tamaño y con vencimiento.
+ */
+@Service
+public class IdempotencyService {
+
+    private static final Logger logger = LoggerFactory.getLogger(IdempotencyService.class);
+
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    private static final int MAX_KEY_LENGTH = 255;
+
+    private final ObjectMapper objectMapper;
+    private final Duration ttl;
+    private final Duration waitTimeout;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Map<String, StoredResponse> entries;
+
+    @Autowired
+    public IdempotencyService(ObjectMapper objectMapper,
+                              @Value("${cubs.concept-management.idempotency.max-entries:10000}") int maxEntries,
+                              @Value("${cubs.concept-management.idempotency.ttl-minutes:60}") long ttlMinutes,
+                              @Value("${cubs.concept-management.idempotency.wait-timeout-seconds:30}") long waitTimeoutSeconds) {
+        this.objectMapper = objectMapper;
+        this.ttl = Duration.ofMinutes(ttlMinutes);
+        this.waitTimeout = Duration.ofSeconds(waitTimeoutSeconds);
+        this.entries = new LinkedHashMap<>() {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, StoredResponse> eldest) {
+                // Las solicitudes en curso no se descartan aunque se exceda el límite
+                return size() > maxEntries && eldest.getValue().response().isDone();
+            }
+        };
+    }
+
+    /**
+     * Ejecutar la operación una sola vez por clave
+     *
+     * @param idempotencyKey valor del encabezado; sin clave la operación se ejecuta siempre
+     * @param scope operación y usuario, para que una clave no se comparta entre ellos
+     * @param request cuerpo de la solicitud; una clave reutilizada con otro cuerpo se rechaza
+     */
+    public <T> ResponseEntity<T> execute(String idempotencyKey, String scope, Object request,
+                                         Supplier<ResponseEntity<T>> operation) {
+        if (idempotencyKey == null || idempotencyKey.isBlank()) {
+            return operation.get();
+        }
+        if (idempotencyKey.length() > MAX_KEY_LENGTH) {
+            throw new AreaConceptService.ServiceException("Idempotency-Key no puede exceder " +
+                                                          MAX_KEY_LENGTH + " caracteres");
+        }
+
+        String storeKey = scope + "|" + idempotencyKey;
+        String fingerprint = fingerprint(request);
+        StoredResponse stored;
+        boolean original;
+
+        lock.lock();
+        try {
+            purgeExpired(Instant.now());
+            stored = entries.get(storeKey);
+            original = stored == null;
+            if (original) {
+                stored = new StoredResponse(fingerprint, new CompletableFuture<>(), Instant.now());
+                entries.put(storeKey, stored);
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        if (!original) {
+            if (!stored.fingerprint().equals(fingerprint)) {
+                throw new AreaConceptService.ConflictException(
+                        "La Idempotency-Key ya se utilizó con una solicitud distinta");
+            }
+            logger.debug("Solicitud repetida con Idempotency-Key {} ({})", idempotencyKey, scope);
+            return replay(awaitResponse(stored));
+        }
+
+        try {
+            ResponseEntity<T> response = operation.get();
+            stored.response().complete(response);
+            return response;
+        } catch (RuntimeException e) {
+            release(storeKey, stored);
+            stored.response().completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    private ResponseEntity<?> awaitResponse(StoredResponse stored) {
+        try {
+            return stored.response().get(waitTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (TimeoutException e) {
+            throw new AreaConceptService.ConflictException(
+                    "La solicitud original con esta Idempotency-Key sigue en proceso");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new AreaConceptService.ConflictException(
+                    "La solicitud original con esta Idempotency-Key sigue en proceso");
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> ResponseEntity<T> replay(ResponseEntity<?> response) {
+        return (ResponseEntity<T>) ResponseEntity.status(response.getStatusCode())
+                .headers(response.getHeaders())
+                .header(REPLAYED_HEADER, "true")
+                .body(response.getBody());
+    }
+
+    private void release(String storeKey, StoredResponse stored) {
+        lock.lock();
+        try {
+            entries.remove(storeKey, stored);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Descartar respuestas vencidas (el mapa conserva orden de inserción)
+     */
+    private void purgeExpired(Instant now) {
+        Instant limit = now.minus(ttl);
+        Iterator<StoredResponse> iterator = entries.values().iterator();
+        while (iterator.hasNext()) {
+            StoredResponse stored = iterator.next();
+            if (stored.createdAt().isAfter(limit)) {
+                break;
+            }
+            if (stored.response().isDone()) {
+                iterator.remove();
+            }
+        }
+    }
+
+    private String fingerprint(Object request) {
+        if (request == null) {
+            return "";
+        }
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(objectMapper.writeValueAsBytes(request));
+            return Base64.getEncoder().encodeToString(digest);
+        } catch (JsonProcessingException | NoSuchAlgorithmException e) {
+            throw new IllegalStateException("No se pudo calcular la huella de la solicitud", e);
+        }
+    }
+
+    private record StoredResponse(String fingerprint, CompletableFuture<ResponseEntity<?>> response,
+                                  Instant createdAt) {}
+}
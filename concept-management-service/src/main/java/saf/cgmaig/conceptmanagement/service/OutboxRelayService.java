@@ -0,0 +1,192 @@
+package saf.cgmaig.conceptmanagement.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import saf.cgmaig.conceptmanagement.event.ConceptEventSink;
+import saf.cgmaig.conceptmanagement.event.ConceptLifecycleEvent;
+import saf.cgmaig.conceptmanagement.model.ConceptOutboxEvent;
+import saf.cgmaig.conceptmanagement.repository.ConceptOutboxRepository;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Relay del outbox de eventos de conceptos
+ *
+ * Publica en lotes los eventos pendientes al sink configurado, fuera del
+ * request que originó el cambio de estado. La entrega es al menos una vez:
+ * un evento se marca publicado solo después de que el sink lo aceptó.
+ *
+ * Cada ciclo usa dos transacciones cortas: una reserva el lote (bajo el lock
+ * de asesoría, con next_attempt_at como reserva) y otra registra el
+ * resultado. La publicación corre entre ambas, sin transacción ni conexión
+ * abiertas. El orden por concepto se conserva porque findPending no toma un
+ * evento mientras otro anterior del mismo concepto siga reservado o en
+ * backoff; agotado max-attempts, el evento pasa a dead letter y deja de
+ * bloquear a los siguientes.
+ */
+@Service
+public class OutboxRelayService {
+
+    private static final Logger logger = LoggerFactory.getLogger(OutboxRelayService.class);
+
+    private static final long RELAY_LOCK_KEY = 0x43554253_4F555442L; // "CUBSOUTB"
+
+    private final ConceptOutboxRepository outboxRepository;
+    private final ConceptEventSink eventSink;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${cubs.concept-management.outbox.batch-size:100}")
+    private int batchSize;
+
+    @Value("${cubs.concept-management.outbox.retention-days:7}")
+    private long retentionDays;
+
+    @Value("${cubs.concept-management.outbox.claim-timeout-ms:60000}")
+    private long claimTimeoutMs;
+
+    @Value("${cubs.concept-management.outbox.max-attempts:10}")
+    private int maxAttempts;
+
+    @Value("${cubs.concept-management.outbox.backoff-ms:5000}")
+    private long backoffMs;
+
+    @Value("${cubs.concept-management.outbox.max-backoff-ms:600000}")
+    private long maxBackoffMs;
+
+    @Autowired
+    public OutboxRelayService(ConceptOutboxRepository outboxRepository,
+                              ConceptEventSink eventSink,
+                              PlatformTransactionManager transactionManager) {
+        this.outboxRepository = outboxRepository;
+        this.eventSink = eventSink;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Publicar el siguiente lote de eventos pendientes
+     */
+    @Scheduled(fixedDelayString = "${cubs.concept-management.outbox.poll-interval-ms:1000}")
+    public void relayPending() {
+        List<ConceptOutboxEvent> pending = transactionTemplate.execute(status -> claimBatch());
+        if (pending == null || pending.isEmpty()) {
+            return;
+        }
+
+        RelayResult result = new RelayResult();
+        try {
+            eventSink.publish(pending.stream().map(ConceptLifecycleEvent::from).toList());
+            pending.forEach(event -> result.published.add(event.getId()));
+            logger.debug("Publicados {} eventos de conceptos", pending.size());
+        } catch (RuntimeException e) {
+            logger.warn("Falló la publicación del lote de {} eventos, reintentando por concepto: {}",
+                    pending.size(), e.getMessage());
+            relayByConcept(pending, result);
+        }
+
+        transactionTemplate.executeWithoutResult(status -> record(result, LocalDateTime.now()));
+    }
+
+    /**
+     * Depurar eventos ya publicados fuera del periodo de retención
+     *
+     * Los eventos en dead letter no se depuran: quedan para revisión manual.
+     */
+    @Scheduled(cron = "${cubs.concept-management.outbox.cleanup-cron:0 30 3 * * *}")
+    @Transactional
+    public void purgePublished() {
+        int deleted = outboxRepository.deletePublishedBefore(LocalDateTime.now().minusDays(retentionDays));
+        if (deleted > 0) {
+            logger.info("Depurados {} eventos publicados del outbox", deleted);
+        }
+    }
+
+    /**
+     * Tomar y reservar el siguiente lote; vacío si otro relay está reservando
+     */
+    private List<ConceptOutboxEvent> claimBatch() {
+        if (!outboxRepository.tryRelayLock(RELAY_LOCK_KEY)) {
+            return List.of();
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        List<ConceptOutboxEvent> pending = outboxRepository.findPending(now, batchSize);
+        if (!pending.isEmpty()) {
+            outboxRepository.claim(pending.stream().map(ConceptOutboxEvent::getId).toList(),
+                    now.plus(Duration.ofMillis(claimTimeoutMs)));
+        }
+        return pending;
+    }
+
+    /**
+     * Aislar fallos: publicar por concepto para que un concepto con error
+     * no detenga a los demás
+     */
+    private void relayByConcept(List<ConceptOutboxEvent> pending, RelayResult result) {
+        Map<Long, List<ConceptOutboxEvent>> byConcept = new LinkedHashMap<>();
+        for (ConceptOutboxEvent event : pending) {
+            byConcept.computeIfAbsent(event.getConceptId(), id -> new ArrayList<>()).add(event);
+        }
+
+        for (List<ConceptOutboxEvent> conceptEvents : byConcept.values()) {
+            try {
+                eventSink.publish(conceptEvents.stream().map(ConceptLifecycleEvent::from).toList());
+                conceptEvents.forEach(event -> result.published.add(event.getId()));
+            } catch (RuntimeException e) {
+                // Solo se marca el primero; los siguientes esperan a que se publique para no romper el orden
+                ConceptOutboxEvent head = conceptEvents.get(0);
+                result.failed.add(new FailedEvent(head, e.getMessage()));
+                conceptEvents.subList(1, conceptEvents.size()).forEach(event -> result.released.add(event.getId()));
+                logger.error("No se pudo publicar el evento {} del concepto {} (intento {})",
+                        head.getId(), head.getConceptId(), head.getAttempts() + 1, e);
+            }
+        }
+    }
+
+    private void record(RelayResult result, LocalDateTime now) {
+        if (!result.published.isEmpty()) {
+            outboxRepository.markPublished(result.published, now);
+        }
+        if (!result.released.isEmpty()) {
+            outboxRepository.release(result.released);
+        }
+        for (FailedEvent failure : result.failed) {
+            int attempts = failure.event().getAttempts() + 1;
+            if (attempts >= maxAttempts) {
+                outboxRepository.markFailed(failure.event().getId(), failure.error(), null, now);
+                logger.error("Evento {} del concepto {} enviado a dead letter tras {} intentos",
+                        failure.event().getId(), failure.event().getConceptId(), attempts);
+            } else {
+                outboxRepository.markFailed(failure.event().getId(), failure.error(),
+                        now.plus(backoff(attempts)), null);
+            }
+        }
+    }
+
+    /**
+     * Espera exponencial antes del siguiente intento, acotada por max-backoff-ms
+     */
+    Duration backoff(int attempts) {
+        long delay = backoffMs << Math.min(attempts - 1, 30);
+        return Duration.ofMillis(delay <= 0 ? maxBackoffMs : Math.min(delay, maxBackoffMs));
+    }
+
+    private record FailedEvent(ConceptOutboxEvent event, String error) {}
+
+    private static final class RelayResult {
+        private final List<Long> published = new ArrayList<>();
+        private final List<Long> released = new ArrayList<>();
+        private final List<FailedEvent> failed = new ArrayList<>();
+    }
+}
@@ -0,0 +1,87 @@
+package saf.cgmaig.conceptmanagement.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import saf.cgmaig.conceptmanagement.model.AreaConcept;
+import saf.cgmaig.conceptmanagement.model.ConceptStatus;
+import saf.cgmaig.conceptmanagement.repository.AreaConceptRepository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Cola de trabajo de validadores técnicos
+ *
+ * Cada validador reclama los siguientes N conceptos SUBMITTED de su área.
+ * Los conceptos reclamados pasan a IN_REVIEW con una reserva que vence;
+ * las reservas vencidas regresan a la cola automáticamente.
+ */
+@Service
+public class ReviewQueueService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReviewQueueService.class);
+
+    private final AreaConceptRepository areaConceptRepository;
+
+    @Value("${cubs.concept-management.work-queue.lease-minutes:30}")
+    private long leaseMinutes;
+
+    @Value("${cubs.concept-management.work-queue.max-claim-size:50}")
+    private int maxClaimSize;
+
+    @Autowired
+    public ReviewQueueService(AreaConceptRepository areaConceptRepository) {
+        this.areaConceptRepository = areaConceptRepository;
+    }
+
+    /**
+     * Reclamar los siguientes conceptos enviados de un área
+     */
+    @Transactional
+    public List<AreaConcept> claimNext(String area, int limit, String validator) {
+        int batchSize = Math.max(1, Math.min(limit, maxClaimSize));
+
+        List<Long> ids = areaConceptRepository.lockNextSubmittedIds(area, batchSize);
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        areaConceptRepository.claimConcepts(ids, ConceptStatus.IN_REVIEW, validator,
+                now.plusMinutes(leaseMinutes), now);
+
+        logger.info("Validador {} reclamó {} conceptos del área {}", validator, ids.size(), area);
+        return areaConceptRepository.findByIdInOrderBySubmittedAtAscIdAsc(ids);
+    }
+
+    /**
+     * Devolver a la cola un concepto reclamado sin resolverlo
+     */
+    @Transactional
+    public void release(Long conceptId, String validator) {
+        int released = areaConceptRepository.releaseClaim(conceptId, validator,
+                ConceptStatus.IN_REVIEW, ConceptStatus.SUBMITTED, LocalDateTime.now());
+        if (released == 0) {
+            throw new AreaConceptService.ServiceException("El concepto no está reservado por el validador");
+        }
+        logger.info("Validador {} liberó el concepto ID: {}", validator, conceptId);
+    }
+
+    /**
+     * Regresar a la cola los conceptos con reserva vencida
+     */
+    @Scheduled(fixedDelayString = "${cubs.concept-management.work-queue.lease-sweep-interval-ms:60000}")
+    @Transactional
+    public void releaseExpiredClaims() {
+        int released = areaConceptRepository.releaseExpiredClaims(LocalDateTime.now(),
+                ConceptStatus.IN_REVIEW, ConceptStatus.SUBMITTED);
+        if (released > 0) {
+            logger.info("{} conceptos con reserva vencida regresaron a la cola", released);
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package saf.cgmaig.conceptmanagement.service;
+
+import feign.FeignException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import saf.cgmaig.conceptmanagement.client.ValidationServiceClient;
+import saf.cgmaig.conceptmanagement.client.dto.TemplateStructure;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Cache local de estructuras de template de capítulo
+ *
+ * Dentro del TTL se responde sin llamar al Validation Service. Al expirar,
+ * la entrada se revalida con If-None-Match: un 304 solo renueva la vigencia,
+ * sin volver a transferir ni deserializar la estructura.
+ */
+@Component
+public class TemplateStructureCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(TemplateStructureCache.class);
+
+    private final ValidationServiceClient validationServiceClient;
+    private final boolean enabled;
+    private final Duration ttl;
+    private final int maxEntries;
+
+    private final Map<String, CachedTemplate> entries = new ConcurrentHashMap<>();
+
+    @Autowired
+    public TemplateStructureCache(ValidationServiceClient validationServiceClient,
+                                  @Value("${cubs.concept-management.cache.enabled:true}") boolean enabled,
+                                  @Value("${cubs.concept-management.cache.ttl-minutes:15}") long ttlMinutes,
+                                  @Value("${cubs.concept-management.cache.max-entries:500}") int maxEntries) {
+        this.validationServiceClient = validationServiceClient;
+        this.enabled = enabled;
+        this.ttl = Duration.ofMinutes(ttlMinutes);
+        this.maxEntries = maxEntries;
+    }
+
+    /**
+     * Obtiene la estructura del template, revalidando solo si la entrada expiró
+     */
+    public TemplateStructure get(String chapterKey) {
+        if (!enabled) {
+            return validationServiceClient.getTemplateStructure(chapterKey);
+        }
+
+        Instant now = Instant.now();
+        CachedTemplate cached = entries.get(chapterKey);
+        if (cached != null && now.isBefore(cached.freshUntil())) {
+            return cached.structure();
+        }
+        return revalidate(chapterKey, cached, now);
+    }
+
+    /**
+     * Descarta todas las entradas (la siguiente lectura vuelve a consultar)
+     */
+    public void clear() {
+        entries.clear();
+    }
+
+    private TemplateStructure revalidate(String chapterKey, CachedTemplate cached, Instant now) {
+        String etag = cached != null ? cached.etag() : null;
+        try {
+            ResponseEntity<TemplateStructure> response =
+                    validationServiceClient.getTemplateStructureIfChanged(chapterKey, etag);
+            TemplateStructure structure = response.getBody();
+            if (structure == null) {
+                throw new IllegalStateException("Respuesta sin estructura para template " + chapterKey);
+            }
+            store(chapterKey, new CachedTemplate(structure, response.getHeaders().getETag(), now.plus(ttl)));
+            logger.debug("Template {} actualizado en cache", chapterKey);
+            return structure;
+        } catch (FeignException e) {
+            if (cached == null) {
+                throw e;
+            }
+            if (e.status() == HttpStatus.NOT_MODIFIED.value()) {
+                store(chapterKey, new CachedTemplate(cached.structure(), cached.etag(), now.plus(ttl)));
+                logger.debug("Template {} sin cambios, vigencia renovada", chapterKey);
+            } else {
+                // Se sirve la copia anterior; se reintentará en la siguiente lectura
+                logger.warn("No se pudo revalidar template {}, usando copia en cache: {}", chapterKey, e.getMessage());
+            }
+            return cached.structure();
+        }
+    }
+
+    private void store(String chapterKey, CachedTemplate entry) {
+        if (entries.size() >= maxEntries && !entries.containsKey(chapterKey)) {
+            entries.clear();
+        }
+        entries.put(chapterKey, entry);
+    }
+
+    private record CachedTemplate(TemplateStructure structure, String etag, Instant freshUntil) {}
+}
@@ -0,0 +1,84 @@
+-- =====================================================
+-- Concept Management Service - Migración a particionado por área
+--
+-- Convierte area_concepts en una tabla particionada por LIST (area),
+-- con una partición por área facultada y una DEFAULT para valores no
+-- previstos. Las consultas por área solo leen su partición y el
+-- VACUUM/ANALYZE puede ejecutarse por área.
+--
+-- Ejecución única, con el servicio detenido:
+--   psql -v ON_ERROR_STOP=1 -d acceso_tabasco_dev -f db/partition-area-concepts.sql
+--
+-- Al final incluye indexes.sql, que crea sobre la tabla padre los
+-- índices (locales en cada partición) y los triggers de contadores y
+-- outbox. En arranques posteriores indexes.sql es idempotente.
+-- Hibernate (ddl-auto: update) reconoce la tabla particionada.
+-- =====================================================
+
+\set ON_ERROR_STOP on
+
+BEGIN;
+
+DO $$
+BEGIN
+    IF EXISTS (SELECT 1 FROM pg_class
+               WHERE relname = 'area_concepts' AND relkind = 'p'
+                 AND relnamespace = 'public'::regnamespace) THEN
+        RAISE EXCEPTION 'area_concepts ya está particionada';
+    END IF;
+END $$;
+
+LOCK TABLE area_concepts IN ACCESS EXCLUSIVE MODE;
+
+ALTER TABLE area_concepts RENAME TO area_concepts_legacy;
+
+-- Misma estructura (incluye search_vector generado e identidad de id);
+-- la llave primaria debe incluir la columna de partición
+CREATE TABLE area_concepts (
+    LIKE area_concepts_legacy INCLUDING DEFAULTS INCLUDING GENERATED INCLUDING IDENTITY INCLUDING STORAGE
+) PARTITION BY LIST (area);
+
+ALTER TABLE area_concepts ADD PRIMARY KEY (id, area);
+
+CREATE TABLE area_concepts_cgrm PARTITION OF area_concepts FOR VALUES IN ('CGRM');
+CREATE TABLE area_concepts_cgsg PARTITION OF area_concepts FOR VALUES IN ('CGSG');
+CREATE TABLE area_concepts_cgmaig PARTITION OF area_concepts FOR VALUES IN ('CGMAIG');
+CREATE TABLE area_concepts_patrimonio PARTITION OF area_concepts FOR VALUES IN ('PATRIMONIO');
+CREATE TABLE area_concepts_otras PARTITION OF area_concepts DEFAULT;
+
+-- Copia de filas (las columnas generadas se recalculan)
+DO $$
+DECLARE
+    columns text;
+    copied bigint;
+    expected bigint;
+BEGIN
+    SELECT string_agg(quote_ident(column_name), ', ' ORDER BY ordinal_position)
+    INTO columns
+    FROM information_schema.columns
+    WHERE table_schema = 'public' AND table_name = 'area_concepts_legacy'
+      AND is_generated = 'NEVER';
+
+    EXECUTE format('INSERT INTO area_concepts (%s) OVERRIDING SYSTEM VALUE SELECT %s FROM area_concepts_legacy',
+                   columns, columns);
+    GET DIAGNOSTICS copied = ROW_COUNT;
+
+    SELECT count(*) INTO expected FROM area_concepts_legacy;
+    IF copied <> expected THEN
+        RAISE EXCEPTION 'Copia incompleta: % de % filas', copied, expected;
+    END IF;
+    RAISE NOTICE 'Filas migradas a area_concepts particionada: %', copied;
+END $$;
+
+SELECT setval(pg_get_serial_sequence('area_concepts', 'id'),
+              (SELECT coalesce(max(id), 0) + 1 FROM area_concepts), false);
+
+-- Se elimina la tabla anterior junto con sus índices y triggers, para
+-- que indexes.sql los cree con los mismos nombres sobre la nueva tabla
+DROP TABLE area_concepts_legacy;
+
+\ir ../indexes.sql
+
+COMMIT;
+
+ANALYZE area_concepts;
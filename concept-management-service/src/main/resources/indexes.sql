@@ -0,0 +1,266 @@
+-- =====================================================
+-- Concept Management Service - Performance Indexes
+-- Índices, extensiones y columnas generadas para area_concepts
+-- Se ejecuta después de que Hibernate crea/actualiza la tabla
+-- =====================================================
+
+CREATE EXTENSION IF NOT EXISTS unaccent;
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+-- unaccent() es STABLE; se envuelve en una función IMMUTABLE para
+-- poder usarla en columnas generadas e índices de expresión
+CREATE OR REPLACE FUNCTION cubs_unaccent(text) RETURNS text
+    LANGUAGE sql IMMUTABLE PARALLEL SAFE STRICT
+    AS 'SELECT public.unaccent(''public.unaccent''::regdictionary, $1)';
+
+-- =====================================================
+-- BÚSQUEDA DE TEXTO COMPLETO (configuración spanish + unaccent)
+-- =====================================================
+
+-- Nombre específico con peso A, campo general con peso B
+ALTER TABLE area_concepts ADD COLUMN IF NOT EXISTS search_vector tsvector
+    GENERATED ALWAYS AS (
+        setweight(to_tsvector('spanish'::regconfig, cubs_unaccent(coalesce(specific_name, ''))), 'A') ||
+        setweight(to_tsvector('spanish'::regconfig, cubs_unaccent(coalesce(general_field, ''))), 'B')
+    ) STORED;
+
+CREATE INDEX IF NOT EXISTS idx_area_concepts_search_vector ON area_concepts USING gin(search_vector);
+
+-- =====================================================
+-- BÚSQUEDA APROXIMADA (trigramas) PARA ERRORES DE CAPTURA
+-- =====================================================
+
+CREATE INDEX IF NOT EXISTS idx_area_concepts_specific_name_trgm
+    ON area_concepts USING gin(cubs_unaccent(lower(specific_name)) gin_trgm_ops);
+
+-- Filtro por área previo al ranking
+CREATE INDEX IF NOT EXISTS idx_area_concepts_area ON area_concepts(area);
+
+-- =====================================================
+-- ÍNDICES COMPUESTOS POR PARTICIÓN
+-- Con area_concepts particionada por área (db/partition-area-concepts.sql)
+-- estos índices se crean como índices locales en cada partición, por lo
+-- que el área queda implícita en la partición elegida.
+-- =====================================================
+
+-- Pendientes de validación por estado y fecha de envío
+CREATE INDEX IF NOT EXISTS idx_area_concepts_status_submitted ON area_concepts(status, submitted_at);
+
+-- Unicidad de nombre dentro del área
+CREATE INDEX IF NOT EXISTS idx_area_concepts_specific_name ON area_concepts(specific_name);
+
+-- Listados por fecha de creación con desempate estable
+CREATE INDEX IF NOT EXISTS idx_area_concepts_created ON area_concepts(created_at, id);
+
+-- =====================================================
+-- COLA DE TRABAJO DE VALIDADORES
+-- =====================================================
+
+-- Siguiente concepto enviado por área (FOR UPDATE SKIP LOCKED)
+CREATE INDEX IF NOT EXISTS idx_area_concepts_queue ON area_concepts(area, submitted_at, id)
+WHERE status = 'SUBMITTED';
+
+-- Pendientes de validación por área (SUBMITTED e IN_REVIEW, LATERAL por área)
+CREATE INDEX IF NOT EXISTS idx_area_concepts_pending ON area_concepts(area, submitted_at, id)
+WHERE status IN ('SUBMITTED', 'IN_REVIEW');
+
+-- Liberación de reservas vencidas
+CREATE INDEX IF NOT EXISTS idx_area_concepts_lease ON area_concepts(lease_expires_at)
+WHERE status = 'IN_REVIEW';
+
+-- =====================================================
+-- CONTADORES DE ESTADO POR ÁREA
+-- Mantenidos por triggers a nivel sentencia (transition tables):
+-- cada INSERT/UPDATE/DELETE ajusta los contadores en la misma
+-- transacción, con un solo upsert por (área, estado) aunque la
+-- sentencia afecte muchas filas.
+-- =====================================================
+
+CREATE TABLE IF NOT EXISTS area_concept_status_counts (
+    area VARCHAR(255) NOT NULL,
+    status VARCHAR(255) NOT NULL,
+    total BIGINT NOT NULL DEFAULT 0,
+    PRIMARY KEY (area, status)
+);
+
+CREATE OR REPLACE FUNCTION area_concept_counts_on_insert() RETURNS trigger
+    LANGUAGE plpgsql AS '
+BEGIN
+    INSERT INTO area_concept_status_counts (area, status, total)
+    SELECT area, status, COUNT(*) FROM new_rows GROUP BY area, status
+    ON CONFLICT (area, status) DO UPDATE SET total = area_concept_status_counts.total + EXCLUDED.total;
+    RETURN NULL;
+END';
+
+-- Las filas movidas al archivo siguen contando en las estadísticas
+CREATE OR REPLACE FUNCTION area_concept_counts_on_delete() RETURNS trigger
+    LANGUAGE plpgsql AS '
+BEGIN
+    IF current_setting(''cubs.archiving'', true) = ''on'' THEN
+        RETURN NULL;
+    END IF;
+    INSERT INTO area_concept_status_counts (area, status, total)
+    SELECT area, status, -COUNT(*) FROM old_rows GROUP BY area, status
+    ON CONFLICT (area, status) DO UPDATE SET total = area_concept_status_counts.total + EXCLUDED.total;
+    RETURN NULL;
+END';
+
+-- Solo las filas cuyo estado o área cambió tocan los contadores;
+-- las ediciones de contenido no bloquean filas de contadores
+CREATE OR REPLACE FUNCTION area_concept_counts_on_update() RETURNS trigger
+    LANGUAGE plpgsql AS '
+BEGIN
+    INSERT INTO area_concept_status_counts (area, status, total)
+    SELECT area, status, SUM(delta) FROM (
+        SELECT o.area, o.status, -1 AS delta
+        FROM old_rows o JOIN new_rows n ON n.id = o.id
+        WHERE o.status IS DISTINCT FROM n.status OR o.area IS DISTINCT FROM n.area
+        UNION ALL
+        SELECT n.area, n.status, 1 AS delta
+        FROM old_rows o JOIN new_rows n ON n.id = o.id
+        WHERE o.status IS DISTINCT FROM n.status OR o.area IS DISTINCT FROM n.area
+    ) changes
+    GROUP BY area, status
+    HAVING SUM(delta) <> 0
+    ON CONFLICT (area, status) DO UPDATE SET total = area_concept_status_counts.total + EXCLUDED.total;
+    RETURN NULL;
+END';
+
+DROP TRIGGER IF EXISTS trg_area_concept_counts_insert ON area_concepts;
+CREATE TRIGGER trg_area_concept_counts_insert AFTER INSERT ON area_concepts
+    REFERENCING NEW TABLE AS new_rows
+    FOR EACH STATEMENT EXECUTE FUNCTION area_concept_counts_on_insert();
+
+DROP TRIGGER IF EXISTS trg_area_concept_counts_delete ON area_concepts;
+CREATE TRIGGER trg_area_concept_counts_delete AFTER DELETE ON area_concepts
+    REFERENCING OLD TABLE AS old_rows
+    FOR EACH STATEMENT EXECUTE FUNCTION area_concept_counts_on_delete();
+
+DROP TRIGGER IF EXISTS trg_area_concept_counts_update ON area_concepts;
+CREATE TRIGGER trg_area_concept_counts_update AFTER UPDATE ON area_concepts
+    REFERENCING OLD TABLE AS old_rows NEW TABLE AS new_rows
+    FOR EACH STATEMENT EXECUTE FUNCTION area_concept_counts_on_update();
+
+-- Carga inicial: solo cuando los contadores aún no existen
+INSERT INTO area_concept_status_counts (area, status, total)
+SELECT area, status, COUNT(*) FROM area_concepts
+WHERE NOT EXISTS (SELECT 1 FROM area_concept_status_counts)
+GROUP BY area, status;
+
+-- =====================================================
+-- OUTBOX DE EVENTOS DE CICLO DE VIDA
+-- Cada cambio de estado inserta un evento en concept_outbox dentro de
+-- la misma transacción (incluye transiciones masivas y liberación de
+-- reservas). La tabla la crea Hibernate (ConceptOutboxEvent).
+-- =====================================================
+
+-- Pendientes sin dead letter: el lote del relay y la verificación de
+-- eventos anteriores del mismo concepto (findPending)
+DROP INDEX IF EXISTS idx_concept_outbox_pending;
+CREATE INDEX IF NOT EXISTS idx_concept_outbox_due ON concept_outbox(id)
+WHERE published_at IS NULL AND dead_lettered_at IS NULL;
+CREATE INDEX IF NOT EXISTS idx_concept_outbox_due_concept ON concept_outbox(concept_id, id)
+WHERE published_at IS NULL AND dead_lettered_at IS NULL;
+
+CREATE OR REPLACE FUNCTION area_concept_outbox_on_update() RETURNS trigger
+    LANGUAGE plpgsql AS '
+BEGIN
+    INSERT INTO concept_outbox (concept_id, area, previous_status, new_status, actor, comments, occurred_at, attempts)
+    SELECT n.id, n.area, o.status, n.status,
+           CASE n.status
+               WHEN ''APPROVED'' THEN n.validated_by
+               WHEN ''REJECTED'' THEN n.validated_by
+               WHEN ''IN_REVIEW'' THEN n.claimed_by
+               ELSE coalesce(n.updated_by, n.created_by)
+           END,
+           CASE WHEN n.status IN (''APPROVED'', ''REJECTED'') THEN n.validation_comments END,
+           now(), 0
+    FROM old_rows o JOIN new_rows n ON n.id = o.id
+    WHERE o.status IS DISTINCT FROM n.status
+    ORDER BY n.id;
+    RETURN NULL;
+END';
+
+DROP TRIGGER IF EXISTS trg_area_concept_outbox_update ON area_concepts;
+CREATE TRIGGER trg_area_concept_outbox_update AFTER UPDATE ON area_concepts
+    REFERENCING OLD TABLE AS old_rows NEW TABLE AS new_rows
+    FOR EACH STATEMENT EXECUTE FUNCTION area_concept_outbox_on_update();
+
+-- =====================================================
+-- SINCRONIZACIÓN DE NOMBRES DE CONCEPTOS BASE
+-- =====================================================
+
+CREATE INDEX IF NOT EXISTS idx_area_concepts_base_concept ON area_concepts(base_concept_id);
+
+-- =====================================================
+-- ARCHIVO DE CONCEPTOS CERRADOS
+-- Los conceptos aprobados (estado terminal) con cierta antigüedad se mueven
+-- a area_concepts_archive en lotes (ConceptArchiveService), de modo que la
+-- tabla e índices del flujo activo contienen solo el conjunto de trabajo.
+-- Los conceptos archivados se consultan por id, pero no aparecen en los
+-- listados ni en la búsqueda por área, que leen solo la tabla activa.
+-- Los rechazados no se archivan: siguen siendo editables y reenviables.
+-- =====================================================
+
+DROP INDEX IF EXISTS idx_area_concepts_closed;
+CREATE INDEX IF NOT EXISTS idx_area_concepts_approved ON area_concepts(validated_at)
+WHERE status = 'APPROVED';
+
+CREATE TABLE IF NOT EXISTS area_concepts_archive (LIKE area_concepts INCLUDING DEFAULTS);
+
+CREATE UNIQUE INDEX IF NOT EXISTS idx_area_concepts_archive_id ON area_concepts_archive(id);
+
+-- Unicidad de nombres por área: los nombres archivados siguen reservados
+CREATE INDEX IF NOT EXISTS idx_area_concepts_archive_area_name ON area_concepts_archive(area, specific_name);
+
+-- Columnas agregadas por Hibernate a area_concepts después de crear el archivo
+DO '
+DECLARE
+    col record;
+BEGIN
+    FOR col IN
+        SELECT a.attname, format_type(a.atttypid, a.atttypmod) AS coltype
+        FROM pg_attribute a
+        WHERE a.attrelid = ''area_concepts''::regclass AND a.attnum > 0 AND NOT a.attisdropped
+          AND NOT EXISTS (SELECT 1 FROM pg_attribute b
+                          WHERE b.attrelid = ''area_concepts_archive''::regclass
+                            AND b.attname = a.attname AND NOT b.attisdropped)
+        ORDER BY a.attnum
+    LOOP
+        EXECUTE format(''ALTER TABLE area_concepts_archive ADD COLUMN %I %s'', col.attname, col.coltype);
+    END LOOP;
+END';
+
+-- Mueve un lote de conceptos aprobados antes de cutoff; devuelve las filas movidas.
+-- Reanudable: cada lote es independiente y omite filas bloqueadas.
+CREATE OR REPLACE FUNCTION archive_closed_area_concepts(cutoff timestamp, batch_size integer) RETURNS integer
+    LANGUAGE plpgsql AS '
+DECLARE
+    columns text;
+    moved integer;
+BEGIN
+    SELECT string_agg(quote_ident(a.attname), '', '' ORDER BY a.attnum) INTO columns
+    FROM pg_attribute a
+    JOIN pg_attribute b ON b.attrelid = ''area_concepts_archive''::regclass
+                       AND b.attname = a.attname AND NOT b.attisdropped
+    WHERE a.attrelid = ''area_concepts''::regclass AND a.attnum > 0 AND NOT a.attisdropped
+      AND a.attgenerated = '''';
+
+    PERFORM set_config(''cubs.archiving'', ''on'', true);
+
+    EXECUTE format(
+        ''WITH moved AS (
+              DELETE FROM area_concepts WHERE id IN (
+                  SELECT id FROM area_concepts
+                  WHERE status = ''''APPROVED'''' AND validated_at < $1
+                  ORDER BY validated_at, id
+                  LIMIT $2
+                  FOR UPDATE SKIP LOCKED)
+              RETURNING %1$s)
+          INSERT INTO area_concepts_archive (%1$s) SELECT %1$s FROM moved'', columns)
+    USING cutoff, batch_size;
+    GET DIAGNOSTICS moved = ROW_COUNT;
+
+    PERFORM set_config(''cubs.archiving'', ''off'', true);
+    RETURN moved;
+END';
@@ -0,0 +1,26 @@
+package saf.cgmaig.conceptmanagement;
+
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.context.annotation.Bean;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.utility.DockerImageName;
+
+/**
+ * Configuración de Testcontainers para tests de integración con PostgreSQL.
+ *
+ * Los scripts de indexes.sql (triggers, funciones y tabla de archivo) se
+ * aplican al iniciar con el perfil test, igual que en los entornos reales.
+ */
+@TestConfiguration(proxyBeanMethods = false)
+public class TestConfig {
+
+    @Bean
+    @ServiceConnection
+    public PostgreSQLContainer<?> postgreSQLContainer() {
+        return new PostgreSQLContainer<>(DockerImageName.parse("postgres:16-alpine"))
+                .withDatabaseName("concept_management_test")
+                .withUsername("test_user")
+                .withPassword("test_password");
+    }
+}
@@ -0,0 +1,157 @@
+package saf.cgmaig.conceptmanagement.repository;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import saf.cgmaig.conceptmanagement.TestConfig;
+import saf.cgmaig.conceptmanagement.model.AreaConcept;
+import saf.cgmaig.conceptmanagement.model.ConceptStatus;
+import saf.cgmaig.conceptmanagement.service.AreaConceptUpdateRequest;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static saf.cgmaig.conceptmanagement.repository.AreaConceptFixtures.concept;
+
+/**
+ * Archivo de conceptos aprobados (archive_closed_area_concepts) y reserva de
+ * nombres archivados
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@Import(TestConfig.class)
+@Testcontainers(disabledWithoutDocker = true)
+class AreaConceptArchiveTest {
+
+    private static final LocalDateTime CUTOFF = LocalDateTime.now().minusDays(365);
+
+    @Autowired
+    private AreaConceptRepository repository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void movesOnlyApprovedConceptsValidatedBeforeTheCutoff() {
+        AreaConcept oldApproved = closed(concept("CGRM", "Papel bond", ConceptStatus.APPROVED), 400);
+        AreaConcept oldRejected = closed(concept("CGRM", "Tóner negro", ConceptStatus.REJECTED), 500);
+        AreaConcept recentApproved = closed(concept("CGRM", "Engrapadora", ConceptStatus.APPROVED), 10);
+        AreaConcept draft = concept("CGRM", "Clips", ConceptStatus.DRAFT);
+        persist(oldApproved, oldRejected, recentApproved, draft);
+
+        assertThat(repository.archiveClosedChunk(CUTOFF, 100)).isEqualTo(1);
+        entityManager.clear();
+
+        assertThat(repository.findById(oldApproved.getId())).isEmpty();
+        assertThat(repository.findArchivedById(oldApproved.getId())).hasValueSatisfying(concept -> {
+            assertThat(concept.getSpecificName()).isEqualTo("Papel bond");
+            assertThat(concept.getStatus()).isEqualTo(ConceptStatus.APPROVED);
+            assertThat(concept.getVersion()).isEqualTo(oldApproved.getVersion());
+        });
+        assertThat(repository.findById(oldRejected.getId())).isPresent();
+        assertThat(repository.findArchivedById(oldRejected.getId())).isEmpty();
+        assertThat(repository.findById(recentApproved.getId())).isPresent();
+        assertThat(repository.findById(draft.getId())).isPresent();
+    }
+
+    @Test
+    void eachChunkMovesTheOldestConceptsUpToTheBatchSize() {
+        AreaConcept oldest = closed(concept("CGRM", "Papel bond", ConceptStatus.APPROVED), 900);
+        AreaConcept middle = closed(concept("CGRM", "Tóner negro", ConceptStatus.APPROVED), 800);
+        AreaConcept newest = closed(concept("CGRM", "Engrapadora", ConceptStatus.APPROVED), 700);
+        persist(oldest, middle, newest);
+
+        assertThat(repository.archiveClosedChunk(CUTOFF, 2)).isEqualTo(2);
+        entityManager.clear();
+        assertThat(repository.findArchivedById(oldest.getId())).isPresent();
+        assertThat(repository.findArchivedById(middle.getId())).isPresent();
+        assertThat(repository.findById(newest.getId())).isPresent();
+
+        assertThat(repository.archiveClosedChunk(CUTOFF, 2)).isEqualTo(1);
+        assertThat(repository.archiveClosedChunk(CUTOFF, 2)).isZero();
+    }
+
+    @Test
+    void archivedConceptsKeepCountingInStatistics() {
+        persist(
+            closed(concept("CGRM", "Papel bond", ConceptStatus.APPROVED), 400),
+            closed(concept("CGRM", "Tóner negro", ConceptStatus.APPROVED), 400));
+        Map<String, Long> before = countsByStatus("CGRM");
+
+        repository.archiveClosedChunk(CUTOFF, 100);
+
+        assertThat(countsByStatus("CGRM")).isEqualTo(before).containsEntry("APPROVED", 2L);
+    }
+
+    @Test
+    void regularDeletesAfterArchivingStillDecrementCounters() {
+        AreaConcept rejected = concept("CGRM", "Clips", ConceptStatus.REJECTED);
+        persist(closed(concept("CGRM", "Papel bond", ConceptStatus.APPROVED), 400), rejected);
+
+        repository.archiveClosedChunk(CUTOFF, 100);
+        jdbcTemplate.update("DELETE FROM area_concepts WHERE id = ?", rejected.getId());
+
+        assertThat(countsByStatus("CGRM")).containsEntry("APPROVED", 1L).containsEntry("REJECTED", 0L);
+    }
+
+    @Test
+    void archivedNamesStayReservedInTheirArea() {
+        AreaConcept archived = closed(concept("CGRM", "Papel bond", ConceptStatus.APPROVED), 400);
+        persist(archived);
+        repository.archiveClosedChunk(CUTOFF, 100);
+
+        assertThat(repository.existsBySpecificNameAndArea("Papel bond", "CGRM")).isTrue();
+        assertThat(repository.existsBySpecificNameAndArea("Papel bond", "CGSG")).isFalse();
+        assertThat(repository.existsBySpecificNameAndAreaExcludingId("Papel bond", "CGRM", -1L)).isTrue();
+        assertThat(repository.existsBySpecificNameAndAreaExcludingId("Papel bond", "CGRM", archived.getId()))
+            .isFalse();
+    }
+
+    @Test
+    void editsCannotTakeAnArchivedName() {
+        persist(closed(concept("CGRM", "Papel bond", ConceptStatus.APPROVED), 400));
+        AreaConcept draft = concept("CGRM", "Papel reciclado", ConceptStatus.DRAFT);
+        persist(draft);
+        repository.archiveClosedChunk(CUTOFF, 100);
+
+        AreaConceptUpdateRequest fields = AreaConceptUpdateRequest.from(draft);
+        fields.setSpecificName("Papel bond");
+
+        assertThat(repository.updateEditableConcept(draft.getId(), fields, "EDIT000000HTCXXX00",
+            LocalDateTime.now(), draft.getVersion())).isEmpty();
+        assertThat(repository.existsBySpecificNameAndAreaExcludingId("Papel bond", "CGRM", draft.getId()))
+            .isTrue();
+    }
+
+    private void persist(AreaConcept... concepts) {
+        repository.saveAllAndFlush(List.of(concepts));
+        entityManager.clear();
+    }
+
+    private static AreaConcept closed(AreaConcept concept, long daysAgo) {
+        concept.setValidatedBy("VALI000000HTCXXX00");
+        concept.setValidatedAt(LocalDateTime.now().minusDays(daysAgo));
+        return concept;
+    }
+
+    private Map<String, Long> countsByStatus(String area) {
+        Map<String, Long> counts = new HashMap<>();
+        for (Object[] row : repository.getStatusStatisticsByArea(area)) {
+            counts.put((String) row[0], ((Number) row[1]).longValue());
+        }
+        return counts;
+    }
+}
@@ -0,0 +1,97 @@
+package saf.cgmaig.conceptmanagement.repository;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import saf.cgmaig.conceptmanagement.TestConfig;
+import saf.cgmaig.conceptmanagement.model.AreaConcept;
+import saf.cgmaig.conceptmanagement.model.ConceptStatus;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static saf.cgmaig.conceptmanagement.repository.AreaConceptFixtures.concept;
+
+/**
+ * Aprobación/rechazo masivo en una sola sentencia (completeReviews)
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@Import(TestConfig.class)
+@Testcontainers(disabledWithoutDocker = true)
+class AreaConceptBulkReviewTest {
+
+    private static final String VALIDATOR = "VALI000000HTCXXX00";
+    private static final String OTHER_VALIDATOR = "OTRO000000HTCXXX00";
+
+    @Autowired
+    private AreaConceptRepository repository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Test
+    void completeReviewsUpdatesOnlyReviewableConceptsWithTheirOwnComments() {
+        AreaConcept submitted = concept("CGRM", "Papel bond", ConceptStatus.SUBMITTED);
+        AreaConcept ownClaim = claimed(concept("CGRM", "Tóner negro", ConceptStatus.IN_REVIEW), VALIDATOR, 30);
+        AreaConcept otherClaim = claimed(concept("CGRM", "Engrapadora", ConceptStatus.IN_REVIEW), OTHER_VALIDATOR, 30);
+        AreaConcept draft = concept("CGRM", "Clips", ConceptStatus.DRAFT);
+        AreaConcept approved = concept("CGRM", "Folders", ConceptStatus.APPROVED);
+        repository.saveAllAndFlush(List.of(submitted, ownClaim, otherClaim, draft, approved));
+        entityManager.clear();
+
+        Long[] ids = {submitted.getId(), ownClaim.getId(), otherClaim.getId(), draft.getId(), approved.getId()};
+        String[] comments = {"Correcto", "Completo", "Bien", "Listo", "Revisado"};
+        List<Long> updated = repository.completeReviews(ids, comments, "APPROVED", VALIDATOR, LocalDateTime.now());
+
+        assertThat(updated).containsExactlyInAnyOrder(submitted.getId(), ownClaim.getId());
+        entityManager.clear();
+        assertThat(repository.findById(submitted.getId()).orElseThrow().getValidationComments()).isEqualTo("Correcto");
+        assertThat(repository.findById(ownClaim.getId()).orElseThrow())
+            .satisfies(concept -> {
+                assertThat(concept.getStatus()).isEqualTo(ConceptStatus.APPROVED);
+                assertThat(concept.getValidationComments()).isEqualTo("Completo");
+                assertThat(concept.getClaimedBy()).isNull();
+                assertThat(concept.getVersion()).isEqualTo(ownClaim.getVersion() + 1);
+            });
+        assertThat(repository.findById(otherClaim.getId()).orElseThrow().getStatus()).isEqualTo(ConceptStatus.IN_REVIEW);
+        assertThat(repository.findById(draft.getId()).orElseThrow().getStatus()).isEqualTo(ConceptStatus.DRAFT);
+    }
+
+    @Test
+    void completeReviewsTakesOverExpiredClaims() {
+        AreaConcept expired = claimed(concept("CGRM", "Papel bond", ConceptStatus.IN_REVIEW), OTHER_VALIDATOR, -1);
+        repository.saveAndFlush(expired);
+        entityManager.clear();
+
+        List<Long> updated = repository.completeReviews(new Long[] {expired.getId()}, new String[] {"Incompleto"},
+            "REJECTED", VALIDATOR, LocalDateTime.now());
+
+        assertThat(updated).containsExactly(expired.getId());
+    }
+
+    @Test
+    void findReviewStateByIdsReturnsOneRowPerExistingConcept() {
+        AreaConcept inReview = claimed(concept("CGSG", "Limpieza", ConceptStatus.IN_REVIEW), VALIDATOR, 30);
+        repository.saveAndFlush(inReview);
+
+        List<Object[]> rows = repository.findReviewStateByIds(List.of(inReview.getId(), -1L));
+
+        assertThat(rows).hasSize(1);
+        assertThat(rows.get(0)).hasSize(5)
+            .startsWith(inReview.getId(), "CGSG", ConceptStatus.IN_REVIEW, VALIDATOR);
+    }
+
+    private static AreaConcept claimed(AreaConcept concept, String validator, long leaseMinutes) {
+        concept.setClaimedBy(validator);
+        concept.setLeaseExpiresAt(LocalDateTime.now().plusMinutes(leaseMinutes));
+        return concept;
+    }
+}
@@ -0,0 +1,26 @@
+package saf.cgmaig.conceptmanagement.repository;
+
+import saf.cgmaig.conceptmanagement.model.AreaConcept;
+import saf.cgmaig.conceptmanagement.model.ConceptStatus;
+
+/**
+ * Conceptos de área mínimos para los tests de repositorio
+ */
+final class AreaConceptFixtures {
+
+    private AreaConceptFixtures() {
+    }
+
+    static AreaConcept concept(String area, String specificName, ConceptStatus status) {
+        AreaConcept concept = new AreaConcept();
+        concept.setBaseConceptId(1L);
+        concept.setBaseConceptName("Concepto base");
+        concept.setSpecificName(specificName);
+        concept.setArea(area);
+        concept.setChapter("2000");
+        concept.setChapterTemplate("2000_MATERIALES");
+        concept.setStatus(status);
+        concept.setCreatedBy("CREA000000HTCXXX00");
+        return concept;
+    }
+}
@@ -0,0 +1,134 @@
+package saf.cgmaig.conceptmanagement.repository;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.testcontainers.containers.Container;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.MountableFile;
+import saf.cgmaig.conceptmanagement.TestConfig;
+import saf.cgmaig.conceptmanagement.model.AreaConcept;
+import saf.cgmaig.conceptmanagement.model.ConceptStatus;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static saf.cgmaig.conceptmanagement.repository.AreaConceptFixtures.concept;
+
+/**
+ * Migración de area_concepts a tabla particionada (db/partition-area-concepts.sql)
+ *
+ * El script se ejecuta con psql dentro del contenedor, igual que en los
+ * entornos reales, sobre una tabla con datos. Sin transacción de prueba:
+ * el script toma un bloqueo exclusivo sobre la tabla. El contexto se
+ * descarta al terminar porque el esquema queda particionado.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@Import(TestConfig.class)
+@Testcontainers(disabledWithoutDocker = true)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@DirtiesContext
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class AreaConceptPartitionMigrationTest {
+
+    @Autowired
+    private AreaConceptRepository repository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PostgreSQLContainer<?> postgres;
+
+    private List<AreaConcept> seeded;
+
+    @BeforeAll
+    void migrateTableWithData() throws Exception {
+        seeded = repository.saveAllAndFlush(List.of(
+            concept("CGRM", "Papel bond", ConceptStatus.DRAFT),
+            concept("CGRM", "Tóner negro", ConceptStatus.APPROVED),
+            concept("CGSG", "Limpieza de oficinas", ConceptStatus.SUBMITTED),
+            concept("DGTI", "Licencias de software", ConceptStatus.DRAFT)));
+
+        postgres.copyFileToContainer(MountableFile.forClasspathResource("indexes.sql"), "/scripts/indexes.sql");
+        postgres.copyFileToContainer(MountableFile.forClasspathResource("db/partition-area-concepts.sql"),
+            "/scripts/db/partition-area-concepts.sql");
+
+        Container.ExecResult result = postgres.execInContainer("psql", "-v", "ON_ERROR_STOP=1",
+            "-U", postgres.getUsername(), "-d", postgres.getDatabaseName(),
+            "-f", "/scripts/db/partition-area-concepts.sql");
+        assertThat(result.getExitCode()).as(result.getStderr()).isZero();
+    }
+
+    @Test
+    void tableIsPartitionedByArea() {
+        assertThat(jdbcTemplate.queryForObject(
+            "SELECT relkind::text FROM pg_class WHERE oid = 'area_concepts'::regclass", String.class))
+            .isEqualTo("p");
+        assertThat(jdbcTemplate.queryForList(
+            "SELECT inhrelid::regclass::text FROM pg_inherits WHERE inhparent = 'area_concepts'::regclass",
+            String.class))
+            .containsExactlyInAnyOrder("area_concepts_cgrm", "area_concepts_cgsg", "area_concepts_cgmaig",
+                "area_concepts_patrimonio", "area_concepts_otras");
+    }
+
+    @Test
+    void existingRowsKeepTheirIdsInTheirAreaPartition() {
+        assertThat(partitionOf(seeded.get(0).getId())).isEqualTo("area_concepts_cgrm");
+        assertThat(partitionOf(seeded.get(1).getId())).isEqualTo("area_concepts_cgrm");
+        assertThat(partitionOf(seeded.get(2).getId())).isEqualTo("area_concepts_cgsg");
+        assertThat(partitionOf(seeded.get(3).getId())).isEqualTo("area_concepts_otras");
+        assertThat(repository.findById(seeded.get(1).getId()))
+            .hasValueSatisfying(concept -> assertThat(concept.getSpecificName()).isEqualTo("Tóner negro"));
+    }
+
+    @Test
+    void countersAreNotRecountedByTheMigration() {
+        assertThat(countsByStatus("CGRM")).containsEntry("DRAFT", 1L).containsEntry("APPROVED", 1L);
+        assertThat(countsByStatus("CGSG")).containsEntry("SUBMITTED", 1L);
+    }
+
+    @Test
+    void newConceptsAreRoutedAndStillFireTheTriggers() {
+        AreaConcept saved = repository.saveAndFlush(concept("PATRIMONIO", "Mobiliario", ConceptStatus.SUBMITTED));
+
+        assertThat(saved.getId()).isGreaterThan(seeded.get(3).getId());
+        assertThat(partitionOf(saved.getId())).isEqualTo("area_concepts_patrimonio");
+        assertThat(countsByStatus("PATRIMONIO")).containsEntry("SUBMITTED", 1L);
+
+        jdbcTemplate.update("UPDATE area_concepts SET status = 'APPROVED', validated_by = 'VALI000000HTCXXX00' " +
+            "WHERE id = ?", saved.getId());
+
+        assertThat(countsByStatus("PATRIMONIO")).containsEntry("SUBMITTED", 0L).containsEntry("APPROVED", 1L);
+        assertThat(jdbcTemplate.queryForObject(
+            "SELECT count(*) FROM concept_outbox WHERE concept_id = ? AND new_status = 'APPROVED'",
+            Long.class, saved.getId())).isEqualTo(1L);
+    }
+
+    private String partitionOf(Long id) {
+        return jdbcTemplate.queryForObject(
+            "SELECT tableoid::regclass::text FROM area_concepts WHERE id = ?", String.class, id);
+    }
+
+    private Map<String, Long> countsByStatus(String area) {
+        Map<String, Long> counts = new HashMap<>();
+        for (Object[] row : repository.getStatusStatisticsByArea(area)) {
+            counts.put((String) row[0], ((Number) row[1]).longValue());
+        }
+        return counts;
+    }
+}
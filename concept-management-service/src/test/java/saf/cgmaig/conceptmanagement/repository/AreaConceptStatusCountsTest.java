@@ -0,0 +1,101 @@
+package saf.cgmaig.conceptmanagement.repository;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import saf.cgmaig.conceptmanagement.TestConfig;
+import saf.cgmaig.conceptmanagement.model.AreaConcept;
+import saf.cgmaig.conceptmanagement.model.ConceptStatus;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static saf.cgmaig.conceptmanagement.repository.AreaConceptFixtures.concept;
+
+/**
+ * Contadores de estado por área mantenidos por triggers (indexes.sql)
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@Import(TestConfig.class)
+@Testcontainers(disabledWithoutDocker = true)
+class AreaConceptStatusCountsTest {
+
+    @Autowired
+    private AreaConceptRepository repository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void insertsAreCountedPerAreaAndStatus() {
+        repository.saveAllAndFlush(List.of(
+            concept("CGRM", "Papel bond", ConceptStatus.DRAFT),
+            concept("CGRM", "Tóner negro", ConceptStatus.DRAFT),
+            concept("CGRM", "Engrapadora", ConceptStatus.SUBMITTED),
+            concept("CGSG", "Limpieza de oficinas", ConceptStatus.DRAFT)));
+
+        assertThat(countsByStatus("CGRM")).containsEntry("DRAFT", 2L).containsEntry("SUBMITTED", 1L);
+        assertThat(countsByStatus("CGSG")).containsEntry("DRAFT", 1L).hasSize(1);
+    }
+
+    @Test
+    void multiRowStatusChangeMovesEachRowOnce() {
+        List<AreaConcept> concepts = repository.saveAllAndFlush(List.of(
+            concept("CGRM", "Papel bond", ConceptStatus.DRAFT),
+            concept("CGRM", "Tóner negro", ConceptStatus.DRAFT),
+            concept("CGRM", "Engrapadora", ConceptStatus.DRAFT)));
+
+        jdbcTemplate.update("UPDATE area_concepts SET status = 'SUBMITTED' WHERE id IN (?, ?)",
+            concepts.get(0).getId(), concepts.get(1).getId());
+
+        assertThat(countsByStatus("CGRM")).containsEntry("DRAFT", 1L).containsEntry("SUBMITTED", 2L);
+    }
+
+    @Test
+    void contentEditsDoNotTouchCounters() {
+        AreaConcept saved = repository.saveAndFlush(concept("CGRM", "Papel bond", ConceptStatus.DRAFT));
+        Map<String, Long> before = countsByStatus("CGRM");
+
+        jdbcTemplate.update("UPDATE area_concepts SET general_field = 'Tamaño carta' WHERE id = ?", saved.getId());
+
+        assertThat(countsByStatus("CGRM")).isEqualTo(before);
+    }
+
+    @Test
+    void areaChangeMovesTheCounterBetweenAreas() {
+        AreaConcept saved = repository.saveAndFlush(concept("CGRM", "Papel bond", ConceptStatus.APPROVED));
+
+        jdbcTemplate.update("UPDATE area_concepts SET area = 'CGSG' WHERE id = ?", saved.getId());
+
+        assertThat(countsByStatus("CGRM")).containsEntry("APPROVED", 0L);
+        assertThat(countsByStatus("CGSG")).containsEntry("APPROVED", 1L);
+    }
+
+    @Test
+    void deletesDecrementCounters() {
+        List<AreaConcept> concepts = repository.saveAllAndFlush(List.of(
+            concept("CGRM", "Papel bond", ConceptStatus.REJECTED),
+            concept("CGRM", "Tóner negro", ConceptStatus.REJECTED)));
+
+        jdbcTemplate.update("DELETE FROM area_concepts WHERE id = ?", concepts.get(0).getId());
+
+        assertThat(countsByStatus("CGRM")).containsEntry("REJECTED", 1L);
+    }
+
+    private Map<String, Long> countsByStatus(String area) {
+        Map<String, Long> counts = new HashMap<>();
+        for (Object[] row : repository.getStatusStatisticsByArea(area)) {
+            counts.put((String) row[0], ((Number) row[1]).longValue());
+        }
+        return counts;
+    }
+}
@@ -0,0 +1,232 @@
+package saf.cgmaig.conceptmanagement.repository;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import saf.cgmaig.conceptmanagement.TestConfig;
+import saf.cgmaig.conceptmanagement.model.AreaConcept;
+import saf.cgmaig.conceptmanagement.model.ConceptStatus;
+import saf.cgmaig.conceptmanagement.service.AreaConceptUpdateRequest;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static saf.cgmaig.conceptmanagement.repository.AreaConceptFixtures.concept;
+
+/**
+ * Transiciones en una sola sentencia (UPDATE ... RETURNING) con versión optimista
+ *
+ * Cada concepto se persiste y se limpia el contexto de persistencia antes de
+ * la sentencia, para que la fila devuelta refleje lo escrito en la base de datos.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@Import(TestConfig.class)
+@Testcontainers(disabledWithoutDocker = true)
+class AreaConceptTransitionQueriesTest {
+
+    private static final String EDITOR = "EDIT000000HTCXXX00";
+    private static final String VALIDATOR = "VALI000000HTCXXX00";
+    private static final String OTHER_VALIDATOR = "OTRO000000HTCXXX00";
+
+    @Autowired
+    private AreaConceptRepository repository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Test
+    void updateEditableConceptReturnsToDraftAndClearsValidation() {
+        AreaConcept rejected = concept("CGRM", "Papel bond", ConceptStatus.REJECTED);
+        rejected.setValidatedBy(VALIDATOR);
+        rejected.setValidatedAt(LocalDateTime.now());
+        rejected.setValidationComments("Falta el tamaño");
+        AreaConcept saved = persist(rejected);
+
+        AreaConceptUpdateRequest fields = AreaConceptUpdateRequest.from(saved);
+        fields.setSpecificName("Papel bond carta");
+        Optional<AreaConcept> updated = repository.updateEditableConcept(
+            saved.getId(), fields, EDITOR, LocalDateTime.now(), saved.getVersion());
+
+        assertThat(updated).hasValueSatisfying(concept -> {
+            assertThat(concept.getSpecificName()).isEqualTo("Papel bond carta");
+            assertThat(concept.getStatus()).isEqualTo(ConceptStatus.DRAFT);
+            assertThat(concept.getValidatedBy()).isNull();
+            assertThat(concept.getValidationComments()).isNull();
+            assertThat(concept.getUpdatedBy()).isEqualTo(EDITOR);
+            assertThat(concept.getVersion()).isEqualTo(saved.getVersion() + 1);
+        });
+    }
+
+    @Test
+    void updateEditableConceptRejectsStaleVersion() {
+        AreaConcept saved = persist(concept("CGRM", "Papel bond", ConceptStatus.DRAFT));
+
+        AreaConceptUpdateRequest fields = AreaConceptUpdateRequest.from(saved);
+        fields.setSpecificName("Papel bond carta");
+
+        assertThat(repository.updateEditableConcept(
+            saved.getId(), fields, EDITOR, LocalDateTime.now(), saved.getVersion() + 1)).isEmpty();
+        assertThat(reload(saved).getSpecificName()).isEqualTo("Papel bond");
+    }
+
+    @Test
+    void updateEditableConceptWithoutExpectedVersionSkipsTheVersionCheck() {
+        AreaConcept saved = persist(concept("CGRM", "Papel bond", ConceptStatus.DRAFT));
+
+        AreaConceptUpdateRequest fields = AreaConceptUpdateRequest.from(saved);
+        fields.setGeneral("Tamaño carta");
+
+        assertThat(repository.updateEditableConcept(saved.getId(), fields, EDITOR, LocalDateTime.now(), -1))
+            .hasValueSatisfying(concept -> assertThat(concept.getGeneral()).isEqualTo("Tamaño carta"));
+    }
+
+    @Test
+    void updateEditableConceptIgnoresConceptsUnderValidation() {
+        AreaConcept saved = persist(concept("CGRM", "Papel bond", ConceptStatus.SUBMITTED));
+
+        AreaConceptUpdateRequest fields = AreaConceptUpdateRequest.from(saved);
+        fields.setGeneral("Tamaño carta");
+
+        assertThat(repository.updateEditableConcept(
+            saved.getId(), fields, EDITOR, LocalDateTime.now(), saved.getVersion())).isEmpty();
+        assertThat(reload(saved).getStatus()).isEqualTo(ConceptStatus.SUBMITTED);
+    }
+
+    @Test
+    void updateEditableConceptKeepsNamesUniquePerArea() {
+        persist(concept("CGRM", "Tóner negro", ConceptStatus.APPROVED));
+        persist(concept("CGSG", "Papel reciclado", ConceptStatus.APPROVED));
+        AreaConcept saved = persist(concept("CGRM", "Papel bond", ConceptStatus.DRAFT));
+
+        AreaConceptUpdateRequest duplicate = AreaConceptUpdateRequest.from(saved);
+        duplicate.setSpecificName("Tóner negro");
+        assertThat(repository.updateEditableConcept(
+            saved.getId(), duplicate, EDITOR, LocalDateTime.now(), saved.getVersion())).isEmpty();
+
+        AreaConceptUpdateRequest otherArea = AreaConceptUpdateRequest.from(saved);
+        otherArea.setSpecificName("Papel reciclado");
+        assertThat(repository.updateEditableConcept(
+            saved.getId(), otherArea, EDITOR, LocalDateTime.now(), saved.getVersion())).isPresent();
+    }
+
+    @Test
+    void completeReviewApprovesAndReleasesTheClaim() {
+        AreaConcept inReview = concept("CGRM", "Papel bond", ConceptStatus.IN_REVIEW);
+        inReview.setClaimedBy(VALIDATOR);
+        inReview.setLeaseExpiresAt(LocalDateTime.now().plusMinutes(30));
+        AreaConcept saved = persist(inReview);
+
+        Optional<AreaConcept> approved = repository.completeReview(saved.getId(), "APPROVED", VALIDATOR,
+            "Correcto", LocalDateTime.now(), saved.getVersion());
+
+        assertThat(approved).hasValueSatisfying(concept -> {
+            assertThat(concept.getStatus()).isEqualTo(ConceptStatus.APPROVED);
+            assertThat(concept.getValidatedBy()).isEqualTo(VALIDATOR);
+            assertThat(concept.getValidationComments()).isEqualTo("Correcto");
+            assertThat(concept.getClaimedBy()).isNull();
+            assertThat(concept.getLeaseExpiresAt()).isNull();
+            assertThat(concept.getVersion()).isEqualTo(saved.getVersion() + 1);
+        });
+    }
+
+    @Test
+    void completeReviewRespectsAnotherValidatorsLiveClaim() {
+        AreaConcept inReview = concept("CGRM", "Papel bond", ConceptStatus.IN_REVIEW);
+        inReview.setClaimedBy(OTHER_VALIDATOR);
+        inReview.setLeaseExpiresAt(LocalDateTime.now().plusMinutes(30));
+        AreaConcept saved = persist(inReview);
+
+        assertThat(repository.completeReview(saved.getId(), "REJECTED", VALIDATOR,
+            "Incompleto", LocalDateTime.now(), -1)).isEmpty();
+        assertThat(reload(saved).getStatus()).isEqualTo(ConceptStatus.IN_REVIEW);
+    }
+
+    @Test
+    void completeReviewTakesOverAnExpiredClaim() {
+        AreaConcept inReview = concept("CGRM", "Papel bond", ConceptStatus.IN_REVIEW);
+        inReview.setClaimedBy(OTHER_VALIDATOR);
+        inReview.setLeaseExpiresAt(LocalDateTime.now().minusMinutes(1));
+        AreaConcept saved = persist(inReview);
+
+        assertThat(repository.completeReview(saved.getId(), "REJECTED", VALIDATOR,
+            "Incompleto", LocalDateTime.now(), -1))
+            .hasValueSatisfying(concept -> assertThat(concept.getStatus()).isEqualTo(ConceptStatus.REJECTED));
+    }
+
+    @Test
+    void completeReviewRejectsStaleVersionAndClosedConcepts() {
+        AreaConcept submitted = persist(concept("CGRM", "Papel bond", ConceptStatus.SUBMITTED));
+        AreaConcept approved = persist(concept("CGRM", "Tóner negro", ConceptStatus.APPROVED));
+
+        assertThat(repository.completeReview(submitted.getId(), "APPROVED", VALIDATOR,
+            null, LocalDateTime.now(), submitted.getVersion() + 1)).isEmpty();
+        assertThat(repository.completeReview(approved.getId(), "REJECTED", VALIDATOR,
+            "Cambio de criterio", LocalDateTime.now(), -1)).isEmpty();
+    }
+
+    @Test
+    void claimAndReleaseBumpTheVersion() {
+        AreaConcept saved = persist(concept("CGRM", "Papel bond", ConceptStatus.SUBMITTED));
+        LocalDateTime claimedAt = LocalDateTime.now().minusMinutes(1);
+
+        repository.claimConcepts(List.of(saved.getId()), ConceptStatus.IN_REVIEW, VALIDATOR,
+            LocalDateTime.now().plusMinutes(30), claimedAt);
+        AreaConcept claimed = reload(saved);
+        assertThat(claimed.getVersion()).isEqualTo(saved.getVersion() + 1);
+
+        LocalDateTime releasedAt = LocalDateTime.now();
+        assertThat(repository.releaseClaim(saved.getId(), VALIDATOR, ConceptStatus.IN_REVIEW,
+            ConceptStatus.SUBMITTED, releasedAt)).isEqualTo(1);
+        AreaConcept released = reload(saved);
+        assertThat(released.getStatus()).isEqualTo(ConceptStatus.SUBMITTED);
+        assertThat(released.getVersion()).isEqualTo(claimed.getVersion() + 1);
+        assertThat(released.getUpdatedAt()).isAfter(claimedAt);
+
+        assertThat(repository.completeReview(saved.getId(), "APPROVED", VALIDATOR,
+            null, LocalDateTime.now(), saved.getVersion())).isEmpty();
+    }
+
+    @Test
+    void expiredClaimsReturnToTheQueueWithANewVersion() {
+        AreaConcept expired = concept("CGRM", "Papel bond", ConceptStatus.IN_REVIEW);
+        expired.setClaimedBy(VALIDATOR);
+        expired.setLeaseExpiresAt(LocalDateTime.now().minusMinutes(1));
+        AreaConcept live = concept("CGRM", "Tóner negro", ConceptStatus.IN_REVIEW);
+        live.setClaimedBy(OTHER_VALIDATOR);
+        live.setLeaseExpiresAt(LocalDateTime.now().plusMinutes(30));
+        AreaConcept savedExpired = persist(expired);
+        AreaConcept savedLive = persist(live);
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+
+        assertThat(repository.releaseExpiredClaims(now, ConceptStatus.IN_REVIEW, ConceptStatus.SUBMITTED))
+            .isEqualTo(1);
+
+        AreaConcept released = reload(savedExpired);
+        assertThat(released.getStatus()).isEqualTo(ConceptStatus.SUBMITTED);
+        assertThat(released.getClaimedBy()).isNull();
+        assertThat(released.getVersion()).isEqualTo(savedExpired.getVersion() + 1);
+        assertThat(released.getUpdatedAt()).isEqualTo(now);
+        assertThat(reload(savedLive).getVersion()).isEqualTo(savedLive.getVersion());
+    }
+
+    private AreaConcept persist(AreaConcept concept) {
+        AreaConcept saved = repository.saveAndFlush(concept);
+        entityManager.clear();
+        return saved;
+    }
+
+    private AreaConcept reload(AreaConcept concept) {
+        entityManager.clear();
+        return repository.findById(concept.getId()).orElseThrow();
+    }
+}
@@ -0,0 +1,157 @@
+package saf.cgmaig.conceptmanagement.repository;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import saf.cgmaig.conceptmanagement.TestConfig;
+import saf.cgmaig.conceptmanagement.model.AreaConcept;
+import saf.cgmaig.conceptmanagement.model.ConceptOutboxEvent;
+import saf.cgmaig.conceptmanagement.model.ConceptStatus;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static saf.cgmaig.conceptmanagement.repository.AreaConceptFixtures.concept;
+
+/**
+ * Eventos de ciclo de vida escritos por trigger en concept_outbox (indexes.sql)
+ * y selección de eventos publicables del relay
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@Import(TestConfig.class)
+@Testcontainers(disabledWithoutDocker = true)
+class ConceptOutboxTriggerTest {
+
+    private static final String VALIDATOR = "VALI000000HTCXXX00";
+
+    @Autowired
+    private AreaConceptRepository areaConceptRepository;
+
+    @Autowired
+    private ConceptOutboxRepository outboxRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void statusChangeWritesEventWithActorAndComments() {
+        AreaConcept saved = areaConceptRepository.saveAndFlush(concept("CGRM", "Papel bond", ConceptStatus.SUBMITTED));
+
+        jdbcTemplate.update("UPDATE area_concepts SET status = 'REJECTED', validated_by = ?, " +
+            "validation_comments = 'Falta el tamaño' WHERE id = ?", VALIDATOR, saved.getId());
+
+        assertThat(pending())
+            .extracting(ConceptOutboxEvent::getConceptId, ConceptOutboxEvent::getArea,
+                ConceptOutboxEvent::getPreviousStatus, ConceptOutboxEvent::getNewStatus,
+                ConceptOutboxEvent::getActor, ConceptOutboxEvent::getComments)
+            .containsExactly(tuple(saved.getId(), "CGRM", "SUBMITTED", "REJECTED", VALIDATOR, "Falta el tamaño"));
+    }
+
+    @Test
+    void claimIsAttributedToTheValidatorWithoutComments() {
+        AreaConcept saved = areaConceptRepository.saveAndFlush(concept("CGRM", "Papel bond", ConceptStatus.SUBMITTED));
+
+        jdbcTemplate.update("UPDATE area_concepts SET status = 'IN_REVIEW', claimed_by = ?, " +
+            "validation_comments = 'Nota previa' WHERE id = ?", VALIDATOR, saved.getId());
+
+        assertThat(pending())
+            .extracting(ConceptOutboxEvent::getNewStatus, ConceptOutboxEvent::getActor, ConceptOutboxEvent::getComments)
+            .containsExactly(tuple("IN_REVIEW", VALIDATOR, null));
+    }
+
+    @Test
+    void contentEditsDoNotWriteEvents() {
+        AreaConcept saved = areaConceptRepository.saveAndFlush(concept("CGRM", "Papel bond", ConceptStatus.DRAFT));
+
+        jdbcTemplate.update("UPDATE area_concepts SET general_field = 'Tamaño carta' WHERE id = ?", saved.getId());
+
+        assertThat(pending()).isEmpty();
+    }
+
+    @Test
+    void multiRowTransitionWritesOneEventPerConceptInIdOrder() {
+        List<AreaConcept> concepts = areaConceptRepository.saveAllAndFlush(List.of(
+            concept("CGRM", "Papel bond", ConceptStatus.SUBMITTED),
+            concept("CGRM", "Tóner negro", ConceptStatus.SUBMITTED),
+            concept("CGRM", "Engrapadora", ConceptStatus.APPROVED)));
+
+        jdbcTemplate.update("UPDATE area_concepts SET status = 'APPROVED', validated_by = ? WHERE area = 'CGRM'",
+            VALIDATOR);
+
+        assertThat(pending())
+            .extracting(ConceptOutboxEvent::getConceptId, ConceptOutboxEvent::getPreviousStatus)
+            .containsExactly(
+                tuple(concepts.get(0).getId(), "SUBMITTED"),
+                tuple(concepts.get(1).getId(), "SUBMITTED"));
+    }
+
+    @Test
+    void relayLockIsAvailableToASingleTransaction() {
+        assertThat(outboxRepository.tryRelayLock(42L)).isTrue();
+    }
+
+    @Test
+    void eventsWaitingForBackoffBlockLaterEventsOfTheSameConcept() {
+        List<AreaConcept> concepts = areaConceptRepository.saveAllAndFlush(List.of(
+            concept("CGRM", "Papel bond", ConceptStatus.SUBMITTED),
+            concept("CGRM", "Tóner negro", ConceptStatus.SUBMITTED)));
+        transition(concepts.get(0), "IN_REVIEW");
+        transition(concepts.get(1), "IN_REVIEW");
+        transition(concepts.get(0), "APPROVED");
+        List<ConceptOutboxEvent> events = pending();
+
+        outboxRepository.markFailed(events.get(0).getId(), "Sink no disponible",
+            LocalDateTime.now().plusMinutes(5), null);
+
+        assertThat(pending())
+            .extracting(ConceptOutboxEvent::getConceptId, ConceptOutboxEvent::getNewStatus)
+            .containsExactly(tuple(concepts.get(1).getId(), "IN_REVIEW"));
+        assertThat(outboxRepository.findPending(LocalDateTime.now().plusMinutes(10), 100)).hasSize(3);
+    }
+
+    @Test
+    void claimedEventsAreSkippedUntilTheLeaseExpires() {
+        AreaConcept saved = areaConceptRepository.saveAndFlush(concept("CGRM", "Papel bond", ConceptStatus.SUBMITTED));
+        transition(saved, "IN_REVIEW");
+        List<Long> ids = pending().stream().map(ConceptOutboxEvent::getId).toList();
+
+        outboxRepository.claim(ids, LocalDateTime.now().plusMinutes(1));
+        transition(saved, "APPROVED");
+
+        assertThat(pending()).isEmpty();
+        outboxRepository.release(ids);
+        assertThat(pending()).extracting(ConceptOutboxEvent::getNewStatus).containsExactly("IN_REVIEW", "APPROVED");
+    }
+
+    @Test
+    void deadLetteredAndPublishedEventsAreSkippedWithoutBlockingTheConcept() {
+        AreaConcept saved = areaConceptRepository.saveAndFlush(concept("CGRM", "Papel bond", ConceptStatus.SUBMITTED));
+        transition(saved, "IN_REVIEW");
+        transition(saved, "APPROVED");
+        transition(saved, "REJECTED");
+        List<ConceptOutboxEvent> events = pending();
+        LocalDateTime now = LocalDateTime.now();
+
+        outboxRepository.markFailed(events.get(0).getId(), "Sink no disponible", null, now);
+        outboxRepository.markPublished(List.of(events.get(1).getId()), now);
+
+        assertThat(pending()).extracting(ConceptOutboxEvent::getId).containsExactly(events.get(2).getId());
+    }
+
+    private void transition(AreaConcept concept, String status) {
+        jdbcTemplate.update("UPDATE area_concepts SET status = ? WHERE id = ?", status, concept.getId());
+    }
+
+    private List<ConceptOutboxEvent> pending() {
+        return outboxRepository.findPending(LocalDateTime.now(), 100);
+    }
+}
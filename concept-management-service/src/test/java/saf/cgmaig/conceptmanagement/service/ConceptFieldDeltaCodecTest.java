@@ -0,0 +1,113 @@
+package saf.cgmaig.conceptmanagement.service;
+
+import org.junit.jupiter.api.Test;
+import saf.cgmaig.conceptmanagement.model.AreaConcept;
+import saf.cgmaig.conceptmanagement.model.ConceptHistoryEntry;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Deltas comprimidos de campos de template y reconstrucción por versión
+ */
+class ConceptFieldDeltaCodecTest {
+
+    private final ConceptFieldDeltaCodec codec = new ConceptFieldDeltaCodec();
+
+    @Test
+    void encodeAndDecodeKeepValuesAndExplicitNulls() {
+        Map<String, String> delta = new LinkedHashMap<>();
+        delta.put("general", "Papel bond tamaño carta, 75 g/m²");
+        delta.put("color", null);
+
+        byte[] encoded = codec.encode(delta);
+
+        assertThat(codec.decode(encoded)).containsExactlyEntriesOf(delta);
+    }
+
+    @Test
+    void encodingCompressesRepetitiveText() {
+        String text = "Especificación técnica del producto. ".repeat(50);
+
+        assertThat(codec.encode(Map.of("descripcionTecnica", text)).length).isLessThan(text.length() / 4);
+    }
+
+    @Test
+    void corruptDeltasAreReported() {
+        assertThatThrownBy(() -> codec.decode(new byte[] {1, 2, 3}))
+            .isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void fieldsOfListsEveryTrackedField() {
+        AreaConcept concept = new AreaConcept();
+        concept.setGeneral("Papel bond");
+        concept.setColor("Blanco");
+
+        Map<String, String> fields = codec.fieldsOf(concept);
+
+        assertThat(fields).hasSize(11).containsEntry("general", "Papel bond").containsEntry("color", "Blanco")
+            .containsEntry("especifica", null);
+    }
+
+    @Test
+    void diffKeepsOnlyChangedFieldsIncludingCleared() {
+        Map<String, String> previous = fields("general", "Papel bond", "color", "Blanco");
+        Map<String, String> current = fields("general", "Papel bond carta", "color", null);
+        current.put("especifica", null);
+
+        assertThat(codec.diff(previous, current))
+            .containsOnlyKeys("general", "color")
+            .containsEntry("general", "Papel bond carta")
+            .containsEntry("color", null);
+    }
+
+    @Test
+    void nonNullDropsEmptyFields() {
+        assertThat(codec.nonNull(fields("general", "Papel bond", "color", null)))
+            .containsExactlyEntriesOf(Map.of("general", "Papel bond"));
+    }
+
+    @Test
+    void reconstructStartsFromTheLatestSnapshotAtOrBeforeTheVersion() {
+        List<ConceptHistoryEntry> history = List.of(
+            entry(1, true, fields("general", "v1", "color", "Blanco")),
+            entry(2, false, fields("general", "v2")),
+            entry(5, false, fields("color", null)),
+            entry(6, true, fields("general", "v6")),
+            entry(7, false, fields("color", "Azul")));
+
+        assertThat(codec.reconstruct(history, 2)).containsEntry("general", "v2").containsEntry("color", "Blanco");
+        assertThat(codec.reconstruct(history, 4)).containsEntry("general", "v2").containsEntry("color", "Blanco");
+        assertThat(codec.reconstruct(history, 5)).containsEntry("general", "v2").containsEntry("color", null);
+        assertThat(codec.reconstruct(history, 6)).containsEntry("general", "v6").containsEntry("color", null);
+        assertThat(codec.reconstruct(history, 7)).containsEntry("general", "v6").containsEntry("color", "Azul");
+    }
+
+    @Test
+    void reconstructWithoutSnapshotReturnsEmptyFields() {
+        List<ConceptHistoryEntry> history = List.of(entry(3, true, fields("general", "v3")));
+
+        assertThat(codec.reconstruct(history, 2)).hasSize(11)
+            .allSatisfy((name, value) -> assertThat(value).isNull());
+    }
+
+    private ConceptHistoryEntry entry(long version, boolean snapshot, Map<String, String> content) {
+        return new ConceptHistoryEntry(1L, version, "EDIT000000HTCXXX00", LocalDateTime.now(), snapshot,
+            codec.encode(content));
+    }
+
+    private static Map<String, String> fields(String... namesAndValues) {
+        Map<String, String> fields = new HashMap<>();
+        for (int i = 0; i < namesAndValues.length; i += 2) {
+            fields.put(namesAndValues[i], namesAndValues[i + 1]);
+        }
+        return fields;
+    }
+}
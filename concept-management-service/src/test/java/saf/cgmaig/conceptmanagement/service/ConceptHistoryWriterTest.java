@@ -0,0 +1,222 @@
+package saf.cgmaig.conceptmanagement.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import saf.cgmaig.conceptmanagement.model.AreaConcept;
+import saf.cgmaig.conceptmanagement.model.ConceptHistoryEntry;
+import saf.cgmaig.conceptmanagement.repository.ConceptHistoryRepository;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.lenient;
+
+/**
+ * Escritura asíncrona del historial: deltas, snapshots, reintentos y cola llena
+ * (repositorio simulado en memoria)
+ */
+@ExtendWith(MockitoExtension.class)
+class ConceptHistoryWriterTest {
+
+    private static final String EDITOR = "EDIT000000HTCXXX00";
+
+    @Mock
+    private ConceptHistoryRepository historyRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final ConceptFieldDeltaCodec codec = new ConceptFieldDeltaCodec();
+    private final List<ConceptHistoryEntry> stored = new ArrayList<>();
+    private final List<List<ConceptHistoryEntry>> saveCalls = new ArrayList<>();
+
+    // Concepto cuya escritura falla; null para que todas las escrituras funcionen
+    private Long failingConceptId;
+    private int remainingFailures;
+
+    private ConceptHistoryWriter writer;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(historyRepository.findByConceptIdInOrderByConceptIdAscVersionAsc(anyCollection()))
+            .thenAnswer(this::findStored);
+        lenient().doAnswer(this::save).when(historyRepository).saveAll(any());
+        writer = writer(100);
+    }
+
+    @Test
+    void firstVersionIsASnapshotAndEditsAreDeltas() {
+        writer.record(concept(1L, 1L, "Papel bond", "Blanco"), EDITOR);
+        writer.flush();
+        writer.record(concept(1L, 2L, "Papel bond carta", "Blanco"), EDITOR);
+        writer.flush();
+
+        assertThat(stored).extracting(ConceptHistoryEntry::getVersion, ConceptHistoryEntry::isSnapshot)
+            .containsExactly(tuple(1L, true), tuple(2L, false));
+        assertThat(codec.decode(stored.get(0).getDelta()))
+            .containsExactlyInAnyOrderEntriesOf(Map.of("general", "Papel bond", "color", "Blanco"));
+        assertThat(codec.decode(stored.get(1).getDelta()))
+            .containsExactlyInAnyOrderEntriesOf(Map.of("general", "Papel bond carta"));
+    }
+
+    @Test
+    void workflowVersionGapsStillStoreDeltas() {
+        writer.record(concept(1L, 1L, "Papel bond", "Blanco"), EDITOR);
+        writer.flush();
+        // Envío y rechazo incrementan la versión (2 y 3) sin registrar historial
+        writer.record(concept(1L, 4L, "Papel bond", "Azul"), EDITOR);
+        writer.flush();
+
+        assertThat(stored).extracting(ConceptHistoryEntry::getVersion, ConceptHistoryEntry::isSnapshot)
+            .containsExactly(tuple(1L, true), tuple(4L, false));
+        assertThat(codec.decode(stored.get(1).getDelta()))
+            .containsExactlyInAnyOrderEntriesOf(Map.of("color", "Azul"));
+        assertThat(codec.reconstruct(stored, 4)).containsEntry("general", "Papel bond").containsEntry("color", "Azul");
+    }
+
+    @Test
+    void snapshotIsStoredEverySnapshotIntervalEntries() {
+        for (long version = 1; version <= 9; version += 2) {
+            writer.record(concept(1L, version, "Versión " + version, null), EDITOR);
+        }
+        writer.flush();
+
+        assertThat(stored).extracting(ConceptHistoryEntry::getVersion, ConceptHistoryEntry::isSnapshot)
+            .containsExactly(tuple(1L, true), tuple(3L, false), tuple(5L, false), tuple(7L, false),
+                tuple(9L, true));
+        assertThat(codec.reconstruct(stored, 7)).containsEntry("general", "Versión 7");
+    }
+
+    @Test
+    void alreadyRecordedVersionsAreSkipped() {
+        writer.record(concept(1L, 1L, "Papel bond", null), EDITOR);
+        writer.flush();
+        writer.record(concept(1L, 1L, "Papel bond", null), EDITOR);
+        writer.flush();
+
+        assertThat(stored).hasSize(1);
+    }
+
+    @Test
+    void failedBatchIsRetriedBeforeNewChanges() {
+        failingConceptId = 1L;
+        remainingFailures = 1;
+        writer.record(concept(1L, 1L, "Papel bond", null), EDITOR);
+        writer.flush();
+        writer.record(concept(2L, 1L, "Tóner negro", null), EDITOR);
+
+        writer.flush();
+        assertThat(stored).extracting(ConceptHistoryEntry::getConceptId).containsExactly(1L);
+
+        writer.flush();
+        assertThat(stored).extracting(ConceptHistoryEntry::getConceptId).containsExactly(1L, 2L);
+    }
+
+    @Test
+    void batchFailingMaxAttemptsIsWrittenChangeByChange() {
+        failingConceptId = 2L;
+        remainingFailures = Integer.MAX_VALUE;
+        writer.record(concept(1L, 1L, "Papel bond", null), EDITOR);
+        writer.record(concept(2L, 1L, "Tóner negro", null), EDITOR);
+        writer.record(concept(3L, 1L, "Engrapadora", null), EDITOR);
+
+        writer.flush();
+        assertThat(stored).isEmpty();
+        writer.flush();
+
+        assertThat(stored).extracting(ConceptHistoryEntry::getConceptId).containsExactly(1L, 3L);
+        writer.flush();
+        assertThat(saveCalls).hasSize(5);
+    }
+
+    @Test
+    void fullQueueWritesTheChangeSynchronously() {
+        writer = writer(1);
+        writer.record(concept(1L, 1L, "Papel bond", null), EDITOR);
+        writer.record(concept(2L, 1L, "Tóner negro", null), EDITOR);
+
+        assertThat(stored).extracting(ConceptHistoryEntry::getConceptId).containsExactly(2L);
+
+        writer.flush();
+        assertThat(stored).extracting(ConceptHistoryEntry::getConceptId).containsExactly(2L, 1L);
+    }
+
+    @Test
+    void drainWritesEveryQueuedChange() {
+        ReflectionTestUtils.setField(writer, "batchSize", 1);
+        failingConceptId = 2L;
+        remainingFailures = 1;
+        for (long id = 1; id <= 3; id++) {
+            writer.record(concept(id, 1L, "Concepto " + id, null), EDITOR);
+        }
+
+        writer.drain();
+
+        assertThat(stored).extracting(ConceptHistoryEntry::getConceptId).containsExactlyInAnyOrder(1L, 2L, 3L);
+    }
+
+    @Test
+    void disabledWriterRecordsNothing() {
+        ReflectionTestUtils.setField(writer, "enabled", false);
+        writer.record(concept(1L, 1L, "Papel bond", null), EDITOR);
+        writer.drain();
+
+        assertThat(stored).isEmpty();
+    }
+
+    private ConceptHistoryWriter writer(int queueCapacity) {
+        ConceptHistoryWriter historyWriter = new ConceptHistoryWriter(historyRepository, codec, transactionManager,
+            queueCapacity);
+        ReflectionTestUtils.setField(historyWriter, "enabled", true);
+        ReflectionTestUtils.setField(historyWriter, "batchSize", 200);
+        ReflectionTestUtils.setField(historyWriter, "snapshotInterval", 3);
+        ReflectionTestUtils.setField(historyWriter, "enqueueTimeoutMs", 0L);
+        ReflectionTestUtils.setField(historyWriter, "maxAttempts", 2);
+        return historyWriter;
+    }
+
+    private static AreaConcept concept(Long id, Long version, String general, String color) {
+        AreaConcept concept = new AreaConcept();
+        concept.setId(id);
+        concept.setVersion(version);
+        concept.setGeneral(general);
+        concept.setColor(color);
+        return concept;
+    }
+
+    private List<ConceptHistoryEntry> findStored(InvocationOnMock invocation) {
+        Collection<Long> conceptIds = invocation.getArgument(0);
+        return stored.stream()
+            .filter(entry -> conceptIds.contains(entry.getConceptId()))
+            .sorted(Comparator.comparing(ConceptHistoryEntry::getConceptId)
+                .thenComparing(ConceptHistoryEntry::getVersion))
+            .toList();
+    }
+
+    private List<ConceptHistoryEntry> save(InvocationOnMock invocation) {
+        List<ConceptHistoryEntry> entries = new ArrayList<>();
+        invocation.<Iterable<ConceptHistoryEntry>>getArgument(0).forEach(entries::add);
+        saveCalls.add(entries);
+        if (remainingFailures > 0
+                && entries.stream().anyMatch(entry -> entry.getConceptId().equals(failingConceptId))) {
+            remainingFailures--;
+            throw new DataAccessResourceFailureException("Base de datos no disponible");
+        }
+        stored.addAll(entries);
+        return entries;
+    }
+}
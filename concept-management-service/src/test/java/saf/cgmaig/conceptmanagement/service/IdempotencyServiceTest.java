@@ -0,0 +1,176 @@
+package saf.cgmaig.conceptmanagement.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Repetición y espera de solicitudes con Idempotency-Key
+ */
+class IdempotencyServiceTest {
+
+    private static final String SCOPE = "bulk-review|VALI000000HTCXXX00";
+    private static final Map<String, Object> REQUEST = Map.of("ids", new long[] {1, 2}, "status", "APPROVED");
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(2);
+    private final AtomicInteger executions = new AtomicInteger();
+
+    @AfterEach
+    void shutdownExecutor() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void repeatedKeyReplaysTheStoredResponse() {
+        IdempotencyService service = service(30);
+
+        ResponseEntity<String> first = service.execute("clave-1", SCOPE, REQUEST, created("lote 7"));
+        ResponseEntity<String> second = service.execute("clave-1", SCOPE, REQUEST, created("lote 8"));
+
+        assertThat(executions).hasValue(1);
+        assertThat(first.getHeaders().containsKey(IdempotencyService.REPLAYED_HEADER)).isFalse();
+        assertThat(second.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+        assertThat(second.getBody()).isEqualTo("lote 7");
+        assertThat(second.getHeaders().getFirst(IdempotencyService.REPLAYED_HEADER)).isEqualTo("true");
+    }
+
+    @Test
+    void concurrentDuplicateWaitsForTheOriginalAndReplaysIt() throws Exception {
+        IdempotencyService service = service(30);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch finish = new CountDownLatch(1);
+
+        Future<ResponseEntity<String>> original = executor.submit(() ->
+            service.execute("clave-1", SCOPE, REQUEST, () -> {
+                started.countDown();
+                await(finish);
+                return created("lote 7").get();
+            }));
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+        Future<ResponseEntity<String>> duplicate = executor.submit(() ->
+            service.execute("clave-1", SCOPE, REQUEST, created("lote 8")));
+        Thread.sleep(200);
+        assertThat(duplicate.isDone()).isFalse();
+
+        finish.countDown();
+
+        assertThat(original.get(5, TimeUnit.SECONDS).getBody()).isEqualTo("lote 7");
+        ResponseEntity<String> replayed = duplicate.get(5, TimeUnit.SECONDS);
+        assertThat(replayed.getBody()).isEqualTo("lote 7");
+        assertThat(replayed.getHeaders().getFirst(IdempotencyService.REPLAYED_HEADER)).isEqualTo("true");
+        assertThat(executions).hasValue(1);
+    }
+
+    @Test
+    void duplicateGivesUpWhenTheOriginalExceedsTheWaitTimeout() throws Exception {
+        IdempotencyService service = service(0);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch finish = new CountDownLatch(1);
+
+        executor.submit(() -> service.execute("clave-1", SCOPE, REQUEST, () -> {
+            started.countDown();
+            await(finish);
+            return created("lote 7").get();
+        }));
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+        try {
+            assertThatThrownBy(() -> service.execute("clave-1", SCOPE, REQUEST, created("lote 8")))
+                .isInstanceOf(AreaConceptService.ConflictException.class)
+                .hasMessageContaining("sigue en proceso");
+        } finally {
+            finish.countDown();
+        }
+    }
+
+    @Test
+    void reusedKeyWithAnotherBodyIsRejected() {
+        IdempotencyService service = service(30);
+        service.execute("clave-1", SCOPE, REQUEST, created("lote 7"));
+
+        assertThatThrownBy(() -> service.execute("clave-1", SCOPE, Map.of("status", "REJECTED"), created("lote 8")))
+            .isInstanceOf(AreaConceptService.ConflictException.class);
+        assertThat(executions).hasValue(1);
+    }
+
+    @Test
+    void failedOperationReleasesTheKeyForRetries() {
+        IdempotencyService service = service(30);
+
+        assertThatThrownBy(() -> service.execute("clave-1", SCOPE, REQUEST, () -> {
+            throw new AreaConceptService.ServiceException("Base de datos no disponible");
+        })).hasMessage("Base de datos no disponible");
+
+        ResponseEntity<String> retried = service.execute("clave-1", SCOPE, REQUEST, created("lote 7"));
+
+        assertThat(retried.getBody()).isEqualTo("lote 7");
+        assertThat(retried.getHeaders().containsKey(IdempotencyService.REPLAYED_HEADER)).isFalse();
+        assertThat(executions).hasValue(1);
+    }
+
+    @Test
+    void keysAreScopedPerOperationAndUser() {
+        IdempotencyService service = service(30);
+
+        service.execute("clave-1", SCOPE, REQUEST, created("lote 7"));
+        ResponseEntity<String> otherUser = service.execute("clave-1", "bulk-review|OTRO000000HTCXXX00",
+            REQUEST, created("lote 8"));
+
+        assertThat(otherUser.getBody()).isEqualTo("lote 8");
+        assertThat(executions).hasValue(2);
+    }
+
+    @Test
+    void requestsWithoutKeyAlwaysExecute() {
+        IdempotencyService service = service(30);
+
+        service.execute(null, SCOPE, REQUEST, created("lote 7"));
+        service.execute(" ", SCOPE, REQUEST, created("lote 7"));
+
+        assertThat(executions).hasValue(2);
+    }
+
+    @Test
+    void overlongKeysAreRejected() {
+        IdempotencyService service = service(30);
+
+        assertThatThrownBy(() -> service.execute("k".repeat(256), SCOPE, REQUEST, created("lote 7")))
+            .isInstanceOf(AreaConceptService.ServiceException.class)
+            .isNotInstanceOf(AreaConceptService.ConflictException.class);
+        assertThat(executions).hasValue(0);
+    }
+
+    private static IdempotencyService service(long waitTimeoutSeconds) {
+        return new IdempotencyService(new ObjectMapper(), 100, 60, waitTimeoutSeconds);
+    }
+
+    private Supplier<ResponseEntity<String>> created(String body) {
+        return () -> {
+            executions.incrementAndGet();
+            return ResponseEntity.status(HttpStatus.CREATED).body(body);
+        };
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
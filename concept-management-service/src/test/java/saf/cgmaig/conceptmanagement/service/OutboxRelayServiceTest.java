@@ -0,0 +1,159 @@
+package saf.cgmaig.conceptmanagement.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import saf.cgmaig.conceptmanagement.event.ConceptEventSink;
+import saf.cgmaig.conceptmanagement.event.ConceptLifecycleEvent;
+import saf.cgmaig.conceptmanagement.model.ConceptOutboxEvent;
+import saf.cgmaig.conceptmanagement.repository.ConceptOutboxRepository;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.ArgumentMatchers.notNull;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+/**
+ * Relay del outbox: reserva y registro en transacciones cortas, publicación
+ * fuera de ellas, backoff y dead letter
+ */
+@ExtendWith(MockitoExtension.class)
+class OutboxRelayServiceTest {
+
+    @Mock
+    private ConceptOutboxRepository outboxRepository;
+
+    @Mock
+    private ConceptEventSink eventSink;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private OutboxRelayService relay;
+
+    @BeforeEach
+    void setUp() {
+        relay = new OutboxRelayService(outboxRepository, eventSink, transactionManager);
+        ReflectionTestUtils.setField(relay, "batchSize", 100);
+        ReflectionTestUtils.setField(relay, "claimTimeoutMs", 60_000L);
+        ReflectionTestUtils.setField(relay, "maxAttempts", 3);
+        ReflectionTestUtils.setField(relay, "backoffMs", 1_000L);
+        ReflectionTestUtils.setField(relay, "maxBackoffMs", 5_000L);
+    }
+
+    @Test
+    void batchIsClaimedThenPublishedOutsideAnyTransactionThenMarked() {
+        List<ConceptOutboxEvent> events = List.of(event(1L, 10L, 0), event(2L, 20L, 0));
+        givenPending(events);
+
+        relay.relayPending();
+
+        InOrder order = inOrder(outboxRepository, transactionManager, eventSink);
+        order.verify(outboxRepository).claim(eq(List.of(1L, 2L)), notNull());
+        order.verify(transactionManager).commit(any());
+        order.verify(eventSink).publish(anyList());
+        order.verify(transactionManager).getTransaction(any());
+        order.verify(outboxRepository).markPublished(eq(List.of(1L, 2L)), notNull());
+        order.verify(transactionManager).commit(any());
+    }
+
+    @Test
+    void nothingIsPublishedWhenAnotherRelayHoldsTheLock() {
+        when(outboxRepository.tryRelayLock(anyLong())).thenReturn(false);
+
+        relay.relayPending();
+
+        verify(outboxRepository, never()).findPending(any(), anyInt());
+        verifyNoInteractions(eventSink);
+    }
+
+    @Test
+    void emptyBatchClaimsNothing() {
+        givenPending(List.of());
+
+        relay.relayPending();
+
+        verify(outboxRepository, never()).claim(anyList(), any());
+        verifyNoInteractions(eventSink);
+    }
+
+    @Test
+    void failingConceptBacksOffAndReleasesItsLaterEventsWhileOthersArePublished() {
+        givenPending(List.of(event(1L, 10L, 0), event(2L, 20L, 0), event(3L, 10L, 0)));
+        failPublishingConcept(10L);
+
+        LocalDateTime before = LocalDateTime.now();
+        relay.relayPending();
+
+        verify(outboxRepository).markPublished(eq(List.of(2L)), notNull());
+        verify(outboxRepository).release(List.of(3L));
+        verify(outboxRepository).markFailed(eq(1L), eq("Sink no disponible"),
+            argThat(next -> !next.isBefore(before.plusSeconds(1))), isNull());
+    }
+
+    @Test
+    void eventReachingMaxAttemptsIsDeadLettered() {
+        givenPending(List.of(event(1L, 10L, 2)));
+        failPublishingConcept(10L);
+
+        relay.relayPending();
+
+        verify(outboxRepository).markFailed(eq(1L), eq("Sink no disponible"), isNull(), notNull());
+        verify(outboxRepository, never()).markPublished(anyList(), any());
+    }
+
+    @Test
+    void backoffDoublesUpToTheMaximum() {
+        assertThat(relay.backoff(1)).isEqualTo(Duration.ofSeconds(1));
+        assertThat(relay.backoff(2)).isEqualTo(Duration.ofSeconds(2));
+        assertThat(relay.backoff(3)).isEqualTo(Duration.ofSeconds(4));
+        assertThat(relay.backoff(4)).isEqualTo(Duration.ofSeconds(5));
+        assertThat(relay.backoff(60)).isEqualTo(Duration.ofSeconds(5));
+    }
+
+    private void givenPending(List<ConceptOutboxEvent> events) {
+        when(outboxRepository.tryRelayLock(anyLong())).thenReturn(true);
+        when(outboxRepository.findPending(any(), eq(100))).thenReturn(events);
+    }
+
+    private void failPublishingConcept(Long conceptId) {
+        doAnswer(invocation -> {
+            List<ConceptLifecycleEvent> published = invocation.getArgument(0);
+            if (published.stream().anyMatch(event -> event.conceptId().equals(conceptId))) {
+                throw new IllegalStateException("Sink no disponible");
+            }
+            return null;
+        }).when(eventSink).publish(anyList());
+    }
+
+    private static ConceptOutboxEvent event(Long id, Long conceptId, int attempts) {
+        ConceptOutboxEvent event = new ConceptOutboxEvent();
+        ReflectionTestUtils.setField(event, "id", id);
+        ReflectionTestUtils.setField(event, "conceptId", conceptId);
+        ReflectionTestUtils.setField(event, "area", "CGRM");
+        ReflectionTestUtils.setField(event, "newStatus", "APPROVED");
+        ReflectionTestUtils.setField(event, "occurredAt", LocalDateTime.now());
+        ReflectionTestUtils.setField(event, "attempts", attempts);
+        return event;
+    }
+}
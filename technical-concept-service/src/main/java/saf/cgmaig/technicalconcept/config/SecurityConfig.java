@@ -23,10 +23,15 @@ public class SecurityConfig {
                 // Endpoints públicos
                 .requestMatchers("/actuator/health").permitAll()
                 .requestMatchers("/actuator/info").permitAll()
+                // API interna de lectura entre servicios (clientes Feign con token propagado)
+                .requestMatchers("GET", "/api/concepts/**").authenticated()
+                .requestMatchers("POST", "/api/concepts/by-ids").authenticated()
+                .requestMatchers("GET", "/internal/concepts/**").authenticated()
                 // Endpoints para capturistas (solo lectura de conceptos activos)
                 .requestMatchers("GET", "/api/general-concepts").hasAnyRole("CAPTURISTA", "VALIDADOR_TECNICO_CGRM", "VALIDADOR_TECNICO_CGSG", "VALIDADOR_TECNICO_CGMAIG", "VALIDADOR_TECNICO_PATRIMONIO")
                 // Endpoints de gestión - requieren rol de área facultada específica
                 .requestMatchers("POST", "/api/general-concepts").hasAnyRole("VALIDADOR_TECNICO_CGRM", "VALIDADOR_TECNICO_CGSG", "VALIDADOR_TECNICO_CGMAIG", "VALIDADOR_TECNICO_PATRIMONIO")
+                .requestMatchers("POST", "/api/general-concepts/bulk").hasAnyRole("VALIDADOR_TECNICO_CGRM", "VALIDADOR_TECNICO_CGSG", "VALIDADOR_TECNICO_CGMAIG", "VALIDADOR_TECNICO_PATRIMONIO")
                 .requestMatchers("PUT", "/api/general-concepts/**").hasAnyRole("VALIDADOR_TECNICO_CGRM", "VALIDADOR_TECNICO_CGSG", "VALIDADOR_TECNICO_CGMAIG", "VALIDADOR_TECNICO_PATRIMONIO")
                 .requestMatchers("DELETE", "/api/general-concepts/**").hasAnyRole("VALIDADOR_TECNICO_CGRM", "VALIDADOR_TECNICO_CGSG", "VALIDADOR_TECNICO_CGMAIG", "VALIDADOR_TECNICO_PATRIMONIO")
                 // Endpoints de administración
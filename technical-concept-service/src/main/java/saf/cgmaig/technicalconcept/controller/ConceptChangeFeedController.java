@@ -0,0 +1,46 @@
+package saf.cgmaig.technicalconcept.controller;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import saf.cgmaig.technicalconcept.dto.ConceptChangePageDto;
+import saf.cgmaig.technicalconcept.service.InternalConceptQueryService;
+
+/**
+ * Feed de cambios del catálogo para sincronización incremental de otros servicios
+ *
+ * Implementa TechnicalConceptClient.getConceptChanges de concept-management-service.
+ * No se expone por el gateway.
+ */
+@RestController
+@RequestMapping("/internal/concepts")
+public class ConceptChangeFeedController {
+
+    private static final Logger logger = LoggerFactory.getLogger(ConceptChangeFeedController.class);
+
+    private final InternalConceptQueryService queryService;
+
+    @Autowired
+    public ConceptChangeFeedController(InternalConceptQueryService queryService) {
+        this.queryService = queryService;
+    }
+
+    /**
+     * GET /internal/concepts/changes?since=&limit=
+     *
+     * Requiere JWT (los consumidores programados usan token de servicio)
+     */
+    @GetMapping("/changes")
+    public ResponseEntity<ConceptChangePageDto> getChanges(@RequestParam(required = false) String since,
+                                                           @RequestParam(defaultValue = "200") int limit) {
+        return ResponseEntity.ok(queryService.findChanges(since, limit));
+    }
+
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<String> handleIllegalArgument(IllegalArgumentException e) {
+        logger.warn("Consulta inválida del feed de cambios: {}", e.getMessage());
+        return ResponseEntity.badRequest().body(e.getMessage());
+    }
+}
@@ -0,0 +1,121 @@
+package saf.cgmaig.technicalconcept.controller;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import saf.cgmaig.technicalconcept.dto.AreaChapterCombinationDto;
+import saf.cgmaig.technicalconcept.dto.ConceptReadDto;
+import saf.cgmaig.technicalconcept.dto.ConceptSummaryDto;
+import saf.cgmaig.technicalconcept.service.InternalConceptQueryService;
+
+import java.util.List;
+
+/**
+ * API interna de lectura para otros servicios (clientes Feign)
+ *
+ * Implementa los contratos de TechnicalConceptClient en concept-management-service
+ * y validation-service. Los ids son el número secuencial del concepto.
+ * No se expone por el gateway.
+ */
+@RestController
+@RequestMapping("/api/concepts")
+public class InternalConceptController {
+
+    private static final Logger logger = LoggerFactory.getLogger(InternalConceptController.class);
+
+    private final InternalConceptQueryService queryService;
+
+    @Autowired
+    public InternalConceptController(InternalConceptQueryService queryService) {
+        this.queryService = queryService;
+    }
+
+    /**
+     * GET /api/concepts/{id}
+     */
+    @GetMapping("/{id}")
+    public ResponseEntity<ConceptReadDto> getById(@PathVariable Long id) {
+        return ResponseEntity.of(queryService.findById(id));
+    }
+
+    /**
+     * POST /api/concepts/by-ids (consulta masiva)
+     */
+    @PostMapping("/by-ids")
+    public ResponseEntity<List<ConceptReadDto>> getByIds(@RequestBody List<Long> ids) {
+        return ResponseEntity.ok(queryService.findByIds(ids));
+    }
+
+    /**
+     * GET /api/concepts/{id}/exists (existe y está activo)
+     */
+    @GetMapping("/{id}/exists")
+    public ResponseEntity<Boolean> existsActive(@PathVariable Long id) {
+        return ResponseEntity.ok(queryService.existsActive(id));
+    }
+
+    /**
+     * GET /api/concepts/{id}/summary
+     */
+    @GetMapping("/{id}/summary")
+    public ResponseEntity<ConceptSummaryDto> getSummary(@PathVariable Long id) {
+        return ResponseEntity.of(queryService.findSummary(id));
+    }
+
+    /**
+     * GET /api/concepts/exists?name=&area=
+     */
+    @GetMapping("/exists")
+    public ResponseEntity<Boolean> existsByNameAndArea(@RequestParam String name, @RequestParam String area) {
+        return ResponseEntity.ok(queryService.existsByNameAndArea(name, area));
+    }
+
+    /**
+     * GET /api/concepts/search?name=&area=
+     */
+    @GetMapping("/search")
+    public ResponseEntity<List<ConceptReadDto>> findByNameAndArea(@RequestParam String name,
+                                                                  @RequestParam String area) {
+        return ResponseEntity.ok(queryService.findByNameAndArea(name, area));
+    }
+
+    /**
+     * GET /api/concepts/by-area/{area}
+     */
+    @GetMapping("/by-area/{area}")
+    public ResponseEntity<List<ConceptReadDto>> findByArea(@PathVariable String area) {
+        return ResponseEntity.ok(queryService.findByArea(area));
+    }
+
+    /**
+     * GET /api/concepts/base/{area} (conceptos activos del área)
+     */
+    @GetMapping("/base/{area}")
+    public ResponseEntity<List<ConceptReadDto>> findBaseConceptsByArea(@PathVariable String area) {
+        return ResponseEntity.ok(queryService.findBaseConceptsByArea(area));
+    }
+
+    /**
+     * GET /api/concepts/base (todos los conceptos activos)
+     */
+    @GetMapping("/base")
+    public ResponseEntity<List<ConceptReadDto>> findAllBaseConcepts() {
+        return ResponseEntity.ok(queryService.findAllBaseConcepts());
+    }
+
+    /**
+     * GET /api/concepts/area-chapter-combinations
+     */
+    @GetMapping("/area-chapter-combinations")
+    public ResponseEntity<List<AreaChapterCombinationDto>> getAreaChapterCombinations() {
+        return ResponseEntity.ok(queryService.findAreaChapterCombinations());
+    }
+
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<String> handleIllegalArgument(IllegalArgumentException e) {
+        logger.warn("Solicitud interna inválida: {}", e.getMessage());
+        return ResponseEntity.badRequest().body(e.getMessage());
+    }
+}
@@ -6,19 +6,36 @@ import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import saf.cgmaig.technicalconcept.dto.CatalogStatisticsResponse;
+import saf.cgmaig.technicalconcept.dto.ConceptAsOfSummaryDto;
+import saf.cgmaig.technicalconcept.dto.ConceptVersionResponse;
+import saf.cgmaig.technicalconcept.dto.SliceResponse;
+import saf.cgmaig.technicalconcept.dto.TechnicalConceptBulkRequest;
+import saf.cgmaig.technicalconcept.dto.TechnicalConceptBulkResponse;
 import saf.cgmaig.technicalconcept.dto.TechnicalConceptCreateRequest;
 import saf.cgmaig.technicalconcept.dto.TechnicalConceptResponse;
 import saf.cgmaig.technicalconcept.dto.TechnicalConceptUpdateRequest;
 import saf.cgmaig.technicalconcept.entity.AreaFacultada;
 import saf.cgmaig.technicalconcept.entity.ConceptStatus;
+import saf.cgmaig.technicalconcept.service.CatalogExportService;
+import saf.cgmaig.technicalconcept.service.CatalogStatisticsService;
+import saf.cgmaig.technicalconcept.service.TechnicalCatalogSnapshot;
+import saf.cgmaig.technicalconcept.service.TechnicalConceptBulkService;
+import saf.cgmaig.technicalconcept.service.TechnicalConceptHistoryService;
 import saf.cgmaig.technicalconcept.service.TechnicalConceptService;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.UUID;
 
@@ -32,6 +49,18 @@ public class TechnicalConceptController {
     @Autowired
     private TechnicalConceptService service;
 
+    @Autowired
+    private TechnicalConceptBulkService bulkService;
+
+    @Autowired
+    private CatalogExportService exportService;
+
+    @Autowired
+    private CatalogStatisticsService statisticsService;
+
+    @Autowired
+    private TechnicalConceptHistoryService historyService;
+
     /**
      * Obtener conceptos activos para capturistas
      * GET /api/general-concepts?status=ACTIVO&capitulo=2000
@@ -40,19 +69,26 @@ public class TechnicalConceptController {
     @PreAuthorize("hasAnyRole('CAPTURISTA', 'VALIDADOR_TECNICO_CGRM', 'VALIDADOR_TECNICO_CGSG', 'VALIDADOR_TECNICO_CGMAIG', 'VALIDADOR_TECNICO_PATRIMONIO')")
     public ResponseEntity<List<TechnicalConceptResponse>> getActiveConcepts(
             @RequestParam(required = false) ConceptStatus status,
-            @RequestParam(required = false) Integer capitulo) {
+            @RequestParam(required = false) Integer capitulo,
+            WebRequest request) {
         
         logger.info("Obteniendo conceptos generales - status: {}, capítulo: {}", status, capitulo);
 
+        // Un solo snapshot por petición: lista y ETag son siempre consistentes
+        TechnicalCatalogSnapshot catalog = service.getActiveCatalog();
+        if (request.checkNotModified(catalog.getETag())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(catalog.getETag()).build();
+        }
+
         List<TechnicalConceptResponse> concepts;
         
         if (capitulo != null) {
-            concepts = service.getActiveConceptsByCapitulo(capitulo);
+            concepts = catalog.getByCapitulo(capitulo);
         } else {
-            concepts = service.getActiveConceptsForCapture();
+            concepts = catalog.getActive();
         }
 
-        return ResponseEntity.ok(concepts);
+        return ResponseEntity.ok().eTag(catalog.getETag()).body(concepts);
     }
 
     /**
@@ -80,6 +116,29 @@ public class TechnicalConceptController {
         return ResponseEntity.status(HttpStatus.CREATED).body(response);
     }
 
+    /**
+     * Carga masiva de conceptos generales del área del usuario
+     * POST /api/general-concepts/bulk?updateExisting=false
+     * Con updateExisting=true se requiere motivoCambio; los existentes inactivos se reportan como INACTIVE
+     */
+    @PostMapping("/bulk")
+    @PreAuthorize("hasAnyRole('VALIDADOR_TECNICO_CGRM', 'VALIDADOR_TECNICO_CGSG', 'VALIDADOR_TECNICO_CGMAIG', 'VALIDADOR_TECNICO_PATRIMONIO')")
+    public ResponseEntity<TechnicalConceptBulkResponse> bulkCreateConcepts(
+            @Valid @RequestBody TechnicalConceptBulkRequest request,
+            @RequestParam(defaultValue = "false") boolean updateExisting,
+            @AuthenticationPrincipal Jwt jwt) {
+
+        String userCurp = jwt.getClaimAsString("preferred_username");
+        AreaFacultada userArea = extractAreaFromJwt(jwt);
+
+        logger.info("Carga masiva de {} conceptos generales por usuario {} del área {}",
+                   request.items().size(), userCurp, userArea);
+
+        TechnicalConceptBulkResponse response = bulkService.bulkUpsert(
+            request.items(), updateExisting, request.motivoCambio(), userArea, userCurp);
+        return ResponseEntity.ok(response);
+    }
+
     /**
      * Actualizar concepto general existente
      * PUT /api/general-concepts/{id}
@@ -143,6 +202,58 @@ public class TechnicalConceptController {
         return ResponseEntity.ok(response);
     }
 
+    /**
+     * Obtener conceptos activos permitidos para una partida
+     * GET /api/general-concepts/by-partida/{partida}
+     */
+    @GetMapping("/by-partida/{partida}")
+    @PreAuthorize("hasAnyRole('CAPTURISTA', 'VALIDADOR_TECNICO_CGRM', 'VALIDADOR_TECNICO_CGSG', 'VALIDADOR_TECNICO_CGMAIG', 'VALIDADOR_TECNICO_PATRIMONIO')")
+    public ResponseEntity<List<TechnicalConceptResponse>> getConceptsByPartida(@PathVariable String partida) {
+        logger.debug("Obteniendo conceptos generales para la partida: {}", partida);
+
+        return ResponseEntity.ok(service.getActiveConceptsByPartida(partida));
+    }
+
+    /**
+     * Catálogo tal como estaba en una fecha (auditoría)
+     * GET /api/general-concepts/as-of?at=2025-01-31T23:59:59
+     */
+    @GetMapping("/as-of")
+    @PreAuthorize("hasAnyRole('VALIDADOR_TECNICO_CGRM', 'VALIDADOR_TECNICO_CGSG', 'VALIDADOR_TECNICO_CGMAIG', 'VALIDADOR_TECNICO_PATRIMONIO', 'ADMIN_SISTEMA')")
+    public ResponseEntity<List<ConceptAsOfSummaryDto>> getCatalogAsOf(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime at,
+            @RequestParam(required = false) AreaFacultada areaFacultada,
+            @AuthenticationPrincipal Jwt jwt) {
+
+        // Si no es admin, consultar solo su área
+        AreaFacultada area = hasAdminRole(jwt) ? areaFacultada : extractAreaFromJwt(jwt);
+
+        logger.debug("Consultando catálogo al {} - área: {}", at, area);
+        return ResponseEntity.ok(historyService.getCatalogAsOf(at, area));
+    }
+
+    /**
+     * Historial de versiones de un concepto
+     * GET /api/general-concepts/{id}/history
+     */
+    @GetMapping("/{id}/history")
+    @PreAuthorize("hasAnyRole('VALIDADOR_TECNICO_CGRM', 'VALIDADOR_TECNICO_CGSG', 'VALIDADOR_TECNICO_CGMAIG', 'VALIDADOR_TECNICO_PATRIMONIO', 'ADMIN_SISTEMA')")
+    public ResponseEntity<List<ConceptVersionResponse>> getConceptHistory(@PathVariable UUID id) {
+        return ResponseEntity.ok(historyService.getHistory(id));
+    }
+
+    /**
+     * Versión de un concepto vigente en una fecha
+     * GET /api/general-concepts/{id}/as-of?at=2025-01-31T23:59:59
+     */
+    @GetMapping("/{id}/as-of")
+    @PreAuthorize("hasAnyRole('VALIDADOR_TECNICO_CGRM', 'VALIDADOR_TECNICO_CGSG', 'VALIDADOR_TECNICO_CGMAIG', 'VALIDADOR_TECNICO_PATRIMONIO', 'ADMIN_SISTEMA')")
+    public ResponseEntity<ConceptVersionResponse> getConceptAsOf(
+            @PathVariable UUID id,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime at) {
+        return ResponseEntity.ok(historyService.getVersionAsOf(id, at));
+    }
+
     /**
      * Obtener concepto por ID
      * GET /api/general-concepts/{id}
@@ -187,6 +298,69 @@ public class TechnicalConceptController {
         return ResponseEntity.ok(results);
     }
 
+    /**
+     * Exportar catálogo en streaming (CSV o XLSX)
+     * GET /api/general-concepts/export?format=CSV&capitulo=2000
+     */
+    @GetMapping("/export")
+    @PreAuthorize("hasAnyRole('VALIDADOR_TECNICO_CGRM', 'VALIDADOR_TECNICO_CGSG', 'VALIDADOR_TECNICO_CGMAIG', 'VALIDADOR_TECNICO_PATRIMONIO', 'ADMIN_SISTEMA')")
+    public ResponseEntity<StreamingResponseBody> exportConcepts(
+            @RequestParam(defaultValue = "CSV") CatalogExportService.ExportFormat format,
+            @RequestParam(required = false) Integer capitulo,
+            @RequestParam(required = false) AreaFacultada areaFacultada,
+            @RequestParam(required = false) ConceptStatus estado,
+            @RequestParam(required = false) Boolean activo,
+            @AuthenticationPrincipal Jwt jwt) {
+
+        // Si no es admin, exportar solo su área
+        AreaFacultada exportArea = hasAdminRole(jwt) ? areaFacultada : extractAreaFromJwt(jwt);
+
+        logger.info("Exportación de catálogo {} solicitada por {} - área: {}",
+                   format, jwt.getClaimAsString("preferred_username"), exportArea);
+
+        StreamingResponseBody body = out -> exportService.export(format, exportArea, capitulo, estado, activo, out);
+        String fileName = "conceptos-generales." + format.getExtension();
+        return ResponseEntity.ok()
+            .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + fileName + "\"")
+            .contentType(MediaType.parseMediaType(format.getContentType()))
+            .body(body);
+    }
+
+    /**
+     * Estadísticas del catálogo (contadores en memoria, sin consultas a BD)
+     * GET /api/general-concepts/statistics
+     */
+    @GetMapping("/statistics")
+    @PreAuthorize("hasAnyRole('VALIDADOR_TECNICO_CGRM', 'VALIDADOR_TECNICO_CGSG', 'VALIDADOR_TECNICO_CGMAIG', 'VALIDADOR_TECNICO_PATRIMONIO', 'ADMIN_SISTEMA')")
+    public ResponseEntity<CatalogStatisticsResponse> getStatistics() {
+        return ResponseEntity.ok(statisticsService.getStatistics());
+    }
+
+    /**
+     * Búsqueda avanzada sin conteo total (scroll infinito)
+     * GET /api/general-concepts/search/slice?approximateTotal=true
+     */
+    @GetMapping("/search/slice")
+    @PreAuthorize("hasAnyRole('VALIDADOR_TECNICO_CGRM', 'VALIDADOR_TECNICO_CGSG', 'VALIDADOR_TECNICO_CGMAIG', 'VALIDADOR_TECNICO_PATRIMONIO', 'ADMIN_SISTEMA')")
+    public ResponseEntity<SliceResponse<TechnicalConceptResponse>> searchConceptsSlice(
+            @RequestParam(required = false) Integer capitulo,
+            @RequestParam(required = false) AreaFacultada areaFacultada,
+            @RequestParam(required = false) ConceptStatus estado,
+            @RequestParam(required = false) Boolean activo,
+            @RequestParam(required = false) String searchTerm,
+            @RequestParam(defaultValue = "false") boolean approximateTotal,
+            Pageable pageable,
+            @AuthenticationPrincipal Jwt jwt) {
+
+        // Si no es admin, filtrar solo por su área
+        if (!hasAdminRole(jwt)) {
+            areaFacultada = extractAreaFromJwt(jwt);
+        }
+
+        return ResponseEntity.ok(service.searchConceptsSlice(
+            capitulo, areaFacultada, estado, activo, searchTerm, pageable, approximateTotal));
+    }
+
     /**
      * Obtener conceptos por área facultada (para gestión)
      * GET /api/general-concepts/my-area
@@ -205,6 +379,21 @@ public class TechnicalConceptController {
         return ResponseEntity.ok(concepts);
     }
 
+    /**
+     * Conceptos del área sin conteo total (scroll infinito)
+     * GET /api/general-concepts/my-area/slice?approximateTotal=true
+     */
+    @GetMapping("/my-area/slice")
+    @PreAuthorize("hasAnyRole('VALIDADOR_TECNICO_CGRM', 'VALIDADOR_TECNICO_CGSG', 'VALIDADOR_TECNICO_CGMAIG', 'VALIDADOR_TECNICO_PATRIMONIO')")
+    public ResponseEntity<SliceResponse<TechnicalConceptResponse>> getConceptsByMyAreaSlice(
+            @RequestParam(defaultValue = "false") boolean approximateTotal,
+            Pageable pageable,
+            @AuthenticationPrincipal Jwt jwt) {
+
+        AreaFacultada userArea = extractAreaFromJwt(jwt);
+        return ResponseEntity.ok(service.getConceptsByAreaSlice(userArea, pageable, approximateTotal));
+    }
+
     /**
      * Extraer área facultada del JWT basado en roles
      */
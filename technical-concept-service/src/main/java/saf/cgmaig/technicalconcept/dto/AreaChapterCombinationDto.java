@@ -0,0 +1,15 @@
+package saf.cgmaig.technicalconcept.dto;
+
+import saf.cgmaig.technicalconcept.entity.AreaFacultada;
+
+/**
+ * Combinación área-capítulo presente en el catálogo
+ * (active indica si tiene al menos un concepto activo)
+ */
+public record AreaChapterCombinationDto(String area, String chapter, boolean active) {
+
+    // Constructor usado por la consulta JPQL agrupada
+    public AreaChapterCombinationDto(AreaFacultada areaFacultada, Integer capitulo, Long activeCount) {
+        this(areaFacultada.name(), String.valueOf(capitulo), activeCount != null && activeCount > 0);
+    }
+}
@@ -0,0 +1,9 @@
+package saf.cgmaig.technicalconcept.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Marca barata del estado del catálogo (total de conceptos y última modificación)
+ * para detectar cambios hechos por otras instancias
+ */
+public record CatalogStamp(Long total, LocalDateTime lastUpdate) {}
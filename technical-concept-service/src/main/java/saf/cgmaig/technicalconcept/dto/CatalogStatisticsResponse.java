@@ -0,0 +1,15 @@
+package saf.cgmaig.technicalconcept.dto;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * Estadísticas del catálogo de conceptos generales (contadores precalculados)
+ */
+public record CatalogStatisticsResponse(
+    long total,
+    Map<String, Long> byEstado,
+    Map<String, Map<String, Long>> byAreaFacultada,
+    Map<Integer, Map<String, Long>> byCapitulo,
+    LocalDateTime lastReconciledAt
+) {}
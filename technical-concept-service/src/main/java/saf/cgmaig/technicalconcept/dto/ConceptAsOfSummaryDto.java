@@ -0,0 +1,31 @@
+package saf.cgmaig.technicalconcept.dto;
+
+import saf.cgmaig.technicalconcept.entity.AreaFacultada;
+import saf.cgmaig.technicalconcept.entity.ConceptStatus;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Concepto del catálogo tal como estaba en una fecha
+ *
+ * Solo columnas incluidas en idx_technical_concepts_history_as_of (index-only scan).
+ */
+public record ConceptAsOfSummaryDto(
+    UUID id,
+    Long numero,
+    String nombre,
+    Integer capitulo,
+    String areaFacultada,
+    String estado,
+    Boolean activo,
+    Integer version,
+    LocalDateTime validFrom
+) {
+
+    // Constructor usado por las consultas JPQL con proyección
+    public ConceptAsOfSummaryDto(UUID id, Long numero, String nombre, Integer capitulo, AreaFacultada areaFacultada,
+                                 ConceptStatus estado, Boolean activo, Integer version, LocalDateTime validFrom) {
+        this(id, numero, nombre, capitulo, areaFacultada.name(), estado.name(), activo, version, validFrom);
+    }
+}
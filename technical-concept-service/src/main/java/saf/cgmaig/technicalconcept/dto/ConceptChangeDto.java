@@ -0,0 +1,11 @@
+package saf.cgmaig.technicalconcept.dto;
+
+/**
+ * Cambio de un concepto general en el feed (CREATED, UPDATED, INACTIVATED, REACTIVATED)
+ */
+public record ConceptChangeDto(
+    Long id,
+    String name,
+    String changeType,
+    String status
+) {}
@@ -0,0 +1,12 @@
+package saf.cgmaig.technicalconcept.dto;
+
+import java.util.List;
+
+/**
+ * Página del feed de cambios; nextCursor se envía como "since" en la siguiente consulta
+ */
+public record ConceptChangePageDto(
+    List<ConceptChangeDto> changes,
+    String nextCursor,
+    boolean hasMore
+) {}
@@ -0,0 +1,35 @@
+package saf.cgmaig.technicalconcept.dto;
+
+import saf.cgmaig.technicalconcept.entity.ConceptChangeType;
+import saf.cgmaig.technicalconcept.entity.ConceptStatus;
+
+import java.time.LocalDateTime;
+
+/**
+ * Fila del feed de cambios (proyección JPQL con la posición del cursor)
+ */
+public record ConceptChangeRow(
+    Long numero,
+    String nombre,
+    ConceptStatus estado,
+    Boolean activo,
+    Integer version,
+    ConceptChangeType ultimoCambio,
+    LocalDateTime fechaActualizacion
+) {
+
+    public ConceptChangeDto toChange() {
+        return new ConceptChangeDto(numero, nombre, changeType().name(), estado.name());
+    }
+
+    // Conceptos anteriores a la columna ultimo_cambio: se deduce del estado
+    private ConceptChangeType changeType() {
+        if (ultimoCambio != null) {
+            return ultimoCambio;
+        }
+        if (!Boolean.TRUE.equals(activo)) {
+            return ConceptChangeType.INACTIVATED;
+        }
+        return version != null && version == 1 ? ConceptChangeType.CREATED : ConceptChangeType.UPDATED;
+    }
+}
@@ -0,0 +1,36 @@
+package saf.cgmaig.technicalconcept.dto;
+
+import saf.cgmaig.technicalconcept.entity.AreaFacultada;
+import saf.cgmaig.technicalconcept.entity.ConceptStatus;
+
+import java.time.LocalDateTime;
+
+/**
+ * Proyección de lectura para la API interna entre servicios
+ *
+ * Coincide con el TechnicalConceptDto de los clientes Feign; el id es el
+ * número secuencial del concepto. No incluye partidasPermitidas.
+ */
+public record ConceptReadDto(
+    Long id,
+    String name,
+    String description,
+    String area,
+    String chapter,
+    String unitMeasure,
+    String specifications,
+    String status,
+    String createdBy,
+    LocalDateTime createdAt,
+    String updatedBy,
+    LocalDateTime updatedAt
+) {
+
+    // Constructor usado por las consultas JPQL con proyección
+    public ConceptReadDto(Long numero, String nombre, String descripcionDetallada, AreaFacultada areaFacultada,
+                          Integer capitulo, ConceptStatus estado, String creadoPor, LocalDateTime fechaCreacion,
+                          String actualizadoPor, LocalDateTime fechaActualizacion) {
+        this(numero, nombre, descripcionDetallada, areaFacultada.name(), String.valueOf(capitulo), null, null,
+             estado.name(), creadoPor, fechaCreacion, actualizadoPor, fechaActualizacion);
+    }
+}
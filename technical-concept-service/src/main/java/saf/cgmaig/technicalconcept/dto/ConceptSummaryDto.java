@@ -0,0 +1,23 @@
+package saf.cgmaig.technicalconcept.dto;
+
+import saf.cgmaig.technicalconcept.entity.AreaFacultada;
+import saf.cgmaig.technicalconcept.entity.ConceptStatus;
+
+/**
+ * Resumen de concepto para cache en servicios consumidores
+ */
+public record ConceptSummaryDto(
+    Long id,
+    String name,
+    String area,
+    String chapter,
+    String status,
+    String createdBy
+) {
+
+    // Constructor usado por las consultas JPQL con proyección
+    public ConceptSummaryDto(Long numero, String nombre, AreaFacultada areaFacultada, Integer capitulo,
+                             ConceptStatus estado, String creadoPor) {
+        this(numero, nombre, areaFacultada.name(), String.valueOf(capitulo), estado.name(), creadoPor);
+    }
+}
@@ -0,0 +1,53 @@
+package saf.cgmaig.technicalconcept.dto;
+
+import saf.cgmaig.technicalconcept.entity.TechnicalConceptHistory;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Versión histórica de un concepto general (validTo null = vigente)
+ */
+public record ConceptVersionResponse(
+    UUID id,
+    Long numero,
+    Integer version,
+    String nombre,
+    String descripcionDetallada,
+    Integer capitulo,
+    List<String> partidasPermitidas,
+    String areaFacultada,
+    String estado,
+    Boolean activo,
+    String tipoCambio,
+    String actualizadoPor,
+    String motivoCambio,
+    LocalDateTime validFrom,
+    LocalDateTime validTo
+) {
+
+    public static ConceptVersionResponse from(TechnicalConceptHistory history) {
+        return new ConceptVersionResponse(
+            history.getConceptId(),
+            history.getNumero(),
+            history.getVersion(),
+            history.getNombre(),
+            history.getDescripcionDetallada(),
+            history.getCapitulo(),
+            history.getPartidasPermitidas() != null ? history.getPartidasPermitidas() : List.of(),
+            history.getAreaFacultada().name(),
+            history.getEstado().name(),
+            history.getActivo(),
+            history.getUltimoCambio() != null ? history.getUltimoCambio().name() : null,
+            history.getActualizadoPor(),
+            history.getMotivoCambio(),
+            history.getValidFrom(),
+            openEnded(history.getValidTo()));
+    }
+
+    // 'infinity' de PostgreSQL llega como una fecha fuera de rango: versión vigente
+    static LocalDateTime openEnded(LocalDateTime validTo) {
+        return validTo == null || validTo.getYear() > 9999 ? null : validTo;
+    }
+}
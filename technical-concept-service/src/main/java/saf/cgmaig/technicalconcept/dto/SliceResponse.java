@@ -0,0 +1,25 @@
+package saf.cgmaig.technicalconcept.dto;
+
+import org.springframework.data.domain.Slice;
+
+import java.util.List;
+
+/**
+ * Página sin total exacto (scroll infinito): una sola consulta por solicitud
+ *
+ * approximateTotal solo se llena si el cliente lo pide y se puede estimar
+ * con los contadores del catálogo; es null cuando hay búsqueda de texto.
+ */
+public record SliceResponse<T>(
+    List<T> content,
+    int page,
+    int size,
+    boolean hasNext,
+    Long approximateTotal
+) {
+
+    public static <T> SliceResponse<T> of(Slice<T> slice, Long approximateTotal) {
+        return new SliceResponse<>(slice.getContent(), slice.getNumber(), slice.getSize(),
+                slice.hasNext(), approximateTotal);
+    }
+}
@@ -0,0 +1,21 @@
+package saf.cgmaig.technicalconcept.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+/**
+ * Carga masiva de conceptos generales (catálogo inicial de un área)
+ *
+ * motivoCambio se registra en los conceptos existentes que se actualizan;
+ * es obligatorio con updateExisting=true.
+ */
+public record TechnicalConceptBulkRequest(
+    @NotEmpty(message = "La carga debe incluir al menos un concepto")
+    List<@Valid TechnicalConceptCreateRequest> items,
+
+    @Size(max = 500, message = "Motivo no puede exceder 500 caracteres")
+    String motivoCambio
+) {}
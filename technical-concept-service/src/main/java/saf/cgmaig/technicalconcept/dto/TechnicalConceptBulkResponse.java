@@ -0,0 +1,64 @@
+package saf.cgmaig.technicalconcept.dto;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Resultado de una carga masiva con el desenlace de cada elemento
+ */
+public record TechnicalConceptBulkResponse(
+    int total,
+    int created,
+    int updated,
+    int inactive,
+    int rejected,
+    List<ItemResult> results
+) {
+
+    public enum Outcome {
+        CREATED,
+        UPDATED,
+        // Ya existe pero está inactivo: no se actualiza (reactivar primero)
+        INACTIVE,
+        REJECTED
+    }
+
+    /**
+     * Desenlace de un elemento (index es su posición en la solicitud)
+     */
+    public record ItemResult(int index, String nombre, Outcome outcome, UUID id, String error) {
+
+        public static ItemResult created(int index, String nombre, UUID id) {
+            return new ItemResult(index, nombre, Outcome.CREATED, id, null);
+        }
+
+        public static ItemResult updated(int index, String nombre, UUID id) {
+            return new ItemResult(index, nombre, Outcome.UPDATED, id, null);
+        }
+
+        public static ItemResult inactive(int index, String nombre, UUID id) {
+            return new ItemResult(index, nombre, Outcome.INACTIVE, id,
+                    "El concepto existe pero está inactivo; reactívelo antes de actualizarlo");
+        }
+
+        public static ItemResult rejected(int index, String nombre, String error) {
+            return new ItemResult(index, nombre, Outcome.REJECTED, null, error);
+        }
+    }
+
+    public static TechnicalConceptBulkResponse of(List<ItemResult> results) {
+        int created = 0;
+        int updated = 0;
+        int inactive = 0;
+        int rejected = 0;
+        for (ItemResult result : results) {
+            switch (result.outcome()) {
+                case CREATED -> created++;
+                case UPDATED -> updated++;
+                case INACTIVE -> inactive++;
+                case REJECTED -> rejected++;
+            }
+        }
+        return new TechnicalConceptBulkResponse(results.size(), created, updated, inactive, rejected, results);
+    }
+}
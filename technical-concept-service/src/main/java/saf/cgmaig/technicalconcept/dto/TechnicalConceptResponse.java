@@ -10,6 +10,7 @@ import java.util.UUID;
 public class TechnicalConceptResponse {
 
     private UUID id;
+    private Long numero;
     private String nombre;
     private String descripcionDetallada;
     private Integer capitulo;
@@ -38,6 +39,14 @@ public class TechnicalConceptResponse {
         this.id = id;
     }
 
+    public Long getNumero() {
+        return numero;
+    }
+
+    public void setNumero(Long numero) {
+        this.numero = numero;
+    }
+
     public String getNombre() {
         return nombre;
     }
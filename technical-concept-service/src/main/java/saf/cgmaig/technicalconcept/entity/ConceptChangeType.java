@@ -0,0 +1,11 @@
+package saf.cgmaig.technicalconcept.entity;
+
+/**
+ * Tipo del último cambio aplicado a un concepto general (feed de cambios)
+ */
+public enum ConceptChangeType {
+    CREATED,
+    UPDATED,
+    INACTIVATED,
+    REACTIVATED
+}
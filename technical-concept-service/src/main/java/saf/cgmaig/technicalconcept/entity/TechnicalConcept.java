@@ -5,7 +5,10 @@ import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.Generated;
+import org.hibernate.annotations.JdbcTypeCode;
 import org.hibernate.annotations.UpdateTimestamp;
+import org.hibernate.type.SqlTypes;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -22,6 +25,11 @@ public class TechnicalConcept {
     @Column(name = "id_concepto_general")
     private UUID id;
 
+    // Identificador numérico secuencial usado por la API interna entre servicios
+    @Generated
+    @Column(name = "numero", columnDefinition = "bigserial", unique = true, insertable = false, updatable = false)
+    private Long numero;
+
     @Column(name = "nombre", length = 200, nullable = false)
     @NotBlank(message = "Nombre del concepto general es obligatorio")
     @Size(max = 200, message = "Nombre no puede exceder 200 caracteres")
@@ -35,9 +43,9 @@ public class TechnicalConcept {
     @NotNull(message = "Capítulo es obligatorio")
     private Integer capitulo;
 
-    @ElementCollection(fetch = FetchType.EAGER)
-    @CollectionTable(name = "concept_partidas", joinColumns = @JoinColumn(name = "concept_id"))
-    @Column(name = "partida")
+    // Arreglo PostgreSQL (text[]) con índice GIN: se lee en la misma fila, sin consultas adicionales
+    @JdbcTypeCode(SqlTypes.ARRAY)
+    @Column(name = "partidas_permitidas", columnDefinition = "text[]")
     private List<String> partidasPermitidas;
 
     @Enumerated(EnumType.STRING)
@@ -72,6 +80,10 @@ public class TechnicalConcept {
     @Column(name = "motivo_cambio", length = 500)
     private String motivoCambio;
 
+    @Enumerated(EnumType.STRING)
+    @Column(name = "ultimo_cambio", length = 20)
+    private ConceptChangeType ultimoCambio;
+
     // Constructores
     public TechnicalConcept() {}
 
@@ -90,6 +102,7 @@ public class TechnicalConcept {
     public void inactivar(String motivoCambio, String actualizadoPor) {
         this.estado = ConceptStatus.INACTIVO;
         this.activo = false;
+        this.ultimoCambio = ConceptChangeType.INACTIVATED;
         this.motivoCambio = motivoCambio;
         this.actualizadoPor = actualizadoPor;
         this.version++;
@@ -98,6 +111,7 @@ public class TechnicalConcept {
     public void reactivar(String motivoCambio, String actualizadoPor) {
         this.estado = ConceptStatus.ACTIVO;
         this.activo = true;
+        this.ultimoCambio = ConceptChangeType.REACTIVATED;
         this.motivoCambio = motivoCambio;
         this.actualizadoPor = actualizadoPor;
         this.version++;
@@ -137,6 +151,10 @@ public class TechnicalConcept {
         this.id = id;
     }
 
+    public Long getNumero() {
+        return numero;
+    }
+
     public String getNombre() {
         return nombre;
     }
@@ -243,6 +261,14 @@ public class TechnicalConcept {
         this.motivoCambio = motivoCambio;
     }
 
+    public ConceptChangeType getUltimoCambio() {
+        return ultimoCambio;
+    }
+
+    public void setUltimoCambio(ConceptChangeType ultimoCambio) {
+        this.ultimoCambio = ultimoCambio;
+    }
+
     @Override
     public String toString() {
         return "TechnicalConcept{" +
@@ -254,4 +280,4 @@ public class TechnicalConcept {
                 ", activo=" + activo +
                 '}';
     }
-}
\ No newline at end of file
+}
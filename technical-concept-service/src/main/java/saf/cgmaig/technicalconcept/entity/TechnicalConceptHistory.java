@@ -0,0 +1,142 @@
+package saf.cgmaig.technicalconcept.entity;
+
+import jakarta.persistence.*;
+import org.hibernate.annotations.Immutable;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Versión histórica de un concepto general, vigente en [validFrom, validTo)
+ *
+ * Las filas las escriben los triggers de technical_concepts (indexes.sql);
+ * la aplicación solo las lee. La versión vigente tiene validTo = 'infinity'.
+ */
+@Entity
+@Immutable
+@Table(name = "technical_concepts_history")
+public class TechnicalConceptHistory {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "history_id")
+    private Long historyId;
+
+    @Column(name = "id_concepto_general", nullable = false)
+    private UUID conceptId;
+
+    @Column(name = "numero")
+    private Long numero;
+
+    @Column(name = "nombre", length = 200, nullable = false)
+    private String nombre;
+
+    @Column(name = "descripcion_detallada", columnDefinition = "TEXT")
+    private String descripcionDetallada;
+
+    @Column(name = "capitulo", nullable = false)
+    private Integer capitulo;
+
+    @JdbcTypeCode(SqlTypes.ARRAY)
+    @Column(name = "partidas_permitidas", columnDefinition = "text[]")
+    private List<String> partidasPermitidas;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "area_facultada", length = 20, nullable = false)
+    private AreaFacultada areaFacultada;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "estado", length = 20, nullable = false)
+    private ConceptStatus estado;
+
+    @Column(name = "activo", nullable = false)
+    private Boolean activo;
+
+    @Column(name = "version", nullable = false)
+    private Integer version;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "ultimo_cambio", length = 20)
+    private ConceptChangeType ultimoCambio;
+
+    @Column(name = "actualizado_por", length = 100)
+    private String actualizadoPor;
+
+    @Column(name = "motivo_cambio", length = 500)
+    private String motivoCambio;
+
+    @Column(name = "valid_from", nullable = false)
+    private LocalDateTime validFrom;
+
+    @Column(name = "valid_to", nullable = false)
+    private LocalDateTime validTo;
+
+    protected TechnicalConceptHistory() {}
+
+    public Long getHistoryId() {
+        return historyId;
+    }
+
+    public UUID getConceptId() {
+        return conceptId;
+    }
+
+    public Long getNumero() {
+        return numero;
+    }
+
+    public String getNombre() {
+        return nombre;
+    }
+
+    public String getDescripcionDetallada() {
+        return descripcionDetallada;
+    }
+
+    public Integer getCapitulo() {
+        return capitulo;
+    }
+
+    public List<String> getPartidasPermitidas() {
+        return partidasPermitidas;
+    }
+
+    public AreaFacultada getAreaFacultada() {
+        return areaFacultada;
+    }
+
+    public ConceptStatus getEstado() {
+        return estado;
+    }
+
+    public Boolean getActivo() {
+        return activo;
+    }
+
+    public Integer getVersion() {
+        return version;
+    }
+
+    public ConceptChangeType getUltimoCambio() {
+        return ultimoCambio;
+    }
+
+    public String getActualizadoPor() {
+        return actualizadoPor;
+    }
+
+    public String getMotivoCambio() {
+        return motivoCambio;
+    }
+
+    public LocalDateTime getValidFrom() {
+        return validFrom;
+    }
+
+    public LocalDateTime getValidTo() {
+        return validTo;
+    }
+}
@@ -0,0 +1,39 @@
+package saf.cgmaig.technicalconcept.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import saf.cgmaig.technicalconcept.dto.ConceptAsOfSummaryDto;
+import saf.cgmaig.technicalconcept.entity.AreaFacultada;
+import saf.cgmaig.technicalconcept.entity.TechnicalConceptHistory;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface TechnicalConceptHistoryRepository extends JpaRepository<TechnicalConceptHistory, Long> {
+
+    String AS_OF_PROJECTION = "SELECT new saf.cgmaig.technicalconcept.dto.ConceptAsOfSummaryDto(" +
+           "h.conceptId, h.numero, h.nombre, h.capitulo, h.areaFacultada, h.estado, h.activo, h.version, " +
+           "h.validFrom) FROM TechnicalConceptHistory h ";
+
+    List<TechnicalConceptHistory> findByConceptIdOrderByValidFromAsc(UUID conceptId);
+
+    // Versión vigente en una fecha (idx_technical_concepts_history_temporal)
+    @Query("SELECT h FROM TechnicalConceptHistory h WHERE h.conceptId = :conceptId " +
+           "AND h.validFrom <= :asOf AND h.validTo > :asOf")
+    Optional<TechnicalConceptHistory> findAsOf(@Param("conceptId") UUID conceptId,
+                                               @Param("asOf") LocalDateTime asOf);
+
+    // Catálogo en una fecha (idx_technical_concepts_history_as_of, index-only)
+    @Query(AS_OF_PROJECTION + "WHERE h.validTo > :asOf AND h.validFrom <= :asOf ORDER BY h.nombre")
+    List<ConceptAsOfSummaryDto> findCatalogAsOf(@Param("asOf") LocalDateTime asOf);
+
+    @Query(AS_OF_PROJECTION + "WHERE h.validTo > :asOf AND h.validFrom <= :asOf " +
+           "AND h.areaFacultada = :areaFacultada ORDER BY h.nombre")
+    List<ConceptAsOfSummaryDto> findCatalogAsOfByArea(@Param("asOf") LocalDateTime asOf,
+                                                     @Param("areaFacultada") AreaFacultada areaFacultada);
+}
@@ -1,21 +1,36 @@
 package saf.cgmaig.technicalconcept.repository;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import saf.cgmaig.technicalconcept.dto.AreaChapterCombinationDto;
+import saf.cgmaig.technicalconcept.dto.CatalogStamp;
+import saf.cgmaig.technicalconcept.dto.ConceptChangeRow;
+import saf.cgmaig.technicalconcept.dto.ConceptReadDto;
+import saf.cgmaig.technicalconcept.dto.ConceptSummaryDto;
 import saf.cgmaig.technicalconcept.entity.AreaFacultada;
 import saf.cgmaig.technicalconcept.entity.ConceptStatus;
 import saf.cgmaig.technicalconcept.entity.TechnicalConcept;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 @Repository
-public interface TechnicalConceptRepository extends JpaRepository<TechnicalConcept, UUID> {
+public interface TechnicalConceptRepository extends JpaRepository<TechnicalConcept, UUID>,
+        JpaSpecificationExecutor<TechnicalConcept> {
+
+    String READ_PROJECTION = "SELECT new saf.cgmaig.technicalconcept.dto.ConceptReadDto(" +
+           "tc.numero, tc.nombre, tc.descripcionDetallada, tc.areaFacultada, tc.capitulo, tc.estado, " +
+           "tc.creadoPor, tc.fechaCreacion, tc.actualizadoPor, tc.fechaActualizacion) FROM TechnicalConcept tc ";
 
     // Búsquedas para capturistas (conceptos activos)
     List<TechnicalConcept> findByEstadoAndActivoTrueOrderByNombreAsc(ConceptStatus estado);
@@ -23,49 +38,64 @@ public interface TechnicalConceptRepository extends JpaRepository<TechnicalConce
     List<TechnicalConcept> findByCapituloAndEstadoAndActivoTrueOrderByNombreAsc(
         Integer capitulo, ConceptStatus estado);
 
+    // Conceptos activos permitidos para una partida (índice GIN sobre partidas_permitidas)
+    @Query(value = "SELECT * FROM technical_concepts " +
+                   "WHERE partidas_permitidas @> ARRAY[CAST(:partida AS text)] " +
+                   "AND estado = 'ACTIVO' AND activo = true ORDER BY nombre",
+           nativeQuery = true)
+    List<TechnicalConcept> findActiveByPartida(@Param("partida") String partida);
+
     // Búsquedas por área facultada
     Page<TechnicalConcept> findByAreaFacultadaOrderByFechaCreacionDesc(
         AreaFacultada areaFacultada, Pageable pageable);
 
+    // Variante sin COUNT(*) para scroll infinito
+    Slice<TechnicalConcept> findSliceByAreaFacultadaOrderByFechaCreacionDesc(
+        AreaFacultada areaFacultada, Pageable pageable);
+
     List<TechnicalConcept> findByAreaFacultadaAndCapituloOrderByNombreAsc(
         AreaFacultada areaFacultada, Integer capitulo);
 
     // Búsqueda por nombre (para validar unicidad)
     Optional<TechnicalConcept> findByNombreAndAreaFacultada(String nombre, AreaFacultada areaFacultada);
 
+    // Carga masiva: nombres ya registrados en el área con su estado (una sola consulta por lote)
+    @Query("SELECT tc.nombre, tc.id, tc.estado FROM TechnicalConcept tc " +
+           "WHERE tc.areaFacultada = :areaFacultada AND tc.nombre IN :nombres")
+    List<Object[]> findIdsByAreaAndNombreIn(@Param("areaFacultada") AreaFacultada areaFacultada,
+                                            @Param("nombres") Collection<String> nombres);
+
     // Verificar si existe concepto con el mismo nombre (excluyendo un ID específico)
     boolean existsByNombreAndAreaFacultadaAndIdNot(String nombre, AreaFacultada areaFacultada, UUID id);
 
-    // Búsquedas avanzadas
-    @Query("SELECT tc FROM TechnicalConcept tc WHERE " +
-           "(:capitulo IS NULL OR tc.capitulo = :capitulo) AND " +
-           "(:areaFacultada IS NULL OR tc.areaFacultada = :areaFacultada) AND " +
-           "(:estado IS NULL OR tc.estado = :estado) AND " +
-           "(:activo IS NULL OR tc.activo = :activo) AND " +
-           "(:searchTerm IS NULL OR LOWER(tc.nombre) LIKE LOWER(CONCAT('%', :searchTerm, '%')) " +
-           "OR LOWER(tc.descripcionDetallada) LIKE LOWER(CONCAT('%', :searchTerm, '%')))")
-    Page<TechnicalConcept> findConceptsWithFilters(
-        @Param("capitulo") Integer capitulo,
-        @Param("areaFacultada") AreaFacultada areaFacultada,
-        @Param("estado") ConceptStatus estado,
-        @Param("activo") Boolean activo,
-        @Param("searchTerm") String searchTerm,
-        Pageable pageable);
-
-    // Estadísticas
-    @Query("SELECT tc.areaFacultada, COUNT(tc) FROM TechnicalConcept tc " +
-           "WHERE tc.estado = :estado GROUP BY tc.areaFacultada")
-    List<Object[]> countByAreaFacultadaAndEstado(@Param("estado") ConceptStatus estado);
-
-    @Query("SELECT tc.capitulo, COUNT(tc) FROM TechnicalConcept tc " +
-           "WHERE tc.estado = :estado GROUP BY tc.capitulo")
-    List<Object[]> countByCapituloAndEstado(@Param("estado") ConceptStatus estado);
-
-    // Para auditoría - conceptos modificados recientemente
-    @Query("SELECT tc FROM TechnicalConcept tc WHERE " +
-           "tc.fechaActualizacion >= :cutoffDate " +
-           "ORDER BY tc.fechaActualizacion DESC")
-    List<TechnicalConcept> findRecentlyModified(@Param("cutoffDate") java.time.LocalDateTime cutoffDate);
+    // Estadísticas: conciliación periódica de los contadores en memoria (CatalogStatisticsService)
+    @Query("SELECT tc.areaFacultada, tc.capitulo, tc.estado, COUNT(tc) FROM TechnicalConcept tc " +
+           "GROUP BY tc.areaFacultada, tc.capitulo, tc.estado")
+    List<Object[]> countGroupedByAreaCapituloAndEstado();
+
+    // Marca del catálogo para el modelo de lectura en memoria
+    @Query("SELECT new saf.cgmaig.technicalconcept.dto.CatalogStamp(COUNT(tc), MAX(tc.fechaActualizacion)) " +
+           "FROM TechnicalConcept tc")
+    CatalogStamp getCatalogStamp();
+
+    // Feed de cambios: orden estricto (fecha_actualizacion, numero), índice idx_technical_concepts_changes
+    String CHANGE_PROJECTION = "SELECT new saf.cgmaig.technicalconcept.dto.ConceptChangeRow(" +
+           "tc.numero, tc.nombre, tc.estado, tc.activo, tc.version, tc.ultimoCambio, tc.fechaActualizacion) " +
+           "FROM TechnicalConcept tc ";
+
+    @Query(CHANGE_PROJECTION +
+           "WHERE tc.fechaActualizacion < :upTo " +
+           "ORDER BY tc.fechaActualizacion, tc.numero")
+    List<ConceptChangeRow> findChangesFromStart(@Param("upTo") LocalDateTime upTo, Limit limit);
+
+    @Query(CHANGE_PROJECTION +
+           "WHERE (tc.fechaActualizacion, tc.numero) > (:since, :numero) " +
+           "AND tc.fechaActualizacion < :upTo " +
+           "ORDER BY tc.fechaActualizacion, tc.numero")
+    List<ConceptChangeRow> findChangesAfter(@Param("since") LocalDateTime since,
+                                            @Param("numero") Long numero,
+                                            @Param("upTo") LocalDateTime upTo,
+                                            Limit limit);
 
     // Validaciones de negocio
     @Query("SELECT COUNT(tc) > 0 FROM TechnicalConcept tc WHERE " +
@@ -73,4 +103,49 @@ public interface TechnicalConceptRepository extends JpaRepository<TechnicalConce
     boolean existsInvalidAreaCapituloMapping(
         @Param("areaFacultada") AreaFacultada areaFacultada, 
         @Param("expectedCapitulo") Integer expectedCapitulo);
-}
\ No newline at end of file
+
+    // API interna entre servicios: proyecciones sin cargar entidades ni partidas
+    @Query(READ_PROJECTION + "WHERE tc.numero = :numero")
+    Optional<ConceptReadDto> findReadByNumero(@Param("numero") Long numero);
+
+    @Query(READ_PROJECTION + "WHERE tc.numero IN :numeros ORDER BY tc.numero")
+    List<ConceptReadDto> findReadByNumeroIn(@Param("numeros") Collection<Long> numeros);
+
+    @Query(READ_PROJECTION + "WHERE tc.areaFacultada = :areaFacultada ORDER BY tc.nombre")
+    List<ConceptReadDto> findReadByArea(@Param("areaFacultada") AreaFacultada areaFacultada);
+
+    @Query(READ_PROJECTION + "WHERE tc.areaFacultada = :areaFacultada AND tc.estado = :estado " +
+           "AND tc.activo = true ORDER BY tc.nombre")
+    List<ConceptReadDto> findReadActiveByArea(@Param("areaFacultada") AreaFacultada areaFacultada,
+                                              @Param("estado") ConceptStatus estado);
+
+    @Query(READ_PROJECTION + "WHERE tc.estado = :estado AND tc.activo = true ORDER BY tc.nombre")
+    List<ConceptReadDto> findReadActive(@Param("estado") ConceptStatus estado);
+
+    @Query(READ_PROJECTION + "WHERE tc.nombre = :nombre AND tc.areaFacultada = :areaFacultada")
+    List<ConceptReadDto> findReadByNombreAndArea(@Param("nombre") String nombre,
+                                                 @Param("areaFacultada") AreaFacultada areaFacultada);
+
+    @Query("SELECT new saf.cgmaig.technicalconcept.dto.ConceptSummaryDto(" +
+           "tc.numero, tc.nombre, tc.areaFacultada, tc.capitulo, tc.estado, tc.creadoPor) " +
+           "FROM TechnicalConcept tc WHERE tc.numero = :numero")
+    Optional<ConceptSummaryDto> findSummaryByNumero(@Param("numero") Long numero);
+
+    @Query(value = "SELECT EXISTS (SELECT 1 FROM technical_concepts " +
+                   "WHERE numero = :numero AND estado = 'ACTIVO' AND activo)",
+           nativeQuery = true)
+    boolean existsActiveByNumero(@Param("numero") Long numero);
+
+    @Query(value = "SELECT EXISTS (SELECT 1 FROM technical_concepts " +
+                   "WHERE nombre = :nombre AND area_facultada = :area)",
+           nativeQuery = true)
+    boolean existsByNombreAndArea(@Param("nombre") String nombre, @Param("area") String area);
+
+    @Query("SELECT new saf.cgmaig.technicalconcept.dto.AreaChapterCombinationDto(" +
+           "tc.areaFacultada, tc.capitulo, " +
+           "COUNT(CASE WHEN tc.estado = saf.cgmaig.technicalconcept.entity.ConceptStatus.ACTIVO " +
+           "AND tc.activo = true THEN 1 END)) " +
+           "FROM TechnicalConcept tc GROUP BY tc.areaFacultada, tc.capitulo " +
+           "ORDER BY tc.areaFacultada, tc.capitulo")
+    List<AreaChapterCombinationDto> findAreaChapterCombinations();
+}
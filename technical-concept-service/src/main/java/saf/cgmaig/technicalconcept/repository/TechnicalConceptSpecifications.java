@@ -0,0 +1,83 @@
+package saf.cgmaig.technicalconcept.repository;
+
+import org.springframework.data.jpa.domain.Specification;
+import saf.cgmaig.technicalconcept.entity.AreaFacultada;
+import saf.cgmaig.technicalconcept.entity.ConceptStatus;
+import saf.cgmaig.technicalconcept.entity.TechnicalConcept;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Filtros dinámicos de búsqueda de conceptos generales
+ *
+ * Solo se agregan los predicados de los filtros presentes, de modo que
+ * PostgreSQL planifica cada combinación con sus índices (sin el patrón
+ * "(:x IS NULL OR ...)"). La búsqueda de texto usa LOWER(col) LIKE, cubierto
+ * por los índices de trigramas de indexes.sql.
+ */
+public final class TechnicalConceptSpecifications {
+
+    private static final char LIKE_ESCAPE = '\\';
+
+    private TechnicalConceptSpecifications() {
+    }
+
+    public static Specification<TechnicalConcept> withFilters(Integer capitulo, AreaFacultada areaFacultada,
+                                                              ConceptStatus estado, Boolean activo,
+                                                              String searchTerm) {
+        List<Specification<TechnicalConcept>> filters = new ArrayList<>();
+        if (capitulo != null) {
+            filters.add(hasCapitulo(capitulo));
+        }
+        if (areaFacultada != null) {
+            filters.add(hasAreaFacultada(areaFacultada));
+        }
+        if (estado != null) {
+            filters.add(hasEstado(estado));
+        }
+        if (activo != null) {
+            filters.add(isActivo(activo));
+        }
+        if (searchTerm != null && !searchTerm.isBlank()) {
+            filters.add(containsText(searchTerm.trim()));
+        }
+        return Specification.allOf(filters);
+    }
+
+    public static Specification<TechnicalConcept> hasCapitulo(Integer capitulo) {
+        return (root, query, cb) -> cb.equal(root.get("capitulo"), capitulo);
+    }
+
+    public static Specification<TechnicalConcept> hasAreaFacultada(AreaFacultada areaFacultada) {
+        return (root, query, cb) -> cb.equal(root.get("areaFacultada"), areaFacultada);
+    }
+
+    public static Specification<TechnicalConcept> hasEstado(ConceptStatus estado) {
+        return (root, query, cb) -> cb.equal(root.get("estado"), estado);
+    }
+
+    public static Specification<TechnicalConcept> isActivo(Boolean activo) {
+        return (root, query, cb) -> cb.equal(root.get("activo"), activo);
+    }
+
+    /**
+     * Nombre o descripción contienen el término (sin distinguir mayúsculas)
+     *
+     * Con términos de menos de 3 caracteres pg_trgm no obtiene ningún trigrama
+     * completo: el índice no descarta filas y la búsqueda recorre el índice
+     * entero (o la tabla), igual que sin índice.
+     */
+    public static Specification<TechnicalConcept> containsText(String term) {
+        String pattern = "%" + escapeLike(term.toLowerCase(Locale.ROOT)) + "%";
+        return (root, query, cb) -> cb.or(
+            cb.like(cb.lower(root.get("nombre")), pattern, LIKE_ESCAPE),
+            cb.like(cb.lower(root.get("descripcionDetallada")), pattern, LIKE_ESCAPE));
+    }
+
+    // Los comodines escritos por el usuario se buscan literalmente
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
@@ -0,0 +1,230 @@
+package saf.cgmaig.technicalconcept.service;
+
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.xssf.streaming.SXSSFSheet;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import saf.cgmaig.technicalconcept.entity.AreaFacultada;
+import saf.cgmaig.technicalconcept.entity.ConceptStatus;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Exportación del catálogo en streaming (CSV y XLSX)
+ *
+ * Lee con un cursor JDBC de solo avance (fetch size acotado) y escribe cada
+ * fila directamente en la respuesta, sin materializar entidades: la memoria
+ * usada no depende del tamaño del catálogo. En PostgreSQL el cursor solo se
+ * usa con autocommit desactivado, por eso la lectura es transaccional.
+ */
+@Service
+public class CatalogExportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(CatalogExportService.class);
+
+    private static final String[] HEADERS = {
+        "Número", "Nombre", "Descripción", "Capítulo", "Partidas permitidas", "Área facultada",
+        "Estado", "Activo", "Versión", "Fecha creación", "Fecha actualización", "Creado por", "Actualizado por"
+    };
+
+    private static final String SELECT_SQL =
+        "SELECT numero, nombre, descripcion_detallada, capitulo, " +
+        "array_to_string(partidas_permitidas, ';') AS partidas, area_facultada, estado, activo, version, " +
+        "fecha_creacion, fecha_actualizacion, creado_por, actualizado_por FROM technical_concepts";
+
+    // Filas de SXSSF que se conservan en memoria; el resto se vuelca a disco
+    private static final int XLSX_ROW_WINDOW = 100;
+
+    public enum ExportFormat {
+        CSV("text/csv;charset=UTF-8", "csv"),
+        XLSX("application/vnd.openxmlformats-officedocument.spreadsheetml.sheet", "xlsx");
+
+        private final String contentType;
+        private final String extension;
+
+        ExportFormat(String contentType, String extension) {
+            this.contentType = contentType;
+            this.extension = extension;
+        }
+
+        public String getContentType() {
+            return contentType;
+        }
+
+        public String getExtension() {
+            return extension;
+        }
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${cubs.technical-concepts.export.fetch-size:500}")
+    private int fetchSize;
+
+    @Autowired
+    public CatalogExportService(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Escribir el catálogo filtrado en el formato solicitado
+     */
+    @Transactional(value = "transactionManager", readOnly = true)
+    public void export(ExportFormat format, AreaFacultada areaFacultada, Integer capitulo,
+                       ConceptStatus estado, Boolean activo, OutputStream out) throws IOException {
+        logger.info("Exportando catálogo en {} - área: {}, capítulo: {}, estado: {}, activo: {}",
+                format, areaFacultada, capitulo, estado, activo);
+
+        long rows = switch (format) {
+            case CSV -> exportCsv(areaFacultada, capitulo, estado, activo, out);
+            case XLSX -> exportXlsx(areaFacultada, capitulo, estado, activo, out);
+        };
+        logger.info("Exportación {} completada: {} conceptos", format, rows);
+    }
+
+    private long exportCsv(AreaFacultada areaFacultada, Integer capitulo, ConceptStatus estado,
+                           Boolean activo, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        // BOM para que Excel reconozca UTF-8 (acentos y ñ)
+        writer.write('\uFEFF');
+        writeCsvLine(writer, HEADERS);
+
+        long[] count = {0};
+        String[] values = new String[HEADERS.length];
+        stream(areaFacultada, capitulo, estado, activo, rs -> {
+            for (int i = 0; i < values.length; i++) {
+                values[i] = columnText(rs, i + 1);
+            }
+            try {
+                writeCsvLine(writer, values);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            count[0]++;
+        });
+        writer.flush();
+        return count[0];
+    }
+
+    private long exportXlsx(AreaFacultada areaFacultada, Integer capitulo, ConceptStatus estado,
+                            Boolean activo, OutputStream out) throws IOException {
+        SXSSFWorkbook workbook = new SXSSFWorkbook(XLSX_ROW_WINDOW);
+        workbook.setCompressTempFiles(true);
+        try {
+            SXSSFSheet sheet = workbook.createSheet("Conceptos generales");
+            Row header = sheet.createRow(0);
+            for (int i = 0; i < HEADERS.length; i++) {
+                header.createCell(i).setCellValue(HEADERS[i]);
+            }
+
+            int[] rowIndex = {1};
+            stream(areaFacultada, capitulo, estado, activo, rs -> {
+                Row row = sheet.createRow(rowIndex[0]++);
+                for (int i = 0; i < HEADERS.length; i++) {
+                    Cell cell = row.createCell(i);
+                    Object value = rs.getObject(i + 1);
+                    if (value instanceof Number number) {
+                        cell.setCellValue(number.doubleValue());
+                    } else if (value != null) {
+                        cell.setCellValue(columnText(rs, i + 1));
+                    }
+                }
+            });
+            workbook.write(out);
+            return rowIndex[0] - 1L;
+        } finally {
+            workbook.dispose();
+            workbook.close();
+        }
+    }
+
+    /**
+     * Recorrer las filas con un cursor de solo avance; solo se agregan los filtros presentes
+     */
+    private void stream(AreaFacultada areaFacultada, Integer capitulo, ConceptStatus estado,
+                        Boolean activo, RowCallbackHandler handler) {
+        StringBuilder sql = new StringBuilder(SELECT_SQL);
+        List<Object> params = new ArrayList<>();
+        List<String> conditions = new ArrayList<>();
+        if (areaFacultada != null) {
+            conditions.add("area_facultada = ?");
+            params.add(areaFacultada.name());
+        }
+        if (capitulo != null) {
+            conditions.add("capitulo = ?");
+            params.add(capitulo);
+        }
+        if (estado != null) {
+            conditions.add("estado = ?");
+            params.add(estado.name());
+        }
+        if (activo != null) {
+            conditions.add("activo = ?");
+            params.add(activo);
+        }
+        if (!conditions.isEmpty()) {
+            sql.append(" WHERE ").append(String.join(" AND ", conditions));
+        }
+        sql.append(" ORDER BY numero");
+
+        jdbcTemplate.query(connection -> {
+            PreparedStatement ps = connection.prepareStatement(sql.toString(),
+                    ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            ps.setFetchSize(fetchSize);
+            for (int i = 0; i < params.size(); i++) {
+                ps.setObject(i + 1, params.get(i));
+            }
+            return ps;
+        }, handler);
+    }
+
+    private static String columnText(ResultSet rs, int column) throws SQLException {
+        Object value = rs.getObject(column);
+        if (value instanceof Timestamp timestamp) {
+            return timestamp.toLocalDateTime().toString();
+        }
+        if (value instanceof Boolean bool) {
+            return bool ? "Sí" : "No";
+        }
+        return value != null ? value.toString() : "";
+    }
+
+    // RFC 4180: se entrecomillan los valores con separador, comillas o saltos de línea
+    private static void writeCsvLine(Writer writer, String[] values) throws IOException {
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            String value = values[i];
+            if (value.indexOf(',') >= 0 || value.indexOf('"') >= 0
+                    || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0) {
+                writer.write('"');
+                writer.write(value.replace("\"", "\"\""));
+                writer.write('"');
+            } else {
+                writer.write(value);
+            }
+        }
+        writer.write("\r\n");
+    }
+}
@@ -0,0 +1,194 @@
+package saf.cgmaig.technicalconcept.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import saf.cgmaig.technicalconcept.dto.CatalogStatisticsResponse;
+import saf.cgmaig.technicalconcept.entity.AreaFacultada;
+import saf.cgmaig.technicalconcept.entity.ConceptStatus;
+import saf.cgmaig.technicalconcept.repository.TechnicalConceptRepository;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Contadores del catálogo por área, capítulo y estado
+ *
+ * Se ajustan en memoria al confirmarse cada alta o cambio de estado, por lo
+ * que consultar las estadísticas no toca la base de datos. Un GROUP BY
+ * periódico reemplaza los contadores y corrige las escrituras hechas por
+ * otras instancias.
+ *
+ * El GROUP BY y el reemplazo corren bajo countersLock, que también toman los
+ * ajustes: un ajuste que llega durante la conciliación espera y se aplica a
+ * los contadores nuevos en lugar de perderse en los reemplazados. Queda la
+ * ventana entre el commit de una escritura y su afterCommit; si el GROUP BY
+ * cae en ella, la escritura se cuenta dos veces hasta la siguiente conciliación.
+ */
+@Service
+public class CatalogStatisticsService {
+
+    private static final Logger logger = LoggerFactory.getLogger(CatalogStatisticsService.class);
+
+    private record CounterKey(AreaFacultada areaFacultada, Integer capitulo, ConceptStatus estado) {}
+
+    private final TechnicalConceptRepository repository;
+    private final AtomicReference<Map<CounterKey, AtomicLong>> counters =
+            new AtomicReference<>(new ConcurrentHashMap<>());
+    // ReentrantLock en lugar de synchronized: no fija hilos virtuales a su portador
+    private final ReentrantLock countersLock = new ReentrantLock();
+    private volatile LocalDateTime lastReconciledAt;
+
+    @Autowired
+    public CatalogStatisticsService(TechnicalConceptRepository repository) {
+        this.repository = repository;
+    }
+
+    /**
+     * Registrar un alta (se aplica tras el commit)
+     */
+    public void recordCreated(AreaFacultada areaFacultada, Integer capitulo, ConceptStatus estado) {
+        afterCommit(() -> adjust(() -> increment(new CounterKey(areaFacultada, capitulo, estado), 1)));
+    }
+
+    /**
+     * Registrar un cambio de estado (se aplica tras el commit)
+     */
+    public void recordStatusChange(AreaFacultada areaFacultada, Integer capitulo,
+                                   ConceptStatus previous, ConceptStatus current) {
+        if (previous == current) {
+            return;
+        }
+        afterCommit(() -> adjust(() -> {
+            increment(new CounterKey(areaFacultada, capitulo, previous), -1);
+            increment(new CounterKey(areaFacultada, capitulo, current), 1);
+        }));
+    }
+
+    public CatalogStatisticsResponse getStatistics() {
+        long total = 0;
+        Map<String, Long> byEstado = new TreeMap<>();
+        Map<String, Map<String, Long>> byArea = new TreeMap<>();
+        Map<Integer, Map<String, Long>> byCapitulo = new TreeMap<>();
+
+        for (Map.Entry<CounterKey, AtomicLong> entry : counters.get().entrySet()) {
+            long count = entry.getValue().get();
+            if (count <= 0) {
+                continue;
+            }
+            CounterKey key = entry.getKey();
+            String estado = key.estado().name();
+            total += count;
+            byEstado.merge(estado, count, Long::sum);
+            byArea.computeIfAbsent(key.areaFacultada().name(), k -> new TreeMap<>()).merge(estado, count, Long::sum);
+            byCapitulo.computeIfAbsent(key.capitulo(), k -> new TreeMap<>()).merge(estado, count, Long::sum);
+        }
+        return new CatalogStatisticsResponse(total, byEstado, byArea, byCapitulo, lastReconciledAt);
+    }
+
+    /**
+     * Total aproximado para los filtros de igualdad, a partir de los contadores
+     *
+     * activo se aproxima por estado (activo = estado ACTIVO).
+     */
+    public long estimateTotal(AreaFacultada areaFacultada, Integer capitulo, ConceptStatus estado, Boolean activo) {
+        long total = 0;
+        for (Map.Entry<CounterKey, AtomicLong> entry : counters.get().entrySet()) {
+            CounterKey key = entry.getKey();
+            if ((areaFacultada == null || areaFacultada == key.areaFacultada())
+                    && (capitulo == null || capitulo.equals(key.capitulo()))
+                    && (estado == null || estado == key.estado())
+                    && (activo == null || activo == (key.estado() == ConceptStatus.ACTIVO))) {
+                total += Math.max(0, entry.getValue().get());
+            }
+        }
+        return total;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        reconcile();
+    }
+
+    /**
+     * Recalcular los contadores desde la tabla y reemplazarlos
+     */
+    @Scheduled(fixedDelayString = "${cubs.technical-concepts.statistics.reconcile-interval-ms:300000}",
+               initialDelayString = "${cubs.technical-concepts.statistics.reconcile-interval-ms:300000}")
+    public void reconcile() {
+        countersLock.lock();
+        try {
+            Map<CounterKey, AtomicLong> recalculated = new ConcurrentHashMap<>();
+            for (Object[] row : repository.countGroupedByAreaCapituloAndEstado()) {
+                CounterKey key = new CounterKey((AreaFacultada) row[0], (Integer) row[1], (ConceptStatus) row[2]);
+                recalculated.put(key, new AtomicLong((Long) row[3]));
+            }
+
+            Map<CounterKey, AtomicLong> previous = counters.getAndSet(recalculated);
+            lastReconciledAt = LocalDateTime.now();
+            if (!sameCounts(previous, recalculated)) {
+                logger.info("Contadores del catálogo conciliados con la base de datos ({} grupos)", recalculated.size());
+            }
+        } catch (RuntimeException e) {
+            logger.error("No se pudieron conciliar los contadores del catálogo: {}", e.getMessage(), e);
+        } finally {
+            countersLock.unlock();
+        }
+    }
+
+    /**
+     * Aplicar ajustes bajo countersLock; un cambio de estado (-1/+1) no se
+     * reparte entre los contadores reemplazados y los nuevos
+     */
+    private void adjust(Runnable increments) {
+        countersLock.lock();
+        try {
+            increments.run();
+        } finally {
+            countersLock.unlock();
+        }
+    }
+
+    private void increment(CounterKey key, long delta) {
+        counters.get().computeIfAbsent(key, k -> new AtomicLong()).addAndGet(delta);
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    private static boolean sameCounts(Map<CounterKey, AtomicLong> a, Map<CounterKey, AtomicLong> b) {
+        for (CounterKey key : a.keySet()) {
+            if (a.get(key).get() != 0 && !b.containsKey(key)) {
+                return false;
+            }
+        }
+        for (Map.Entry<CounterKey, AtomicLong> entry : b.entrySet()) {
+            AtomicLong other = a.get(entry.getKey());
+            if (other == null || other.get() != entry.getValue().get()) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
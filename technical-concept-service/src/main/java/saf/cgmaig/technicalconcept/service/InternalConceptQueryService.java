@@ -0,0 +1,168 @@
+package saf.cgmaig.technicalconcept.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import saf.cgmaig.technicalconcept.dto.AreaChapterCombinationDto;
+import saf.cgmaig.technicalconcept.dto.ConceptChangePageDto;
+import saf.cgmaig.technicalconcept.dto.ConceptChangeRow;
+import saf.cgmaig.technicalconcept.dto.ConceptReadDto;
+import saf.cgmaig.technicalconcept.dto.ConceptSummaryDto;
+import saf.cgmaig.technicalconcept.entity.AreaFacultada;
+import saf.cgmaig.technicalconcept.entity.ConceptStatus;
+import saf.cgmaig.technicalconcept.repository.TechnicalConceptRepository;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Consultas de la API interna entre servicios
+ *
+ * Responde con proyecciones JPQL (sin entidades ni partidasPermitidas) y
+ * verificaciones EXISTS, pensadas para llamadas frecuentes desde
+ * concept-management-service y validation-service.
+ */
+@Service
+@Transactional(value = "transactionManager", readOnly = true)
+public class InternalConceptQueryService {
+
+    private final TechnicalConceptRepository repository;
+
+    @Value("${cubs.technical-concepts.internal-api.max-bulk-ids:1000}")
+    private int maxBulkIds;
+
+    @Value("${cubs.technical-concepts.change-feed.max-page-size:1000}")
+    private int maxChangePageSize;
+
+    // Los cambios más recientes que este margen se omiten hasta la siguiente consulta:
+    // una transacción aún abierta puede confirmar después con una fecha anterior
+    @Value("${cubs.technical-concepts.change-feed.safety-lag-ms:5000}")
+    private long changeFeedSafetyLagMs;
+
+    @Autowired
+    public InternalConceptQueryService(TechnicalConceptRepository repository) {
+        this.repository = repository;
+    }
+
+    public Optional<ConceptReadDto> findById(Long id) {
+        return repository.findReadByNumero(id);
+    }
+
+    public List<ConceptReadDto> findByIds(Collection<Long> ids) {
+        if (ids.size() > maxBulkIds) {
+            throw new IllegalArgumentException("No se pueden consultar más de " + maxBulkIds + " conceptos por solicitud");
+        }
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        return repository.findReadByNumeroIn(new LinkedHashSet<>(ids));
+    }
+
+    public Optional<ConceptSummaryDto> findSummary(Long id) {
+        return repository.findSummaryByNumero(id);
+    }
+
+    /**
+     * Existe y está activo (disponible como concepto base)
+     */
+    public boolean existsActive(Long id) {
+        return repository.existsActiveByNumero(id);
+    }
+
+    public boolean existsByNameAndArea(String name, String area) {
+        return repository.existsByNombreAndArea(name, parseArea(area).name());
+    }
+
+    public List<ConceptReadDto> findByNameAndArea(String name, String area) {
+        return repository.findReadByNombreAndArea(name, parseArea(area));
+    }
+
+    public List<ConceptReadDto> findByArea(String area) {
+        return repository.findReadByArea(parseArea(area));
+    }
+
+    /**
+     * Conceptos activos del área (conceptos base para captura)
+     */
+    public List<ConceptReadDto> findBaseConceptsByArea(String area) {
+        return repository.findReadActiveByArea(parseArea(area), ConceptStatus.ACTIVO);
+    }
+
+    public List<ConceptReadDto> findAllBaseConcepts() {
+        return repository.findReadActive(ConceptStatus.ACTIVO);
+    }
+
+    public List<AreaChapterCombinationDto> findAreaChapterCombinations() {
+        return repository.findAreaChapterCombinations();
+    }
+
+    /**
+     * Feed de cambios a partir de un cursor (null para comenzar desde el inicio)
+     *
+     * Cada concepto aparece con su estado más reciente; el cursor codifica la
+     * posición (fecha_actualizacion, numero) de la última fila entregada.
+     */
+    public ConceptChangePageDto findChanges(String since, int limit) {
+        if (limit < 1 || limit > maxChangePageSize) {
+            throw new IllegalArgumentException("El límite debe estar entre 1 y " + maxChangePageSize);
+        }
+
+        LocalDateTime upTo = LocalDateTime.now().minus(Duration.ofMillis(changeFeedSafetyLagMs));
+        Limit fetch = Limit.of(limit + 1);
+        List<ConceptChangeRow> rows;
+        if (since == null || since.isBlank()) {
+            rows = repository.findChangesFromStart(upTo, fetch);
+        } else {
+            ChangeCursor cursor = ChangeCursor.decode(since);
+            rows = repository.findChangesAfter(cursor.fechaActualizacion(), cursor.numero(), upTo, fetch);
+        }
+
+        boolean hasMore = rows.size() > limit;
+        List<ConceptChangeRow> page = hasMore ? rows.subList(0, limit) : rows;
+        if (page.isEmpty()) {
+            return new ConceptChangePageDto(List.of(), since, false);
+        }
+
+        ConceptChangeRow last = page.get(page.size() - 1);
+        String nextCursor = new ChangeCursor(last.fechaActualizacion(), last.numero()).encode();
+        return new ConceptChangePageDto(page.stream().map(ConceptChangeRow::toChange).toList(), nextCursor, hasMore);
+    }
+
+    private AreaFacultada parseArea(String area) {
+        try {
+            return AreaFacultada.valueOf(area.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Área facultada no válida: " + area);
+        }
+    }
+
+    /**
+     * Posición en el feed, codificada como texto opaco (base64url)
+     */
+    private record ChangeCursor(LocalDateTime fechaActualizacion, Long numero) {
+
+        String encode() {
+            String raw = fechaActualizacion + "|" + numero;
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+        }
+
+        static ChangeCursor decode(String value) {
+            try {
+                String raw = new String(Base64.getUrlDecoder().decode(value), StandardCharsets.UTF_8);
+                int separator = raw.indexOf('|');
+                return new ChangeCursor(LocalDateTime.parse(raw.substring(0, separator)),
+                        Long.parseLong(raw.substring(separator + 1)));
+            } catch (RuntimeException e) {
+                throw new IllegalArgumentException("Cursor del feed de cambios no válido: " + value);
+            }
+        }
+    }
+}
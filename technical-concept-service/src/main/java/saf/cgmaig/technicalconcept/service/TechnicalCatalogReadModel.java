@@ -0,0 +1,118 @@
+package saf.cgmaig.technicalconcept.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import saf.cgmaig.technicalconcept.dto.CatalogStamp;
+import saf.cgmaig.technicalconcept.dto.TechnicalConceptResponse;
+import saf.cgmaig.technicalconcept.entity.ConceptStatus;
+import saf.cgmaig.technicalconcept.repository.TechnicalConceptRepository;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Modelo de lectura en memoria del catálogo activo
+ *
+ * Las lecturas de capturistas se responden desde un snapshot inmutable que
+ * se reemplaza de forma atómica. Se reconstruye al confirmarse cada escritura
+ * en esta instancia y, para cambios hechos por otras instancias, cuando la
+ * marca del catálogo (total y última modificación) cambia.
+ */
+@Component
+public class TechnicalCatalogReadModel {
+
+    private static final Logger logger = LoggerFactory.getLogger(TechnicalCatalogReadModel.class);
+
+    private final TechnicalConceptRepository repository;
+    private final TechnicalConceptMapper mapper;
+    private final TransactionTemplate readTransaction;
+    private final AtomicReference<TechnicalCatalogSnapshot> snapshot =
+            new AtomicReference<>(TechnicalCatalogSnapshot.empty());
+    private final ReentrantLock rebuildLock = new ReentrantLock();
+
+    @Autowired
+    public TechnicalCatalogReadModel(TechnicalConceptRepository repository,
+                                     TechnicalConceptMapper mapper,
+                                     @Qualifier("transactionManager") PlatformTransactionManager transactionManager) {
+        this.repository = repository;
+        this.mapper = mapper;
+        this.readTransaction = new TransactionTemplate(transactionManager);
+        this.readTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.readTransaction.setReadOnly(true);
+    }
+
+    /**
+     * Snapshot vigente (nunca null)
+     */
+    public TechnicalCatalogSnapshot current() {
+        return snapshot.get();
+    }
+
+    /**
+     * Programar la reconstrucción tras el commit de la transacción en curso
+     */
+    public void refreshAfterCommit() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    rebuild();
+                }
+            });
+        } else {
+            rebuild();
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        rebuild();
+    }
+
+    /**
+     * Detectar cambios de otras instancias con una consulta agregada
+     */
+    @Scheduled(fixedDelayString = "${cubs.technical-concepts.catalog.refresh-interval-ms:30000}",
+               initialDelayString = "${cubs.technical-concepts.catalog.refresh-interval-ms:30000}")
+    public void refreshIfChanged() {
+        CatalogStamp stamp = repository.getCatalogStamp();
+        if (!Objects.equals(stamp, snapshot.get().getStamp())) {
+            rebuild();
+        }
+    }
+
+    /**
+     * Reconstruir y publicar un nuevo snapshot
+     */
+    public void rebuild() {
+        rebuildLock.lock();
+        try {
+            TechnicalCatalogSnapshot rebuilt = readTransaction.execute(status -> {
+                CatalogStamp stamp = repository.getCatalogStamp();
+                List<TechnicalConceptResponse> active = mapper.toResponseList(
+                        repository.findByEstadoAndActivoTrueOrderByNombreAsc(ConceptStatus.ACTIVO));
+                return new TechnicalCatalogSnapshot(snapshot.get().getSequence() + 1, stamp, active);
+            });
+            snapshot.set(rebuilt);
+            logger.debug("Catálogo en memoria reconstruido: {} conceptos activos (versión {})",
+                    rebuilt.getActive().size(), rebuilt.getSequence());
+        } catch (RuntimeException e) {
+            logger.error("No se pudo reconstruir el catálogo en memoria: {}", e.getMessage(), e);
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+}
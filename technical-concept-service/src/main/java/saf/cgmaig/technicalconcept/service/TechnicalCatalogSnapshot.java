@@ -0,0 +1,101 @@
+package saf.cgmaig.technicalconcept.service;
+
+import saf.cgmaig.technicalconcept.dto.CatalogStamp;
+import saf.cgmaig.technicalconcept.dto.TechnicalConceptResponse;
+import saf.cgmaig.technicalconcept.entity.AreaFacultada;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Vista inmutable de los conceptos activos del catálogo
+ *
+ * Indexada por id, capítulo y área. El ETag es un hash del contenido
+ * (id, versión y fecha de actualización de cada concepto), por lo que es
+ * igual en todas las instancias con el mismo catálogo.
+ */
+public final class TechnicalCatalogSnapshot {
+
+    private final long sequence;
+    private final String etag;
+    private final CatalogStamp stamp;
+    private final List<TechnicalConceptResponse> active;
+    private final Map<UUID, TechnicalConceptResponse> byId;
+    private final Map<Integer, List<TechnicalConceptResponse>> byCapitulo;
+    private final Map<AreaFacultada, List<TechnicalConceptResponse>> byArea;
+
+    TechnicalCatalogSnapshot(long sequence, CatalogStamp stamp, List<TechnicalConceptResponse> activeConcepts) {
+        this.sequence = sequence;
+        this.stamp = stamp;
+        this.active = List.copyOf(activeConcepts);
+        this.byId = active.stream().collect(Collectors.toUnmodifiableMap(TechnicalConceptResponse::getId, c -> c));
+        this.byCapitulo = group(active, TechnicalConceptResponse::getCapitulo);
+        this.byArea = group(active, TechnicalConceptResponse::getAreaFacultada);
+        this.etag = contentHash(active);
+    }
+
+    static TechnicalCatalogSnapshot empty() {
+        return new TechnicalCatalogSnapshot(0, null, List.of());
+    }
+
+    /**
+     * Número de reconstrucción local (monótono en la instancia)
+     */
+    public long getSequence() {
+        return sequence;
+    }
+
+    public String getETag() {
+        return etag;
+    }
+
+    CatalogStamp getStamp() {
+        return stamp;
+    }
+
+    public List<TechnicalConceptResponse> getActive() {
+        return active;
+    }
+
+    public Optional<TechnicalConceptResponse> findById(UUID id) {
+        return Optional.ofNullable(byId.get(id));
+    }
+
+    public List<TechnicalConceptResponse> getByCapitulo(Integer capitulo) {
+        return byCapitulo.getOrDefault(capitulo, List.of());
+    }
+
+    public List<TechnicalConceptResponse> getByArea(AreaFacultada area) {
+        return byArea.getOrDefault(area, List.of());
+    }
+
+    private static <K> Map<K, List<TechnicalConceptResponse>> group(
+            List<TechnicalConceptResponse> concepts,
+            java.util.function.Function<TechnicalConceptResponse, K> key) {
+        Map<K, List<TechnicalConceptResponse>> groups = concepts.stream()
+                .collect(Collectors.groupingBy(key, LinkedHashMap::new, Collectors.toList()));
+        groups.replaceAll((k, list) -> List.copyOf(list));
+        return Map.copyOf(groups);
+    }
+
+    private static String contentHash(List<TechnicalConceptResponse> concepts) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            for (TechnicalConceptResponse concept : concepts) {
+                digest.update((concept.getId() + ":" + concept.getVersion() + ":" +
+                               concept.getFechaActualizacion() + ";").getBytes(StandardCharsets.UTF_8));
+            }
+            return "\"" + Base64.getUrlEncoder().withoutPadding().encodeToString(digest.digest()) + "\"";
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,256 @@
+package saf.cgmaig.technicalconcept.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import saf.cgmaig.technicalconcept.dto.TechnicalConceptBulkResponse;
+import saf.cgmaig.technicalconcept.dto.TechnicalConceptBulkResponse.ItemResult;
+import saf.cgmaig.technicalconcept.dto.TechnicalConceptCreateRequest;
+import saf.cgmaig.technicalconcept.entity.AreaFacultada;
+import saf.cgmaig.technicalconcept.entity.ConceptChangeType;
+import saf.cgmaig.technicalconcept.entity.ConceptStatus;
+import saf.cgmaig.technicalconcept.repository.TechnicalConceptRepository;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Carga masiva de conceptos generales
+ *
+ * Valida área/capítulo en memoria y la unicidad de nombres con una sola
+ * consulta para todo el lote; después inserta/actualiza con JDBC por lotes
+ * dentro de una transacción. Se usa JdbcTemplate en lugar de save() porque
+ * la columna generada "numero" obliga a Hibernate a insertar fila por fila.
+ */
+@Service
+@Transactional("transactionManager")
+public class TechnicalConceptBulkService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TechnicalConceptBulkService.class);
+
+    private static final String INSERT_SQL =
+        "INSERT INTO technical_concepts (id_concepto_general, nombre, descripcion_detallada, capitulo, " +
+        "partidas_permitidas, area_facultada, estado, version, activo, ultimo_cambio, " +
+        "fecha_creacion, fecha_actualizacion, creado_por, actualizado_por, motivo_cambio) " +
+        "VALUES (?, ?, ?, ?, ?, ?, ?, 1, true, ?, ?, ?, ?, ?, ?)";
+
+    // Solo conceptos activos: si otro proceso lo inactivó tras la consulta, no se actualiza
+    private static final String UPDATE_SQL =
+        "UPDATE technical_concepts SET descripcion_detallada = ?, partidas_permitidas = ?, " +
+        "motivo_cambio = ?, actualizado_por = ?, fecha_actualizacion = ?, " +
+        "version = version + 1, ultimo_cambio = ? " +
+        "WHERE id_concepto_general = ? AND estado = 'ACTIVO'";
+
+    private final TechnicalConceptRepository repository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TechnicalCatalogReadModel catalogReadModel;
+    private final CatalogStatisticsService statisticsService;
+
+    @Value("${cubs.technical-concepts.bulk.max-items:1000}")
+    private int maxItems;
+
+    @Value("${cubs.technical-concepts.bulk.batch-size:100}")
+    private int batchSize;
+
+    @Autowired
+    public TechnicalConceptBulkService(TechnicalConceptRepository repository,
+                                       JdbcTemplate jdbcTemplate,
+                                       TechnicalCatalogReadModel catalogReadModel,
+                                       CatalogStatisticsService statisticsService) {
+        this.repository = repository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.catalogReadModel = catalogReadModel;
+        this.statisticsService = statisticsService;
+    }
+
+    /**
+     * Crear (o actualizar, si updateExisting) los conceptos de la carga
+     *
+     * Los elementos inválidos se reportan como REJECTED sin afectar al resto.
+     * Los conceptos existentes inactivos no se actualizan y se reportan como INACTIVE.
+     *
+     * @param motivoCambio motivo registrado en los conceptos actualizados (obligatorio con updateExisting)
+     */
+    public TechnicalConceptBulkResponse bulkUpsert(List<TechnicalConceptCreateRequest> items,
+                                                   boolean updateExisting, String motivoCambio,
+                                                   AreaFacultada userArea, String userCurp) {
+        if (items.size() > maxItems) {
+            throw new IllegalArgumentException("No se pueden cargar más de " + maxItems + " conceptos por solicitud");
+        }
+        if (updateExisting && (motivoCambio == null || motivoCambio.isBlank())) {
+            throw new IllegalArgumentException("Motivo del cambio es obligatorio para actualizar conceptos existentes");
+        }
+        logger.info("Carga masiva de {} conceptos generales para área {} (actualizar existentes: {})",
+                items.size(), userArea, updateExisting);
+
+        Map<String, ExistingConcept> existing = findExisting(items, userArea);
+        LocalDateTime now = LocalDateTime.now();
+
+        List<ItemResult> results = new ArrayList<>(items.size());
+        List<PendingWrite> inserts = new ArrayList<>();
+        List<PendingWrite> updates = new ArrayList<>();
+        Set<String> seenNames = new HashSet<>();
+
+        for (int index = 0; index < items.size(); index++) {
+            TechnicalConceptCreateRequest item = items.get(index);
+            String nombre = item.getNombre();
+
+            String error = validate(item, userArea);
+            if (error == null && !seenNames.add(nombre)) {
+                error = "Nombre repetido dentro de la misma carga";
+            }
+            if (error == null && existing.containsKey(nombre) && !updateExisting) {
+                error = String.format("Ya existe un concepto general con el nombre '%s' en el área %s",
+                        nombre, userArea);
+            }
+            if (error != null) {
+                results.add(ItemResult.rejected(index, nombre, error));
+                continue;
+            }
+
+            ExistingConcept current = existing.get(nombre);
+            if (current != null && current.estado() != ConceptStatus.ACTIVO) {
+                results.add(ItemResult.inactive(index, nombre, current.id()));
+            } else if (current != null) {
+                updates.add(new PendingWrite(index, current.id(), item));
+                results.add(ItemResult.updated(index, nombre, current.id()));
+            } else {
+                UUID id = UUID.randomUUID();
+                inserts.add(new PendingWrite(index, id, item));
+                results.add(ItemResult.created(index, nombre, id));
+            }
+        }
+
+        try {
+            insertBatch(inserts, now, userCurp);
+            List<PendingWrite> skipped = updateBatch(updates, now, userCurp, motivoCambio);
+            for (PendingWrite write : skipped) {
+                results.set(write.index(), ItemResult.inactive(write.index(), write.item().getNombre(), write.id()));
+            }
+        } catch (DuplicateKeyException e) {
+            // Otro proceso registró el mismo nombre entre la validación y la inserción
+            throw new IllegalStateException(
+                "Conflicto de nombres con conceptos registrados simultáneamente; reintente la carga");
+        }
+
+        if (!inserts.isEmpty() || !updates.isEmpty()) {
+            catalogReadModel.refreshAfterCommit();
+        }
+        for (PendingWrite insert : inserts) {
+            statisticsService.recordCreated(userArea, insert.item().getCapitulo(), ConceptStatus.ACTIVO);
+        }
+
+        TechnicalConceptBulkResponse response = TechnicalConceptBulkResponse.of(results);
+        logger.info("Carga masiva completada - creados: {}, actualizados: {}, inactivos: {}, rechazados: {}",
+                response.created(), response.updated(), response.inactive(), response.rejected());
+        return response;
+    }
+
+    private Map<String, ExistingConcept> findExisting(List<TechnicalConceptCreateRequest> items,
+                                                      AreaFacultada userArea) {
+        Set<String> nombres = new LinkedHashSet<>();
+        for (TechnicalConceptCreateRequest item : items) {
+            nombres.add(item.getNombre());
+        }
+        Map<String, ExistingConcept> existing = new HashMap<>();
+        for (Object[] row : repository.findIdsByAreaAndNombreIn(userArea, nombres)) {
+            existing.put((String) row[0], new ExistingConcept((UUID) row[1], (ConceptStatus) row[2]));
+        }
+        return existing;
+    }
+
+    private String validate(TechnicalConceptCreateRequest item, AreaFacultada userArea) {
+        if (!userArea.equals(item.getAreaFacultada())) {
+            return String.format("Área %s no puede crear conceptos del área %s", userArea, item.getAreaFacultada());
+        }
+        if (!userArea.getCapitulo().equals(item.getCapitulo())) {
+            return String.format("Área facultada %s no puede gestionar conceptos del capítulo %d. " +
+                    "Su competencia es el capítulo %d", userArea, item.getCapitulo(), userArea.getCapitulo());
+        }
+        return null;
+    }
+
+    private void insertBatch(List<PendingWrite> inserts, LocalDateTime now, String userCurp) {
+        if (inserts.isEmpty()) {
+            return;
+        }
+        Timestamp timestamp = Timestamp.valueOf(now);
+        jdbcTemplate.batchUpdate(INSERT_SQL, inserts, batchSize, (ps, write) -> {
+            TechnicalConceptCreateRequest item = write.item();
+            ps.setObject(1, write.id());
+            ps.setString(2, item.getNombre());
+            ps.setString(3, item.getDescripcionDetallada());
+            ps.setInt(4, item.getCapitulo());
+            setPartidas(ps, 5, item.getPartidasPermitidas());
+            ps.setString(6, item.getAreaFacultada().name());
+            ps.setString(7, ConceptStatus.ACTIVO.name());
+            ps.setString(8, ConceptChangeType.CREATED.name());
+            ps.setTimestamp(9, timestamp);
+            ps.setTimestamp(10, timestamp);
+            ps.setString(11, userCurp);
+            ps.setString(12, userCurp);
+            ps.setString(13, item.getMotivoCreacion());
+        });
+    }
+
+    /**
+     * @return actualizaciones que no afectaron filas (concepto inactivado entre la consulta y el UPDATE)
+     */
+    private List<PendingWrite> updateBatch(List<PendingWrite> updates, LocalDateTime now, String userCurp,
+                                           String motivoCambio) {
+        if (updates.isEmpty()) {
+            return List.of();
+        }
+        Timestamp timestamp = Timestamp.valueOf(now);
+        int[][] counts = jdbcTemplate.batchUpdate(UPDATE_SQL, updates, batchSize, (ps, write) -> {
+            TechnicalConceptCreateRequest item = write.item();
+            ps.setString(1, item.getDescripcionDetallada());
+            setPartidas(ps, 2, item.getPartidasPermitidas());
+            ps.setString(3, motivoCambio);
+            ps.setString(4, userCurp);
+            ps.setTimestamp(5, timestamp);
+            ps.setString(6, ConceptChangeType.UPDATED.name());
+            ps.setObject(7, write.id());
+        });
+
+        List<PendingWrite> skipped = new ArrayList<>();
+        int position = 0;
+        for (int[] batch : counts) {
+            for (int count : batch) {
+                if (count == 0) {
+                    skipped.add(updates.get(position));
+                }
+                position++;
+            }
+        }
+        return skipped;
+    }
+
+    private static void setPartidas(PreparedStatement ps, int index, List<String> partidas) throws SQLException {
+        if (partidas == null) {
+            ps.setNull(index, Types.ARRAY);
+        } else {
+            ps.setArray(index, ps.getConnection().createArrayOf("text", partidas.toArray()));
+        }
+    }
+
+    private record PendingWrite(int index, UUID id, TechnicalConceptCreateRequest item) {}
+
+    private record ExistingConcept(UUID id, ConceptStatus estado) {}
+}
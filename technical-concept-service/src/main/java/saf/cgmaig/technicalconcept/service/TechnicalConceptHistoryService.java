@@ -0,0 +1,65 @@
+package saf.cgmaig.technicalconcept.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import saf.cgmaig.technicalconcept.dto.ConceptAsOfSummaryDto;
+import saf.cgmaig.technicalconcept.dto.ConceptVersionResponse;
+import saf.cgmaig.technicalconcept.entity.AreaFacultada;
+import saf.cgmaig.technicalconcept.repository.TechnicalConceptHistoryRepository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Consultas temporales sobre las versiones de conceptos generales (auditoría)
+ */
+@Service
+@Transactional(value = "transactionManager", readOnly = true)
+public class TechnicalConceptHistoryService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TechnicalConceptHistoryService.class);
+
+    private final TechnicalConceptHistoryRepository historyRepository;
+
+    @Autowired
+    public TechnicalConceptHistoryService(TechnicalConceptHistoryRepository historyRepository) {
+        this.historyRepository = historyRepository;
+    }
+
+    /**
+     * Todas las versiones de un concepto, de la más antigua a la vigente
+     */
+    public List<ConceptVersionResponse> getHistory(UUID conceptId) {
+        List<ConceptVersionResponse> versions = historyRepository.findByConceptIdOrderByValidFromAsc(conceptId)
+            .stream().map(ConceptVersionResponse::from).toList();
+        if (versions.isEmpty()) {
+            throw new IllegalArgumentException("No se encontró historial para el concepto general con ID: " + conceptId);
+        }
+        return versions;
+    }
+
+    /**
+     * Versión de un concepto vigente en una fecha
+     */
+    public ConceptVersionResponse getVersionAsOf(UUID conceptId, LocalDateTime asOf) {
+        logger.debug("Consultando concepto general {} al {}", conceptId, asOf);
+        return historyRepository.findAsOf(conceptId, asOf)
+            .map(ConceptVersionResponse::from)
+            .orElseThrow(() -> new IllegalArgumentException(
+                String.format("El concepto general %s no existía al %s", conceptId, asOf)));
+    }
+
+    /**
+     * Catálogo tal como estaba en una fecha (opcionalmente de un área)
+     */
+    public List<ConceptAsOfSummaryDto> getCatalogAsOf(LocalDateTime asOf, AreaFacultada areaFacultada) {
+        logger.debug("Consultando catálogo al {} - área: {}", asOf, areaFacultada);
+        return areaFacultada != null
+            ? historyRepository.findCatalogAsOfByArea(asOf, areaFacultada)
+            : historyRepository.findCatalogAsOf(asOf);
+    }
+}
@@ -5,6 +5,7 @@ import saf.cgmaig.technicalconcept.dto.TechnicalConceptCreateRequest;
 import saf.cgmaig.technicalconcept.dto.TechnicalConceptResponse;
 import saf.cgmaig.technicalconcept.dto.TechnicalConceptUpdateRequest;
 import saf.cgmaig.technicalconcept.entity.AreaFacultada;
+import saf.cgmaig.technicalconcept.entity.ConceptChangeType;
 import saf.cgmaig.technicalconcept.entity.ConceptStatus;
 import saf.cgmaig.technicalconcept.entity.TechnicalConcept;
 
@@ -30,6 +31,7 @@ public class TechnicalConceptMapperImpl implements TechnicalConceptMapper {
         concept.setEstado(ConceptStatus.ACTIVO);
         concept.setActivo(true);
         concept.setVersion(1);
+        concept.setUltimoCambio(ConceptChangeType.CREATED);
         concept.setCreadoPor(userCurp);
         concept.setActualizadoPor(userCurp);
         concept.setMotivoCambio(request.getMotivoCreacion());
@@ -47,6 +49,7 @@ public class TechnicalConceptMapperImpl implements TechnicalConceptMapper {
 
         TechnicalConceptResponse response = new TechnicalConceptResponse();
         response.setId(entity.getId());
+        response.setNumero(entity.getNumero());
         response.setNombre(entity.getNombre());
         response.setDescripcionDetallada(entity.getDescripcionDetallada());
         response.setCapitulo(entity.getCapitulo());
@@ -93,6 +96,7 @@ public class TechnicalConceptMapperImpl implements TechnicalConceptMapper {
         target.setMotivoCambio(request.getMotivoCambio());
         target.setActualizadoPor(userCurp);
         target.setVersion(target.getVersion() + 1);
+        target.setUltimoCambio(ConceptChangeType.UPDATED);
         target.setFechaActualizacion(LocalDateTime.now());
     }
 
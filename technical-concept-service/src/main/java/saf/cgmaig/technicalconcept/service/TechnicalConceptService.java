@@ -5,8 +5,11 @@ import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import saf.cgmaig.technicalconcept.dto.SliceResponse;
 import saf.cgmaig.technicalconcept.dto.TechnicalConceptCreateRequest;
 import saf.cgmaig.technicalconcept.dto.TechnicalConceptResponse;
 import saf.cgmaig.technicalconcept.dto.TechnicalConceptUpdateRequest;
@@ -14,6 +17,7 @@ import saf.cgmaig.technicalconcept.entity.AreaFacultada;
 import saf.cgmaig.technicalconcept.entity.ConceptStatus;
 import saf.cgmaig.technicalconcept.entity.TechnicalConcept;
 import saf.cgmaig.technicalconcept.repository.TechnicalConceptRepository;
+import saf.cgmaig.technicalconcept.repository.TechnicalConceptSpecifications;
 
 import java.util.List;
 import java.util.UUID;
@@ -30,6 +34,12 @@ public class TechnicalConceptService {
     @Autowired
     private TechnicalConceptMapper mapper;
 
+    @Autowired
+    private TechnicalCatalogReadModel catalogReadModel;
+
+    @Autowired
+    private CatalogStatisticsService statisticsService;
+
     /**
      * Crear un nuevo concepto general
      */
@@ -49,6 +59,8 @@ public class TechnicalConceptService {
         TechnicalConcept concept = mapper.toEntity(request, userCurp);
         TechnicalConcept saved = repository.save(concept);
 
+        catalogReadModel.refreshAfterCommit();
+        statisticsService.recordCreated(saved.getAreaFacultada(), saved.getCapitulo(), saved.getEstado());
         logger.info("Concepto general creado exitosamente con ID: {}", saved.getId());
         return mapper.toResponse(saved);
     }
@@ -82,6 +94,7 @@ public class TechnicalConceptService {
         mapper.updateEntity(existing, request, userCurp);
         TechnicalConcept updated = repository.save(existing);
 
+        catalogReadModel.refreshAfterCommit();
         logger.info("Concepto general actualizado exitosamente: {}", updated.getId());
         return mapper.toResponse(updated);
     }
@@ -106,9 +119,13 @@ public class TechnicalConceptService {
             throw new IllegalStateException("El concepto ya está inactivo");
         }
 
+        ConceptStatus previousStatus = existing.getEstado();
         existing.inactivar(motivo, userCurp);
         TechnicalConcept updated = repository.save(existing);
 
+        catalogReadModel.refreshAfterCommit();
+        statisticsService.recordStatusChange(
+            updated.getAreaFacultada(), updated.getCapitulo(), previousStatus, updated.getEstado());
         logger.info("Concepto general inactivado exitosamente: {}", updated.getId());
         return mapper.toResponse(updated);
     }
@@ -133,34 +150,41 @@ public class TechnicalConceptService {
             throw new IllegalStateException("El concepto ya está activo");
         }
 
+        ConceptStatus previousStatus = existing.getEstado();
         existing.reactivar(motivo, userCurp);
         TechnicalConcept updated = repository.save(existing);
 
+        catalogReadModel.refreshAfterCommit();
+        statisticsService.recordStatusChange(
+            updated.getAreaFacultada(), updated.getCapitulo(), previousStatus, updated.getEstado());
         logger.info("Concepto general reactivado exitosamente: {}", updated.getId());
         return mapper.toResponse(updated);
     }
 
+    /**
+     * Snapshot en memoria del catálogo activo (lecturas de capturistas sin acceso a BD)
+     */
+    @Transactional(value = "transactionManager", propagation = Propagation.SUPPORTS)
+    public TechnicalCatalogSnapshot getActiveCatalog() {
+        return catalogReadModel.current();
+    }
+
     /**
      * Obtener conceptos activos para capturistas
      */
-    @Transactional(value = "transactionManager", readOnly = true)
+    @Transactional(value = "transactionManager", propagation = Propagation.SUPPORTS)
     public List<TechnicalConceptResponse> getActiveConceptsForCapture() {
         logger.debug("Obteniendo conceptos activos para captura");
-        
-        List<TechnicalConcept> concepts = repository.findByEstadoAndActivoTrueOrderByNombreAsc(ConceptStatus.ACTIVO);
-        return mapper.toResponseList(concepts);
+        return catalogReadModel.current().getActive();
     }
 
     /**
      * Obtener conceptos activos por capítulo para capturistas
      */
-    @Transactional(value = "transactionManager", readOnly = true)
+    @Transactional(value = "transactionManager", propagation = Propagation.SUPPORTS)
     public List<TechnicalConceptResponse> getActiveConceptsByCapitulo(Integer capitulo) {
         logger.debug("Obteniendo conceptos activos para captura del capítulo: {}", capitulo);
-        
-        List<TechnicalConcept> concepts = repository.findByCapituloAndEstadoAndActivoTrueOrderByNombreAsc(
-            capitulo, ConceptStatus.ACTIVO);
-        return mapper.toResponseList(concepts);
+        return catalogReadModel.current().getByCapitulo(capitulo);
     }
 
     /**
@@ -174,6 +198,21 @@ public class TechnicalConceptService {
         return concepts.map(mapper::toResponse);
     }
 
+    /**
+     * Obtener conceptos por área facultada sin conteo total (scroll infinito)
+     */
+    @Transactional(value = "transactionManager", readOnly = true)
+    public SliceResponse<TechnicalConceptResponse> getConceptsByAreaSlice(AreaFacultada area, Pageable pageable,
+                                                                         boolean approximateTotal) {
+        logger.debug("Obteniendo conceptos del área (slice): {}", area);
+
+        Slice<TechnicalConceptResponse> concepts = repository
+            .findSliceByAreaFacultadaOrderByFechaCreacionDesc(area, pageable)
+            .map(mapper::toResponse);
+        Long total = approximateTotal ? statisticsService.estimateTotal(area, null, null, null) : null;
+        return SliceResponse.of(concepts, total);
+    }
+
     /**
      * Búsqueda avanzada con filtros
      */
@@ -184,18 +223,57 @@ public class TechnicalConceptService {
         logger.debug("Búsqueda con filtros - capítulo: {}, área: {}, estado: {}, activo: {}, búsqueda: {}", 
                     capitulo, areaFacultada, estado, activo, searchTerm);
         
-        Page<TechnicalConcept> concepts = repository.findConceptsWithFilters(
-            capitulo, areaFacultada, estado, activo, searchTerm, pageable);
+        Page<TechnicalConcept> concepts = repository.findAll(
+            TechnicalConceptSpecifications.withFilters(capitulo, areaFacultada, estado, activo, searchTerm),
+            pageable);
         return concepts.map(mapper::toResponse);
     }
 
+    /**
+     * Búsqueda avanzada sin conteo total (scroll infinito)
+     */
+    @Transactional(value = "transactionManager", readOnly = true)
+    public SliceResponse<TechnicalConceptResponse> searchConceptsSlice(Integer capitulo, AreaFacultada areaFacultada,
+                                                                      ConceptStatus estado, Boolean activo,
+                                                                      String searchTerm, Pageable pageable,
+                                                                      boolean approximateTotal) {
+        logger.debug("Búsqueda con filtros (slice) - capítulo: {}, área: {}, estado: {}, activo: {}, búsqueda: {}",
+                    capitulo, areaFacultada, estado, activo, searchTerm);
+
+        Slice<TechnicalConceptResponse> concepts = repository.findBy(
+            TechnicalConceptSpecifications.withFilters(capitulo, areaFacultada, estado, activo, searchTerm),
+            query -> query.slice(pageable))
+            .map(mapper::toResponse);
+
+        // Con búsqueda de texto no hay contador que sirva de estimación
+        boolean hasSearchTerm = searchTerm != null && !searchTerm.isBlank();
+        Long total = approximateTotal && !hasSearchTerm
+            ? statisticsService.estimateTotal(areaFacultada, capitulo, estado, activo)
+            : null;
+        return SliceResponse.of(concepts, total);
+    }
+
+    /**
+     * Obtener conceptos activos permitidos para una partida
+     */
+    @Transactional(value = "transactionManager", readOnly = true)
+    public List<TechnicalConceptResponse> getActiveConceptsByPartida(String partida) {
+        logger.debug("Obteniendo conceptos activos para la partida: {}", partida);
+
+        if (partida == null || partida.isBlank()) {
+            throw new IllegalArgumentException("La partida es obligatoria");
+        }
+        return mapper.toResponseList(repository.findActiveByPartida(partida.trim()));
+    }
+
     /**
      * Obtener concepto por ID
      */
     @Transactional(value = "transactionManager", readOnly = true)
     public TechnicalConceptResponse getById(UUID id) {
-        TechnicalConcept concept = findConceptById(id);
-        return mapper.toResponse(concept);
+        // Los activos se responden desde memoria; los inactivos se leen de BD
+        return catalogReadModel.current().findById(id)
+            .orElseGet(() -> mapper.toResponse(findConceptById(id)));
     }
 
     /**
@@ -0,0 +1,148 @@
+-- =====================================================
+-- Technical Concept Service - Performance Indexes
+-- Índices y migraciones de columnas para technical_concepts
+-- Se ejecuta después de que Hibernate crea/actualiza la tabla
+-- =====================================================
+
+-- =====================================================
+-- PARTIDAS PERMITIDAS (arreglo text[] en lugar de concept_partidas)
+-- =====================================================
+
+ALTER TABLE technical_concepts ADD COLUMN IF NOT EXISTS partidas_permitidas text[];
+
+-- Migración única desde la tabla de colección anterior (si existe). Tras copiar
+-- se renombra a concept_partidas_migrated para que el script no vuelva a
+-- restaurar partidas que después se hayan limpiado (ni genere versiones de historial).
+DO '
+BEGIN
+    IF to_regclass(''concept_partidas'') IS NOT NULL THEN
+        UPDATE technical_concepts tc
+           SET partidas_permitidas = p.partidas
+          FROM (SELECT concept_id, array_agg(partida ORDER BY partida) AS partidas
+                  FROM concept_partidas
+                 GROUP BY concept_id) p
+         WHERE p.concept_id = tc.id_concepto_general
+           AND tc.partidas_permitidas IS NULL;
+
+        ALTER TABLE concept_partidas RENAME TO concept_partidas_migrated;
+    END IF;
+END';
+
+-- Conceptos permitidos para una partida (partidas_permitidas @> ARRAY[...])
+CREATE INDEX IF NOT EXISTS idx_technical_concepts_partidas
+    ON technical_concepts USING gin(partidas_permitidas);
+
+-- =====================================================
+-- BÚSQUEDA AVANZADA (TechnicalConceptSpecifications)
+-- =====================================================
+
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+-- LOWER(col) LIKE '%término%' sobre nombre y descripción (BitmapOr de ambos índices)
+CREATE INDEX IF NOT EXISTS idx_technical_concepts_nombre_trgm
+    ON technical_concepts USING gin(lower(nombre) gin_trgm_ops);
+
+CREATE INDEX IF NOT EXISTS idx_technical_concepts_descripcion_trgm
+    ON technical_concepts USING gin(lower(descripcion_detallada) gin_trgm_ops);
+
+-- Filtros de igualdad más comunes (área de la sesión + capítulo, estado + activo)
+CREATE INDEX IF NOT EXISTS idx_technical_concepts_area_capitulo
+    ON technical_concepts (area_facultada, capitulo);
+
+CREATE INDEX IF NOT EXISTS idx_technical_concepts_estado_activo
+    ON technical_concepts (estado, activo);
+
+-- Capítulo sin área (administradores): capitulo no es la columna inicial de area_capitulo
+CREATE INDEX IF NOT EXISTS idx_technical_concepts_capitulo_activo
+    ON technical_concepts (capitulo, activo);
+
+-- =====================================================
+-- FEED DE CAMBIOS (GET /internal/concepts/changes)
+-- =====================================================
+
+-- Recorrido por cursor (fecha_actualizacion, numero) > (:since, :numero)
+CREATE INDEX IF NOT EXISTS idx_technical_concepts_changes
+    ON technical_concepts (fecha_actualizacion, numero);
+
+-- =====================================================
+-- HISTORIAL TEMPORAL DE VERSIONES (consultas "as of")
+-- Cada alta o cambio de technical_concepts cierra la versión vigente
+-- (valid_to) e inserta la nueva en el mismo statement, mediante triggers
+-- por sentencia con tablas de transición (también cubre lotes JDBC).
+-- La versión vigente tiene valid_to = 'infinity'. La tabla la crea
+-- Hibernate (TechnicalConceptHistory).
+-- =====================================================
+
+-- Versión de un concepto en una fecha: (id, valid_from, valid_to)
+CREATE INDEX IF NOT EXISTS idx_technical_concepts_history_temporal
+    ON technical_concepts_history (id_concepto_general, valid_from, valid_to);
+
+-- Catálogo en una fecha: cubre las columnas del resumen (index-only scan)
+CREATE INDEX IF NOT EXISTS idx_technical_concepts_history_as_of
+    ON technical_concepts_history (valid_to, valid_from)
+    INCLUDE (id_concepto_general, numero, nombre, capitulo, area_facultada, estado, activo, version);
+
+CREATE OR REPLACE FUNCTION technical_concept_history_on_insert() RETURNS trigger
+    LANGUAGE plpgsql AS '
+BEGIN
+    INSERT INTO technical_concepts_history (id_concepto_general, numero, nombre, descripcion_detallada, capitulo,
+        partidas_permitidas, area_facultada, estado, activo, version, ultimo_cambio, actualizado_por,
+        motivo_cambio, valid_from, valid_to)
+    SELECT n.id_concepto_general, n.numero, n.nombre, n.descripcion_detallada, n.capitulo,
+        n.partidas_permitidas, n.area_facultada, n.estado, n.activo, n.version, n.ultimo_cambio, n.actualizado_por,
+        n.motivo_cambio, coalesce(n.fecha_actualizacion, n.fecha_creacion, localtimestamp), ''infinity''
+    FROM new_rows n;
+    RETURN NULL;
+END';
+
+-- Solo las filas que realmente cambiaron generan una versión nueva
+CREATE OR REPLACE FUNCTION technical_concept_history_on_update() RETURNS trigger
+    LANGUAGE plpgsql AS '
+BEGIN
+    WITH changed AS (
+        SELECT n.* FROM new_rows n JOIN old_rows o ON o.id_concepto_general = n.id_concepto_general
+        WHERE ROW(o.*) IS DISTINCT FROM ROW(n.*)
+    ), closed AS (
+        UPDATE technical_concepts_history h
+           SET valid_to = coalesce(c.fecha_actualizacion, localtimestamp)
+          FROM changed c
+         WHERE h.id_concepto_general = c.id_concepto_general
+           AND h.valid_to = ''infinity''
+    )
+    INSERT INTO technical_concepts_history (id_concepto_general, numero, nombre, descripcion_detallada, capitulo,
+        partidas_permitidas, area_facultada, estado, activo, version, ultimo_cambio, actualizado_por,
+        motivo_cambio, valid_from, valid_to)
+    SELECT c.id_concepto_general, c.numero, c.nombre, c.descripcion_detallada, c.capitulo,
+        c.partidas_permitidas, c.area_facultada, c.estado, c.activo, c.version, c.ultimo_cambio, c.actualizado_por,
+        c.motivo_cambio, coalesce(c.fecha_actualizacion, localtimestamp), ''infinity''
+    FROM changed c;
+    RETURN NULL;
+END';
+
+DROP TRIGGER IF EXISTS trg_technical_concept_history_insert ON technical_concepts;
+CREATE TRIGGER trg_technical_concept_history_insert AFTER INSERT ON technical_concepts
+    REFERENCING NEW TABLE AS new_rows
+    FOR EACH STATEMENT EXECUTE FUNCTION technical_concept_history_on_insert();
+
+DROP TRIGGER IF EXISTS trg_technical_concept_history_update ON technical_concepts;
+CREATE TRIGGER trg_technical_concept_history_update AFTER UPDATE ON technical_concepts
+    REFERENCING OLD TABLE AS old_rows NEW TABLE AS new_rows
+    FOR EACH STATEMENT EXECUTE FUNCTION technical_concept_history_on_update();
+
+-- Carga inicial: versión vigente de los conceptos que aún no tienen historial
+INSERT INTO technical_concepts_history (id_concepto_general, numero, nombre, descripcion_detallada, capitulo,
+    partidas_permitidas, area_facultada, estado, activo, version, ultimo_cambio, actualizado_por,
+    motivo_cambio, valid_from, valid_to)
+SELECT tc.id_concepto_general, tc.numero, tc.nombre, tc.descripcion_detallada, tc.capitulo,
+    tc.partidas_permitidas, tc.area_facultada, tc.estado, tc.activo, tc.version, tc.ultimo_cambio, tc.actualizado_por,
+    tc.motivo_cambio, coalesce(tc.fecha_actualizacion, tc.fecha_creacion, localtimestamp), 'infinity'
+FROM technical_concepts tc
+WHERE NOT EXISTS (SELECT 1 FROM technical_concepts_history h
+                  WHERE h.id_concepto_general = tc.id_concepto_general);
+
+-- =====================================================
+-- LISTADO POR ÁREA (GET /api/general-concepts/my-area y /my-area/slice)
+-- =====================================================
+
+CREATE INDEX IF NOT EXISTS idx_technical_concepts_area_created
+    ON technical_concepts (area_facultada, fecha_creacion DESC);
@@ -0,0 +1,27 @@
+package saf.cgmaig.technicalconcept;
+
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.context.annotation.Bean;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.utility.DockerImageName;
+
+/**
+ * Configuración de Testcontainers para tests de integración con PostgreSQL.
+ *
+ * Se usa PostgreSQL 16 porque los tests de planes de ejecución requieren
+ * EXPLAIN (GENERIC_PLAN). Los scripts de indexes.sql se aplican al iniciar
+ * (perfil test), igual que en los entornos reales.
+ */
+@TestConfiguration(proxyBeanMethods = false)
+public class TestConfig {
+
+    @Bean
+    @ServiceConnection
+    public PostgreSQLContainer<?> postgreSQLContainer() {
+        return new PostgreSQLContainer<>(DockerImageName.parse("postgres:16-alpine"))
+                .withDatabaseName("technical_concept_test")
+                .withUsername("test_user")
+                .withPassword("test_password");
+    }
+}
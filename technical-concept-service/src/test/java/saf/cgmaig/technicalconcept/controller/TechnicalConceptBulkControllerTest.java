@@ -0,0 +1,108 @@
+package saf.cgmaig.technicalconcept.controller;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.RequestPostProcessor;
+import saf.cgmaig.technicalconcept.config.SecurityConfig;
+import saf.cgmaig.technicalconcept.entity.AreaFacultada;
+import saf.cgmaig.technicalconcept.service.CatalogExportService;
+import saf.cgmaig.technicalconcept.service.CatalogStatisticsService;
+import saf.cgmaig.technicalconcept.service.TechnicalConceptBulkService;
+import saf.cgmaig.technicalconcept.service.TechnicalConceptHistoryService;
+import saf.cgmaig.technicalconcept.service.TechnicalConceptService;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.jwt;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Respuestas HTTP de la carga masiva
+ */
+@WebMvcTest(TechnicalConceptController.class)
+@Import(SecurityConfig.class)
+class TechnicalConceptBulkControllerTest {
+
+    private static final String BODY = """
+            {"items": [{"nombre": "Papel bond", "descripcionDetallada": "Papel bond tamaño carta",
+                        "capitulo": 2000, "areaFacultada": "CGRM"}]}
+            """;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private TechnicalConceptService service;
+
+    @MockitoBean
+    private TechnicalConceptBulkService bulkService;
+
+    @MockitoBean
+    private CatalogExportService exportService;
+
+    @MockitoBean
+    private CatalogStatisticsService statisticsService;
+
+    @MockitoBean
+    private TechnicalConceptHistoryService historyService;
+
+    @MockitoBean
+    private JwtDecoder jwtDecoder;
+
+    @Test
+    void concurrentDuplicateReturnsConflict() throws Exception {
+        when(bulkService.bulkUpsert(anyList(), anyBoolean(), any(), eq(AreaFacultada.CGRM), any()))
+                .thenThrow(new IllegalStateException(
+                        "Conflicto de nombres con conceptos registrados simultáneamente; reintente la carga"));
+
+        mockMvc.perform(post("/api/general-concepts/bulk")
+                        .with(validator())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(BODY))
+                .andExpect(status().isConflict());
+    }
+
+    @Test
+    void missingChangeReasonReturnsBadRequest() throws Exception {
+        when(bulkService.bulkUpsert(anyList(), eq(true), any(), eq(AreaFacultada.CGRM), any()))
+                .thenThrow(new IllegalArgumentException(
+                        "Motivo del cambio es obligatorio para actualizar conceptos existentes"));
+
+        mockMvc.perform(post("/api/general-concepts/bulk?updateExisting=true")
+                        .with(validator())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(BODY))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void emptyBatchReturnsBadRequest() throws Exception {
+        mockMvc.perform(post("/api/general-concepts/bulk")
+                        .with(validator())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"items\": []}"))
+                .andExpect(status().isBadRequest());
+    }
+
+    private static RequestPostProcessor validator() {
+        return jwt()
+                .jwt(token -> token
+                        .claim("preferred_username", "CURP000000HTCXXX00")
+                        .claim("realm_access", Map.of("roles", List.of("VALIDADOR_TECNICO_CGRM"))))
+                .authorities(new SimpleGrantedAuthority("ROLE_VALIDADOR_TECNICO_CGRM"));
+    }
+}
@@ -0,0 +1,131 @@
+package saf.cgmaig.technicalconcept.repository;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import saf.cgmaig.technicalconcept.TestConfig;
+import saf.cgmaig.technicalconcept.dto.ConceptAsOfSummaryDto;
+import saf.cgmaig.technicalconcept.entity.AreaFacultada;
+import saf.cgmaig.technicalconcept.entity.TechnicalConceptHistory;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+/**
+ * Historial temporal de conceptos mantenido por triggers (indexes.sql)
+ *
+ * Las escrituras se hacen por JDBC para cubrir también las sentencias que no
+ * pasan por Hibernate, como los lotes.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@Import(TestConfig.class)
+@Testcontainers(disabledWithoutDocker = true)
+class TechnicalConceptHistoryTriggerTest {
+
+    private static final String INSERT_SQL =
+        "INSERT INTO technical_concepts (id_concepto_general, nombre, descripcion_detallada, capitulo, " +
+        "area_facultada, estado, version, activo, ultimo_cambio, fecha_creacion, fecha_actualizacion, " +
+        "creado_por, actualizado_por) " +
+        "VALUES (gen_random_uuid(), ?, 'Descripción', ?, ?, 'ACTIVO', 1, true, 'CREATED', ?, ?, " +
+        "'TEST', 'TEST') RETURNING id_concepto_general";
+
+    private static final LocalDateTime CREATED = LocalDateTime.of(2025, 3, 1, 9, 0);
+    private static final LocalDateTime UPDATED = LocalDateTime.of(2025, 6, 1, 9, 0);
+
+    @Autowired
+    private TechnicalConceptHistoryRepository historyRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void insertOpensTheCurrentVersion() {
+        UUID id = insert("Papel bond", 2000, AreaFacultada.CGRM);
+
+        assertThat(historyRepository.findByConceptIdOrderByValidFromAsc(id))
+            .extracting(TechnicalConceptHistory::getNombre, TechnicalConceptHistory::getVersion,
+                TechnicalConceptHistory::getValidFrom, TechnicalConceptHistory::getValidTo)
+            .containsExactly(tuple("Papel bond", 1, CREATED, LocalDateTime.MAX));
+    }
+
+    @Test
+    void updateClosesThePreviousVersionAndOpensANewOne() {
+        UUID id = insert("Papel bond", 2000, AreaFacultada.CGRM);
+
+        jdbcTemplate.update("UPDATE technical_concepts SET nombre = 'Papel bond carta', version = 2, " +
+            "ultimo_cambio = 'UPDATED', motivo_cambio = 'Tamaño', fecha_actualizacion = ? " +
+            "WHERE id_concepto_general = ?", UPDATED, id);
+
+        assertThat(historyRepository.findByConceptIdOrderByValidFromAsc(id))
+            .extracting(TechnicalConceptHistory::getNombre, TechnicalConceptHistory::getMotivoCambio,
+                TechnicalConceptHistory::getValidFrom, TechnicalConceptHistory::getValidTo)
+            .containsExactly(
+                tuple("Papel bond", null, CREATED, UPDATED),
+                tuple("Papel bond carta", "Tamaño", UPDATED, LocalDateTime.MAX));
+    }
+
+    @Test
+    void noOpUpdatesDoNotAddVersions() {
+        UUID id = insert("Papel bond", 2000, AreaFacultada.CGRM);
+
+        jdbcTemplate.update("UPDATE technical_concepts SET nombre = nombre WHERE id_concepto_general = ?", id);
+
+        assertThat(historyRepository.findByConceptIdOrderByValidFromAsc(id)).hasSize(1);
+    }
+
+    @Test
+    void multiRowUpdateVersionsOnlyTheRowsThatChanged() {
+        UUID first = insert("Papel bond", 2000, AreaFacultada.CGRM);
+        UUID second = insert("Tóner negro", 2000, AreaFacultada.CGRM);
+        UUID alreadyInactive = insert("Clips", 2000, AreaFacultada.CGRM);
+        UUID otherChapter = insert("Limpieza", 3000, AreaFacultada.CGSG);
+        jdbcTemplate.update("UPDATE technical_concepts SET activo = false, estado = 'INACTIVO' " +
+            "WHERE id_concepto_general = ?", alreadyInactive);
+
+        jdbcTemplate.update("UPDATE technical_concepts SET activo = false, estado = 'INACTIVO', " +
+            "ultimo_cambio = 'INACTIVATED', fecha_actualizacion = ? WHERE capitulo = 2000 AND activo", UPDATED);
+
+        assertThat(historyRepository.findByConceptIdOrderByValidFromAsc(first)).hasSize(2);
+        assertThat(historyRepository.findByConceptIdOrderByValidFromAsc(second)).hasSize(2)
+            .last().satisfies(version -> assertThat(version.getActivo()).isFalse());
+        assertThat(historyRepository.findByConceptIdOrderByValidFromAsc(alreadyInactive)).hasSize(2);
+        assertThat(historyRepository.findByConceptIdOrderByValidFromAsc(otherChapter)).hasSize(1);
+    }
+
+    @Test
+    void asOfQueriesReturnTheVersionValidAtThatTime() {
+        UUID id = insert("Papel bond", 2000, AreaFacultada.CGRM);
+        insert("Limpieza", 3000, AreaFacultada.CGSG);
+        jdbcTemplate.update("UPDATE technical_concepts SET nombre = 'Papel bond carta', version = 2, " +
+            "fecha_actualizacion = ? WHERE id_concepto_general = ?", UPDATED, id);
+
+        assertThat(historyRepository.findAsOf(id, CREATED.minusDays(1))).isEmpty();
+        assertThat(historyRepository.findAsOf(id, CREATED.plusDays(1)))
+            .hasValueSatisfying(version -> assertThat(version.getNombre()).isEqualTo("Papel bond"));
+        assertThat(historyRepository.findAsOf(id, UPDATED))
+            .hasValueSatisfying(version -> assertThat(version.getNombre()).isEqualTo("Papel bond carta"));
+
+        assertThat(historyRepository.findCatalogAsOf(CREATED.plusDays(1)))
+            .extracting(ConceptAsOfSummaryDto::nombre)
+            .containsExactly("Limpieza", "Papel bond");
+        assertThat(historyRepository.findCatalogAsOfByArea(UPDATED, AreaFacultada.CGRM))
+            .extracting(ConceptAsOfSummaryDto::nombre, ConceptAsOfSummaryDto::version)
+            .containsExactly(tuple("Papel bond carta", 2));
+    }
+
+    private UUID insert(String nombre, int capitulo, AreaFacultada areaFacultada) {
+        return jdbcTemplate.queryForObject(INSERT_SQL, UUID.class, nombre, capitulo, areaFacultada.name(),
+            CREATED, CREATED);
+    }
+}
@@ -0,0 +1,168 @@
+package saf.cgmaig.technicalconcept.repository;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import saf.cgmaig.technicalconcept.TestConfig;
+import saf.cgmaig.technicalconcept.entity.AreaFacultada;
+import saf.cgmaig.technicalconcept.entity.ConceptStatus;
+import saf.cgmaig.technicalconcept.entity.TechnicalConcept;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Planes de ejecución de la búsqueda avanzada (TechnicalConceptSpecifications)
+ *
+ * Para cada combinación de filtros se captura el SQL que genera Hibernate
+ * (página y conteo) y se ejecuta EXPLAIN (FORMAT JSON, GENERIC_PLAN) con
+ * enable_seqscan = off: PostgreSQL solo recurre a Seq Scan cuando ningún
+ * índice resuelve los predicados, sin depender del volumen de datos de prueba.
+ *
+ * No se verifican la búsqueda sin filtros (lee todo el catálogo) ni activo
+ * como único filtro (booleano sin selectividad). El término usa 3 o más
+ * caracteres: con menos, el índice de trigramas no descarta filas.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@Import(TestConfig.class)
+@Testcontainers(disabledWithoutDocker = true)
+class TechnicalConceptSpecificationsPlanTest {
+
+    private static final int CAPITULO = 1;
+    private static final int AREA = 1 << 1;
+    private static final int ESTADO = 1 << 2;
+    private static final int ACTIVO = 1 << 3;
+    private static final int TEXTO = 1 << 4;
+
+    private static final String SEED_SQL =
+        "INSERT INTO technical_concepts (id_concepto_general, nombre, descripcion_detallada, capitulo, " +
+        "area_facultada, estado, version, activo, ultimo_cambio, fecha_creacion, fecha_actualizacion, " +
+        "creado_por, actualizado_por) " +
+        "SELECT gen_random_uuid(), 'Concepto ' || i, 'Mantenimiento de equipo ' || i, " +
+        "(ARRAY[2000, 3000, 5000, 5000])[1 + i % 4], " +
+        "(ARRAY['CGRM', 'CGSG', 'CGMAIG', 'PATRIMONIO'])[1 + i % 4], " +
+        "CASE WHEN i % 10 = 0 THEN 'INACTIVO' ELSE 'ACTIVO' END, 1, i % 10 <> 0, 'CREATED', " +
+        "localtimestamp, localtimestamp, 'TEST', 'TEST' " +
+        "FROM generate_series(1, 5000) AS i";
+
+    @Autowired
+    private TechnicalConceptRepository repository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private SqlCapture sqlCapture;
+
+    @TestConfiguration(proxyBeanMethods = false)
+    static class SqlCaptureConfig {
+
+        @Bean
+        SqlCapture sqlCapture() {
+            return new SqlCapture();
+        }
+
+        @Bean
+        HibernatePropertiesCustomizer statementInspector(SqlCapture sqlCapture) {
+            return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, sqlCapture);
+        }
+    }
+
+    /**
+     * Registra las consultas que Hibernate envía a la base de datos
+     */
+    static class SqlCapture implements StatementInspector {
+
+        private final List<String> statements = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            if (sql.regionMatches(true, 0, "select", 0, 6)) {
+                statements.add(sql);
+            }
+            return sql;
+        }
+
+        List<String> drain() {
+            List<String> captured = new ArrayList<>(statements);
+            statements.clear();
+            return captured;
+        }
+    }
+
+    @BeforeEach
+    void seedCatalog() {
+        jdbcTemplate.update(SEED_SQL);
+        jdbcTemplate.execute("ANALYZE technical_concepts");
+        jdbcTemplate.execute("SET LOCAL enable_seqscan = off");
+        sqlCapture.drain();
+    }
+
+    static Stream<Arguments> filterCombinations() {
+        return IntStream.range(1, 1 << 5)
+            .filter(filters -> filters != ACTIVO)
+            .mapToObj(filters -> Arguments.of(
+                (filters & CAPITULO) != 0 ? AreaFacultada.CGSG.getCapitulo() : null,
+                (filters & AREA) != 0 ? AreaFacultada.CGSG : null,
+                (filters & ESTADO) != 0 ? ConceptStatus.ACTIVO : null,
+                (filters & ACTIVO) != 0 ? Boolean.TRUE : null,
+                (filters & TEXTO) != 0 ? "equipo" : null));
+    }
+
+    @ParameterizedTest(name = "capítulo={0}, área={1}, estado={2}, activo={3}, término={4}")
+    @MethodSource("filterCombinations")
+    void searchResolvesFiltersWithIndexes(Integer capitulo, AreaFacultada areaFacultada,
+                                          ConceptStatus estado, Boolean activo, String searchTerm) {
+        Specification<TechnicalConcept> spec =
+            TechnicalConceptSpecifications.withFilters(capitulo, areaFacultada, estado, activo, searchTerm);
+
+        repository.findAll(spec, PageRequest.of(0, 20));
+        repository.count(spec);
+
+        List<String> statements = sqlCapture.drain();
+        assertThat(statements).isNotEmpty();
+        for (String sql : statements) {
+            String plan = explain(sql);
+            assertThat(plan)
+                .as("Plan de %s%n%s", sql, plan)
+                .doesNotContain("\"Seq Scan\"")
+                .containsPattern("\"(Index Cond|Recheck Cond)\"");
+        }
+    }
+
+    // GENERIC_PLAN planifica con parámetros $n sin valores (PostgreSQL 16+)
+    private String explain(String sql) {
+        StringBuilder numbered = new StringBuilder(sql.length() + 16);
+        int parameter = 0;
+        for (char c : sql.toCharArray()) {
+            if (c == '?') {
+                numbered.append('$').append(++parameter);
+            } else {
+                numbered.append(c);
+            }
+        }
+        return jdbcTemplate.queryForObject("EXPLAIN (FORMAT JSON, GENERIC_PLAN) " + numbered, String.class);
+    }
+}
@@ -0,0 +1,100 @@
+package saf.cgmaig.technicalconcept.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import saf.cgmaig.technicalconcept.entity.AreaFacultada;
+import saf.cgmaig.technicalconcept.entity.ConceptStatus;
+import saf.cgmaig.technicalconcept.repository.TechnicalConceptRepository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+/**
+ * Contadores en memoria del catálogo y su conciliación con la base de datos
+ * (repositorio simulado)
+ */
+@ExtendWith(MockitoExtension.class)
+class CatalogStatisticsServiceTest {
+
+    @Mock
+    private TechnicalConceptRepository repository;
+
+    private CatalogStatisticsService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new CatalogStatisticsService(repository);
+    }
+
+    @Test
+    void adjustmentsAreAppliedWithoutTouchingTheDatabase() {
+        service.recordCreated(AreaFacultada.CGRM, 2000, ConceptStatus.ACTIVO);
+        service.recordCreated(AreaFacultada.CGRM, 2000, ConceptStatus.ACTIVO);
+        service.recordStatusChange(AreaFacultada.CGRM, 2000, ConceptStatus.ACTIVO, ConceptStatus.INACTIVO);
+
+        assertThat(service.estimateTotal(AreaFacultada.CGRM, 2000, ConceptStatus.ACTIVO, null)).isEqualTo(1);
+        assertThat(service.estimateTotal(AreaFacultada.CGRM, null, ConceptStatus.INACTIVO, null)).isEqualTo(1);
+        assertThat(service.getStatistics().total()).isEqualTo(2);
+    }
+
+    @Test
+    void reconcileReplacesTheCountersWithTheDatabaseCounts() {
+        service.recordCreated(AreaFacultada.CGRM, 2000, ConceptStatus.ACTIVO);
+        when(repository.countGroupedByAreaCapituloAndEstado())
+            .thenReturn(rows(row(AreaFacultada.CGSG, 3000, ConceptStatus.ACTIVO, 5L)));
+
+        service.reconcile();
+
+        assertThat(service.estimateTotal(AreaFacultada.CGRM, null, null, null)).isZero();
+        assertThat(service.estimateTotal(AreaFacultada.CGSG, 3000, ConceptStatus.ACTIVO, true)).isEqualTo(5);
+        assertThat(service.getStatistics().lastReconciledAt()).isNotNull();
+    }
+
+    @Test
+    void adjustmentArrivingDuringReconcileIsNotLost() throws Exception {
+        ReentrantLock countersLock = (ReentrantLock) ReflectionTestUtils.getField(service, "countersLock");
+        Thread writer = new Thread(() -> service.recordCreated(AreaFacultada.CGRM, 2000, ConceptStatus.ACTIVO));
+        when(repository.countGroupedByAreaCapituloAndEstado()).thenAnswer(invocation -> {
+            // El alta confirmada mientras corre el GROUP BY espera al reemplazo de los contadores
+            writer.start();
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (!countersLock.hasQueuedThread(writer) && System.nanoTime() < deadline) {
+                Thread.onSpinWait();
+            }
+            return rows(row(AreaFacultada.CGRM, 2000, ConceptStatus.ACTIVO, 3L));
+        });
+
+        service.reconcile();
+        writer.join(TimeUnit.SECONDS.toMillis(5));
+
+        assertThat(service.estimateTotal(AreaFacultada.CGRM, 2000, ConceptStatus.ACTIVO, null)).isEqualTo(4);
+    }
+
+    @Test
+    void failedReconcileKeepsTheCurrentCounters() {
+        service.recordCreated(AreaFacultada.CGRM, 2000, ConceptStatus.ACTIVO);
+        when(repository.countGroupedByAreaCapituloAndEstado()).thenThrow(new IllegalStateException("Sin conexión"));
+
+        service.reconcile();
+
+        assertThat(service.estimateTotal(null, null, null, null)).isEqualTo(1);
+        assertThat(service.getStatistics().lastReconciledAt()).isNull();
+    }
+
+    private static List<Object[]> rows(Object[]... rows) {
+        return new ArrayList<>(List.of(rows));
+    }
+
+    private static Object[] row(AreaFacultada areaFacultada, Integer capitulo, ConceptStatus estado, Long count) {
+        return new Object[] {areaFacultada, capitulo, estado, count};
+    }
+}
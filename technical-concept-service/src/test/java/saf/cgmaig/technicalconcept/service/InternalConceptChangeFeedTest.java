@@ -0,0 +1,108 @@
+package saf.cgmaig.technicalconcept.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import saf.cgmaig.technicalconcept.TestConfig;
+import saf.cgmaig.technicalconcept.dto.ConceptChangeDto;
+import saf.cgmaig.technicalconcept.dto.ConceptChangePageDto;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+
+/**
+ * Feed de cambios paginado por cursor (fecha_actualizacion, numero)
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@Import({TestConfig.class, InternalConceptQueryService.class})
+@Testcontainers(disabledWithoutDocker = true)
+class InternalConceptChangeFeedTest {
+
+    private static final String INSERT_SQL =
+        "INSERT INTO technical_concepts (id_concepto_general, nombre, descripcion_detallada, capitulo, " +
+        "area_facultada, estado, version, activo, ultimo_cambio, fecha_creacion, fecha_actualizacion, " +
+        "creado_por, actualizado_por) " +
+        "VALUES (gen_random_uuid(), ?, 'Descripción', 2000, 'CGRM', 'ACTIVO', 1, true, 'CREATED', ?, ?, " +
+        "'TEST', 'TEST') RETURNING numero";
+
+    @Autowired
+    private InternalConceptQueryService service;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void pagesFollowUpdateTimeThenNumeroWithoutGapsOrRepeats() {
+        LocalDateTime base = LocalDateTime.now().minusHours(1).withNano(123_456_000);
+        long third = insert("Tercero", base.plusSeconds(2));
+        long firstTied = insert("Primero A", base);
+        long secondTied = insert("Primero B", base);
+        long thirdTied = insert("Primero C", base);
+        long second = insert("Segundo", base.plusNanos(1_000));
+
+        List<Long> delivered = new ArrayList<>();
+        String cursor = null;
+        ConceptChangePageDto page;
+        do {
+            page = service.findChanges(cursor, 2);
+            page.changes().stream().map(ConceptChangeDto::id).forEach(delivered::add);
+            cursor = page.nextCursor();
+        } while (page.hasMore());
+
+        assertThat(delivered).containsExactly(firstTied, secondTied, thirdTied, second, third);
+    }
+
+    @Test
+    void cursorResumesAfterTheLastDeliveredRowAndPicksUpLaterChanges() {
+        LocalDateTime base = LocalDateTime.now().minusHours(1);
+        long first = insert("Papel bond", base);
+        long second = insert("Tóner negro", base.plusSeconds(1));
+
+        ConceptChangePageDto initial = service.findChanges(null, 10);
+        assertThat(initial.changes()).extracting(ConceptChangeDto::id).containsExactly(first, second);
+        assertThat(initial.hasMore()).isFalse();
+
+        ConceptChangePageDto idle = service.findChanges(initial.nextCursor(), 10);
+        assertThat(idle.changes()).isEmpty();
+        assertThat(idle.nextCursor()).isEqualTo(initial.nextCursor());
+
+        jdbcTemplate.update("UPDATE technical_concepts SET nombre = 'Papel bond carta', ultimo_cambio = 'UPDATED', " +
+            "fecha_actualizacion = ? WHERE numero = ?", base.plusSeconds(2), first);
+
+        assertThat(service.findChanges(initial.nextCursor(), 10).changes())
+            .extracting(ConceptChangeDto::id, ConceptChangeDto::name, ConceptChangeDto::changeType)
+            .containsExactly(tuple(first, "Papel bond carta", "UPDATED"));
+    }
+
+    @Test
+    void changesInsideTheSafetyLagWaitForALaterPoll() {
+        long settled = insert("Papel bond", LocalDateTime.now().minusMinutes(5));
+        insert("Tóner negro", LocalDateTime.now());
+
+        assertThat(service.findChanges(null, 10).changes())
+            .extracting(ConceptChangeDto::id)
+            .containsExactly(settled);
+    }
+
+    @Test
+    void malformedCursorsAreRejected() {
+        assertThatThrownBy(() -> service.findChanges("no-es-un-cursor", 10))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private long insert(String nombre, LocalDateTime fechaActualizacion) {
+        return jdbcTemplate.queryForObject(INSERT_SQL, Long.class, nombre, fechaActualizacion, fechaActualizacion);
+    }
+}
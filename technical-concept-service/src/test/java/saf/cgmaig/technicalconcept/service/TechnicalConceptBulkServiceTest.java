@@ -0,0 +1,186 @@
+package saf.cgmaig.technicalconcept.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.test.util.ReflectionTestUtils;
+import saf.cgmaig.technicalconcept.dto.TechnicalConceptBulkResponse;
+import saf.cgmaig.technicalconcept.dto.TechnicalConceptBulkResponse.Outcome;
+import saf.cgmaig.technicalconcept.dto.TechnicalConceptCreateRequest;
+import saf.cgmaig.technicalconcept.entity.AreaFacultada;
+import saf.cgmaig.technicalconcept.entity.ConceptStatus;
+import saf.cgmaig.technicalconcept.repository.TechnicalConceptRepository;
+
+import java.sql.PreparedStatement;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Desenlace por elemento de la carga masiva (JDBC simulado)
+ */
+@ExtendWith(MockitoExtension.class)
+class TechnicalConceptBulkServiceTest {
+
+    private static final String CURP = "CURP000000HTCXXX00";
+
+    @Mock
+    private TechnicalConceptRepository repository;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private TechnicalCatalogReadModel catalogReadModel;
+
+    @Mock
+    private CatalogStatisticsService statisticsService;
+
+    private TechnicalConceptBulkService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new TechnicalConceptBulkService(repository, jdbcTemplate, catalogReadModel, statisticsService);
+        ReflectionTestUtils.setField(service, "maxItems", 1000);
+        ReflectionTestUtils.setField(service, "batchSize", 100);
+    }
+
+    @Test
+    void reportsOutcomePerItem() {
+        UUID activeId = UUID.randomUUID();
+        UUID inactiveId = UUID.randomUUID();
+        when(repository.findIdsByAreaAndNombreIn(eq(AreaFacultada.CGRM), anyCollection())).thenReturn(List.of(
+                new Object[]{"Existente activo", activeId, ConceptStatus.ACTIVO},
+                new Object[]{"Existente inactivo", inactiveId, ConceptStatus.INACTIVO}));
+        stubBatch("INSERT", new int[][]{{1}});
+        stubBatch("UPDATE", new int[][]{{1}});
+
+        TechnicalConceptBulkResponse response = service.bulkUpsert(List.of(
+                item("Nuevo", 2000, AreaFacultada.CGRM),
+                item("Existente activo", 2000, AreaFacultada.CGRM),
+                item("Existente inactivo", 2000, AreaFacultada.CGRM),
+                item("Otra área", 3000, AreaFacultada.CGSG),
+                item("Otro capítulo", 5000, AreaFacultada.CGRM)),
+                true, "Actualización de catálogo", AreaFacultada.CGRM, CURP);
+
+        assertThat(response.results()).extracting(TechnicalConceptBulkResponse.ItemResult::outcome)
+                .containsExactly(Outcome.CREATED, Outcome.UPDATED, Outcome.INACTIVE, Outcome.REJECTED, Outcome.REJECTED);
+        assertThat(response.results().get(1).id()).isEqualTo(activeId);
+        assertThat(response.results().get(2).id()).isEqualTo(inactiveId);
+        assertThat(response.created()).isEqualTo(1);
+        assertThat(response.updated()).isEqualTo(1);
+        assertThat(response.inactive()).isEqualTo(1);
+        assertThat(response.rejected()).isEqualTo(2);
+        verify(statisticsService).recordCreated(AreaFacultada.CGRM, 2000, ConceptStatus.ACTIVO);
+        verify(catalogReadModel).refreshAfterCommit();
+    }
+
+    @Test
+    void rejectsDuplicateNamesWithinTheSameBatch() {
+        when(repository.findIdsByAreaAndNombreIn(eq(AreaFacultada.CGRM), anyCollection())).thenReturn(List.of());
+        stubBatch("INSERT", new int[][]{{1}});
+
+        TechnicalConceptBulkResponse response = service.bulkUpsert(List.of(
+                item("Papel bond", 2000, AreaFacultada.CGRM),
+                item("Papel bond", 2000, AreaFacultada.CGRM)),
+                false, null, AreaFacultada.CGRM, CURP);
+
+        assertThat(response.results()).extracting(TechnicalConceptBulkResponse.ItemResult::outcome)
+                .containsExactly(Outcome.CREATED, Outcome.REJECTED);
+        assertThat(response.results().get(1).error()).contains("repetido");
+    }
+
+    @Test
+    void rejectsExistingNamesWhenNotUpdating() {
+        when(repository.findIdsByAreaAndNombreIn(eq(AreaFacultada.CGRM), anyCollection())).thenReturn(List.<Object[]>of(
+                new Object[]{"Papel bond", UUID.randomUUID(), ConceptStatus.ACTIVO}));
+
+        TechnicalConceptBulkResponse response = service.bulkUpsert(List.of(item("Papel bond", 2000, AreaFacultada.CGRM)),
+                false, null, AreaFacultada.CGRM, CURP);
+
+        assertThat(response.rejected()).isEqualTo(1);
+        verify(jdbcTemplate, never()).batchUpdate(any(String.class), anyCollection(), anyInt(), any());
+        verify(catalogReadModel, never()).refreshAfterCommit();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void writesChangeReasonOnUpdates() throws Exception {
+        UUID id = UUID.randomUUID();
+        when(repository.findIdsByAreaAndNombreIn(eq(AreaFacultada.CGRM), anyCollection())).thenReturn(List.<Object[]>of(
+                new Object[]{"Papel bond", id, ConceptStatus.ACTIVO}));
+        ArgumentCaptor<Collection<Object>> writes = ArgumentCaptor.forClass(Collection.class);
+        ArgumentCaptor<ParameterizedPreparedStatementSetter<Object>> setter =
+                ArgumentCaptor.forClass(ParameterizedPreparedStatementSetter.class);
+        when(jdbcTemplate.batchUpdate(startsWith("UPDATE"), writes.capture(), anyInt(), setter.capture()))
+                .thenReturn(new int[][]{{1}});
+
+        TechnicalConceptCreateRequest request = item("Papel bond", 2000, AreaFacultada.CGRM);
+        request.setMotivoCreacion("Motivo de alta original");
+        service.bulkUpsert(List.of(request), true, "Corrección de descripciones", AreaFacultada.CGRM, CURP);
+
+        PreparedStatement ps = mock(PreparedStatement.class);
+        setter.getValue().setValues(ps, writes.getValue().iterator().next());
+        verify(ps).setString(3, "Corrección de descripciones");
+        verify(ps).setObject(7, id);
+    }
+
+    @Test
+    void reportsConceptsInactivatedConcurrentlyAsInactive() {
+        when(repository.findIdsByAreaAndNombreIn(eq(AreaFacultada.CGRM), anyCollection())).thenReturn(List.<Object[]>of(
+                new Object[]{"Papel bond", UUID.randomUUID(), ConceptStatus.ACTIVO}));
+        stubBatch("UPDATE", new int[][]{{0}});
+
+        TechnicalConceptBulkResponse response = service.bulkUpsert(List.of(item("Papel bond", 2000, AreaFacultada.CGRM)),
+                true, "Corrección", AreaFacultada.CGRM, CURP);
+
+        assertThat(response.updated()).isZero();
+        assertThat(response.inactive()).isEqualTo(1);
+    }
+
+    @Test
+    void requiresChangeReasonWhenUpdatingExisting() {
+        assertThatThrownBy(() -> service.bulkUpsert(List.of(item("Papel bond", 2000, AreaFacultada.CGRM)),
+                true, " ", AreaFacultada.CGRM, CURP))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void translatesConcurrentDuplicateIntoConflict() {
+        when(repository.findIdsByAreaAndNombreIn(eq(AreaFacultada.CGRM), anyCollection())).thenReturn(List.of());
+        when(jdbcTemplate.batchUpdate(startsWith("INSERT"), anyCollection(), anyInt(), any()))
+                .thenThrow(new DuplicateKeyException("uk_technical_concepts_nombre_area"));
+
+        assertThatThrownBy(() -> service.bulkUpsert(List.of(item("Papel bond", 2000, AreaFacultada.CGRM)),
+                false, null, AreaFacultada.CGRM, CURP))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("reintente");
+        verify(catalogReadModel, never()).refreshAfterCommit();
+    }
+
+    private void stubBatch(String statement, int[][] counts) {
+        when(jdbcTemplate.batchUpdate(startsWith(statement), anyCollection(), anyInt(), any())).thenReturn(counts);
+    }
+
+    private static TechnicalConceptCreateRequest item(String nombre, int capitulo, AreaFacultada area) {
+        return new TechnicalConceptCreateRequest(nombre, "Descripción de " + nombre, capitulo, area);
+    }
+}
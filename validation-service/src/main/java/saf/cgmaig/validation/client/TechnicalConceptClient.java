@@ -12,7 +12,7 @@ import java.util.List;
  * Permite al validation-service consultar conceptos técnicos existentes
  * para realizar validaciones de unicidad y verificaciones de datos.
  */
-@FeignClient(name = "technical-concept-service")
+@FeignClient(name = "technical-concept-service", configuration = TechnicalConceptClientConfig.class)
 public interface TechnicalConceptClient {
 
     /**
@@ -0,0 +1,27 @@
+package saf.cgmaig.validation.client;
+
+import feign.RequestInterceptor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+
+/**
+ * Configuración Feign del cliente de Technical Concept Service
+ *
+ * Propaga el JWT del usuario que originó la validación; la API de conceptos
+ * ya no es anónima. Sin @Configuration para que solo aplique a este cliente.
+ */
+public class TechnicalConceptClientConfig {
+
+    @Bean
+    public RequestInterceptor technicalConceptAuthorizationInterceptor() {
+        return template -> {
+            Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+            if (authentication instanceof JwtAuthenticationToken jwtAuthentication) {
+                template.header(HttpHeaders.AUTHORIZATION, "Bearer " + jwtAuthentication.getToken().getTokenValue());
+            }
+        };
+    }
+}
@@ -1,8 +1,10 @@
 package saf.cgmaig.validation.controller;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import saf.cgmaig.validation.model.ChapterTemplate;
 import saf.cgmaig.validation.service.ChapterTemplateService;
 
@@ -48,12 +50,19 @@ public class TemplateController {
 
     /**
      * Obtiene estructura completa del template para frontend
+     * Responde con ETag (hash de contenido) y 304 si el cliente ya tiene la versión vigente
      */
     @GetMapping("/{chapterKey}/structure")
     public ResponseEntity<ChapterTemplateService.TemplateStructure> getTemplateStructure(
-            @PathVariable String chapterKey) {
+            @PathVariable String chapterKey,
+            WebRequest webRequest) {
         ChapterTemplateService.TemplateStructure structure = templateService.getTemplateStructure(chapterKey);
-        return ResponseEntity.ok(structure);
+        String etag = "\"" + templateService.getTemplateStructureHash(structure) + "\"";
+
+        if (webRequest.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
+        return ResponseEntity.ok().eTag(etag).body(structure);
     }
 
     /**
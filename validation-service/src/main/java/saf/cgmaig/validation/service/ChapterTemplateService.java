@@ -1,5 +1,7 @@
 package saf.cgmaig.validation.service;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -8,6 +10,9 @@ import saf.cgmaig.validation.config.ChapterTemplateConfig;
 import saf.cgmaig.validation.model.ChapterTemplate;
 import saf.cgmaig.validation.model.TemplateField;
 
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -25,10 +30,12 @@ public class ChapterTemplateService {
     private static final Logger logger = LoggerFactory.getLogger(ChapterTemplateService.class);
 
     private final ChapterTemplateConfig templateConfig;
+    private final ObjectMapper objectMapper;
 
     @Autowired
-    public ChapterTemplateService(ChapterTemplateConfig templateConfig) {
+    public ChapterTemplateService(ChapterTemplateConfig templateConfig, ObjectMapper objectMapper) {
         this.templateConfig = templateConfig;
+        this.objectMapper = objectMapper;
     }
 
     /**
@@ -169,6 +176,22 @@ public class ChapterTemplateService {
         );
     }
 
+    /**
+     * Calcula el hash de contenido de una estructura de template (usado como ETag)
+     *
+     * Cambia solo si cambia el contenido serializado, de modo que los
+     * consumidores pueden revalidar con If-None-Match.
+     */
+    public String getTemplateStructureHash(TemplateStructure structure) {
+        try {
+            byte[] content = objectMapper.writeValueAsBytes(structure);
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(content);
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(digest);
+        } catch (JsonProcessingException | NoSuchAlgorithmException e) {
+            throw new IllegalStateException("No se pudo calcular el hash del template " + structure.chapterKey(), e);
+        }
+    }
+
     /**
      * Obtiene lista de capítulos disponibles
      */
@@ -0,0 +1,22 @@
+package saf.cgmaig.validation.load;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.test.context.TestPropertySource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Línea base: con hilos de plataforma la concurrencia se detiene en el pool de Tomcat
+ */
+@TestPropertySource(properties = "spring.threads.virtual.enabled=false")
+class PlatformThreadsLoadTest extends ValidationLoadTestSupport {
+
+    @Test
+    void concurrencyIsCappedByTomcatThreadPool() {
+        LoadResult result = runLoad();
+
+        assertThat(result.statusCodes()).hasSize(CONCURRENT_REQUESTS).containsOnly(200);
+        assertThat(result.peakConcurrency()).isLessThanOrEqualTo(TOMCAT_MAX_THREADS);
+        assertThat(result.elapsed()).isGreaterThanOrEqualTo(threadPoolBound());
+    }
+}
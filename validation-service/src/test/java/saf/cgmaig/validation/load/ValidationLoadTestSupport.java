@@ -0,0 +1,170 @@
+package saf.cgmaig.validation.load;
+
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+/**
+ * Prueba de carga de POST /api/validation/uniqueness
+ *
+ * Cada validación llama por Feign a technical-concept-service, simulado con
+ * un servidor HTTP que tarda DOWNSTREAM_LATENCY en responder y registra el
+ * pico de llamadas simultáneas. Tomcat se limita a TOMCAT_MAX_THREADS hilos:
+ * con hilos de plataforma el pico no puede superarlo; con hilos virtuales sí.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+    "server.tomcat.threads.max=" + ValidationLoadTestSupport.TOMCAT_MAX_THREADS,
+    "spring.autoconfigure.exclude="
+        + "org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration,"
+        + "org.springframework.boot.autoconfigure.orm.jpa.HibernateJpaAutoConfiguration"
+})
+@Import(ValidationLoadTestSupport.LoadTestJwtConfig.class)
+abstract class ValidationLoadTestSupport {
+
+    private static final Logger logger = LoggerFactory.getLogger(ValidationLoadTestSupport.class);
+
+    static final int TOMCAT_MAX_THREADS = 20;
+    static final int CONCURRENT_REQUESTS = 200;
+    static final Duration DOWNSTREAM_LATENCY = Duration.ofMillis(300);
+
+    private static final AtomicInteger inFlight = new AtomicInteger();
+    private static final AtomicInteger peakInFlight = new AtomicInteger();
+    private static HttpServer technicalConceptStub;
+    private static ExecutorService stubExecutor;
+
+    @LocalServerPort
+    private int port;
+
+    record LoadResult(int peakConcurrency, Duration elapsed, List<Integer> statusCodes) {}
+
+    /**
+     * JWT fijo con rol de validador (sin Keycloak)
+     */
+    @TestConfiguration(proxyBeanMethods = false)
+    static class LoadTestJwtConfig {
+
+        @Bean
+        JwtDecoder jwtDecoder() {
+            return token -> Jwt.withTokenValue(token)
+                .header("alg", "none")
+                .claim("preferred_username", "CARGA000000HTCXXX00")
+                .claim("realm_access", Map.of("roles", List.of("VALIDADOR_TECNICO_CGRM")))
+                .build();
+        }
+    }
+
+    @BeforeAll
+    static void startTechnicalConceptStub() throws IOException {
+        stubExecutor = Executors.newCachedThreadPool();
+        technicalConceptStub = HttpServer.create(new InetSocketAddress("localhost", 0), CONCURRENT_REQUESTS);
+        technicalConceptStub.setExecutor(stubExecutor);
+        technicalConceptStub.createContext("/api/concepts/search", exchange -> {
+            peakInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            try {
+                Thread.sleep(DOWNSTREAM_LATENCY.toMillis());
+                byte[] body = "[]".getBytes(StandardCharsets.UTF_8);
+                exchange.getResponseHeaders().add("Content-Type", "application/json");
+                exchange.sendResponseHeaders(200, body.length);
+                try (OutputStream out = exchange.getResponseBody()) {
+                    out.write(body);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                exchange.sendResponseHeaders(503, -1);
+            } finally {
+                inFlight.decrementAndGet();
+                exchange.close();
+            }
+        });
+        technicalConceptStub.start();
+    }
+
+    @AfterAll
+    static void stopTechnicalConceptStub() {
+        technicalConceptStub.stop(0);
+        stubExecutor.shutdownNow();
+    }
+
+    @DynamicPropertySource
+    static void technicalConceptUrl(DynamicPropertyRegistry registry) {
+        registry.add("spring.cloud.openfeign.client.config.technical-concept-service.url",
+            () -> "http://localhost:" + technicalConceptStub.getAddress().getPort());
+    }
+
+    /**
+     * Enviar CONCURRENT_REQUESTS validaciones a la vez (tras una de calentamiento)
+     */
+    LoadResult runLoad() {
+        HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+
+        // Calentamiento: contexto del cliente Feign, JIT y conexiones
+        client.sendAsync(validationRequest(-1), HttpResponse.BodyHandlers.discarding()).join();
+        peakInFlight.set(0);
+
+        long start = System.nanoTime();
+        List<CompletableFuture<HttpResponse<Void>>> responses = IntStream.range(0, CONCURRENT_REQUESTS)
+            .mapToObj(i -> client.sendAsync(validationRequest(i), HttpResponse.BodyHandlers.discarding()))
+            .toList();
+        List<Integer> statusCodes = responses.stream()
+            .map(CompletableFuture::join)
+            .map(HttpResponse::statusCode)
+            .toList();
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+
+        LoadResult result = new LoadResult(peakInFlight.get(), elapsed, statusCodes);
+        logger.info("Carga de {} validaciones: pico de {} llamadas Feign simultáneas en {} ms (hilos Tomcat: {})",
+            CONCURRENT_REQUESTS, result.peakConcurrency(), elapsed.toMillis(), TOMCAT_MAX_THREADS);
+        return result;
+    }
+
+    /**
+     * Tiempo mínimo posible si las solicitudes se atienden de TOMCAT_MAX_THREADS en TOMCAT_MAX_THREADS
+     */
+    static Duration threadPoolBound() {
+        int waves = (CONCURRENT_REQUESTS + TOMCAT_MAX_THREADS - 1) / TOMCAT_MAX_THREADS;
+        return DOWNSTREAM_LATENCY.multipliedBy(waves);
+    }
+
+    private HttpRequest validationRequest(int index) {
+        String body = """
+            {"name": "Concepto de carga %d", "area": "CGRM", "chapter": "2000", "createdBy": "CARGA000000HTCXXX00"}
+            """.formatted(index);
+        return HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/validation/uniqueness"))
+            .header("Authorization", "Bearer carga")
+            .header("Content-Type", "application/json")
+            .timeout(Duration.ofSeconds(30))
+            .POST(HttpRequest.BodyPublishers.ofString(body))
+            .build();
+    }
+}
@@ -0,0 +1,62 @@
+package saf.cgmaig.validation.load;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledForJreRange;
+import org.junit.jupiter.api.condition.JRE;
+import org.springframework.test.context.TestPropertySource;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Con hilos virtuales (Java 21, mvn -P java21) la concurrencia supera el pool de Tomcat
+ *
+ * Durante la carga se graba el evento JFR jdk.VirtualThreadPinned: un hilo
+ * virtual fijado a su portador más de 20 ms (p. ej. un bloque synchronized
+ * alrededor de la llamada Feign) hace fallar la prueba con su pila.
+ */
+@EnabledForJreRange(min = JRE.JAVA_21)
+@TestPropertySource(properties = "spring.threads.virtual.enabled=true")
+class VirtualThreadsLoadTest extends ValidationLoadTestSupport {
+
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+
+    @Test
+    void concurrencyScalesPastTomcatThreadPoolWithoutPinning() throws IOException {
+        LoadResult result;
+        List<RecordedEvent> pinned;
+        try (Recording recording = new Recording()) {
+            recording.enable(PINNED_EVENT).withStackTrace().withThreshold(Duration.ofMillis(20));
+            recording.start();
+            result = runLoad();
+            recording.stop();
+
+            Path dump = Files.createTempFile("virtual-threads-load", ".jfr");
+            try {
+                recording.dump(dump);
+                pinned = RecordingFile.readAllEvents(dump).stream()
+                    .filter(event -> PINNED_EVENT.equals(event.getEventType().getName()))
+                    .toList();
+            } finally {
+                Files.deleteIfExists(dump);
+            }
+        }
+
+        assertThat(result.statusCodes()).hasSize(CONCURRENT_REQUESTS).containsOnly(200);
+        assertThat(result.peakConcurrency()).isGreaterThan(TOMCAT_MAX_THREADS);
+        assertThat(result.elapsed()).isLessThan(threadPoolBound());
+        assertThat(pinned)
+            .as("Hilos virtuales fijados a su portador:%n%s",
+                pinned.stream().map(RecordedEvent::toString).collect(Collectors.joining("\n")))
+            .isEmpty();
+    }
+}